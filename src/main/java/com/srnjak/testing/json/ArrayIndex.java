@@ -0,0 +1,65 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonValue;
+
+/**
+ * An index of elements of a {@link JsonArray}, which answers whether
+ * the array contains a value. An index is built once per array, so
+ * assertions probing an array for many values do not scan it
+ * for each of them.
+ *
+ * <p>Building an index hashes or sorts all elements of the array, which
+ * costs more than a few scans, so it is built only for enough probes,
+ * see {@link #of(JsonArray, int)}.</p>
+ */
+interface ArrayIndex {
+
+    /**
+     * The minimum number of probes, for which an index is built.
+     */
+    int MIN_PROBES = 8;
+
+    /**
+     * Whether the indexed array contains an element semantically equal
+     * to the specified value.
+     *
+     * @param value The value
+     * @return {@code true} if contained
+     */
+    boolean contains(JsonValue value);
+
+    /**
+     * Creates an index of an array, best suited for its elements.
+     *
+     * @param array The {@link JsonArray} or {@code null}
+     * @return The index
+     */
+    static ArrayIndex of(JsonArray array) {
+        return of(array, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an index of an array for a number of probes. An array
+     * is scanned for each probe, unless it is large and probed
+     * at least {@value #MIN_PROBES} times.
+     *
+     * @param array The {@link JsonArray} or {@code null}
+     * @param probes The number of probes
+     * @return The index
+     */
+    static ArrayIndex of(JsonArray array, int probes) {
+        if (array == null || array.isEmpty()) {
+            return value -> false;
+        }
+
+        if (array.size() < ColumnarArrayIndex.MIN_SIZE
+                || probes < MIN_PROBES) {
+            return new LinearArrayIndex(array);
+        }
+
+        return SortedArrayIndex.of(array)
+                .or(() -> ColumnarArrayIndex.of(array))
+                .orElseGet(() -> new HashedArrayIndex(array));
+    }
+}
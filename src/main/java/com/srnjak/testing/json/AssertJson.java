@@ -3,9 +3,18 @@ package com.srnjak.testing.json;
 import org.opentest4j.AssertionFailedError;
 
 import jakarta.json.*;
+import java.io.ByteArrayInputStream;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
 import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.srnjak.testing.json.AssertJson.FailureType.*;
@@ -25,7 +34,20 @@ public class AssertJson {
         NOT_CONTAINING_ANY("Not found any of elements %s in the given %s"),
         CONTAINING_SOME("Found %s in the given %s, but none of them expected."),
         UNEXPECTED_PROPERTY(
-                "The property %s was found on path %s, but is not expected.");
+                "The property %s was found on path %s, but is not expected."),
+        INVALID_TYPE("Invalid type on path %s: expected %s but was %s"),
+        INVALID_DIGEST("Expected canonical digest %s but was %s"),
+        MAX_DEPTH_EXCEEDED("Maximum depth %s exceeded on path %s"),
+        NOT_SUPPLIED("Json structure was not supplied within %s"),
+        NOT_EMITTED("Expected elements %s were not emitted"),
+        EMITTED("The element: %s was emitted at %s, but is not expected."),
+        PUBLISHER_FAILED("The publisher failed after %s elements"),
+        NOT_MATCHING("The value on path %s does not match %s"),
+        REPORTED("Found %s differences, the first on path %s."
+                + " Reported in %s and %s"),
+        INVALID_SIZE(
+                "Invalid size of array on path %s: expected %s but was %s"),
+        SAMPLED("%s (sampled with %s)");
 
         String message;
 
@@ -43,6 +65,17 @@ public class AssertJson {
             String format = String.format(message, (Object[]) strParams);
             return format;
         }
+
+        /**
+         * Creates an error with a message, which is rendered only
+         * when requested.
+         *
+         * @param params The message parameters
+         * @return The error
+         */
+        AssertionFailedError error(Object... params) {
+            return new JsonAssertionFailedError(() -> message(params));
+        }
     }
 
     /**
@@ -54,6 +87,21 @@ public class AssertJson {
      */
     public static void assertEquals(
             JsonStructure expected, JsonStructure actual) {
+        assertEquals(expected, actual, JsonComparator.DEFAULT);
+    }
+
+    /**
+     * Verifies if an actual {@link JsonStructure} is semantically
+     * equal to an expected one, as compared by a {@link JsonComparator}.
+     *
+     * @param expected The expected {@link JsonStructure}
+     * @param actual The actual {@link JsonStructure}
+     * @param comparator The {@link JsonComparator}
+     */
+    public static void assertEquals(
+            JsonStructure expected,
+            JsonStructure actual,
+            JsonComparator comparator) {
 
         if (expected == actual) {
             return;
@@ -67,21 +115,50 @@ public class AssertJson {
             failNotNull(actual);
         }
 
-        Json.createDiff(expected, actual)
-                .toJsonArray().stream()
-                .map(JsonValue::asJsonObject)
-                .forEach(failEquals(expected, actual));
+        if (comparator.equals(expected, actual)) {
+            return;
+        }
+
+        Path reportDirectory = comparator.getReportDirectory();
+        if (reportDirectory != null) {
+            failReported(DiffReport.write(
+                    expected, actual, comparator, reportDirectory));
+        }
+
+        JsonDiff.diff(
+                expected, actual, comparator, failEquals(expected, actual));
     }
 
     /**
      * Verifies if an actual json string is semantically equal
-     * to an expected {@link JsonStructure}.
+     * to an expected one, as compared by a {@link JsonComparator}.
      *
-     * @param expected The expected {@link JsonStructure}
+     * <p>A string value of the expected json, which is a placeholder
+     * token, matches actual values instead: {@code ${any-string}},
+     * {@code ${any-number}}, {@code ${ignore}} (any value or subtree)
+     * or {@code ${regex:expression}}. A token is escaped as
+     * {@code $${...}}.</p>
+     *
+     * @param expected The expected json string
+     * @param actual The actual json string
+     * @param comparator The {@link JsonComparator}
+     */
+    public static void assertEquals(
+            String expected, String actual, JsonComparator comparator) {
+        JsonStructure e = parse(expected);
+        assertEquals(e, parse(actual), Placeholders.compile(e, comparator));
+    }
+
+    /**
+     * Verifies if an actual json string is semantically equal
+     * to an expected one. The expected json may contain placeholder
+     * tokens, see {@link #assertEquals(String, String, JsonComparator)}.
+     *
+     * @param expected The expected json string
      * @param actual The actual json string
      */
     public static void assertEquals(String expected, String actual) {
-        assertEquals(parse(expected), parse(actual));
+        assertEquals(expected, actual, JsonComparator.DEFAULT);
     }
 
     /**
@@ -97,13 +174,461 @@ public class AssertJson {
 
     /**
      * Verifies if an actual {@link JsonStructure} is semantically equal
-     * to an expected json string.
+     * to an expected json string. The expected json may contain
+     * placeholder tokens, see
+     * {@link #assertEquals(String, String, JsonComparator)}.
      *
      * @param expected The expected json string
      * @param actual The actual {@link JsonStructure}
      */
     public static void assertEquals(String expected, JsonStructure actual) {
-        assertEquals(parse(expected), actual);
+        JsonStructure e = parse(expected);
+        assertEquals(
+                e, actual, Placeholders.compile(e, JsonComparator.DEFAULT));
+    }
+
+    /**
+     * Verifies if a bean, serialized with JSON-B, is semantically equal
+     * to an expected {@link JsonStructure}.
+     *
+     * <p>The bean is serialized with a shared JSON-B instance. With Yasson,
+     * it is serialized directly into a {@link JsonStructure}, without
+     * an intermediate string. JSON-B is an optional dependency, which
+     * must be on the class path.</p>
+     *
+     * <p>Json given as a string, a {@link JsonValue} other than
+     * a structure or a Jackson {@code JsonNode} is not a bean and is
+     * rejected; compare it with {@code assertEquals} instead.</p>
+     *
+     * @param expected The expected {@link JsonStructure}
+     * @param actual The actual bean, serialized as an object or an array
+     *
+     * @throws jakarta.json.bind.JsonbException If the bean cannot be
+     *      serialized
+     * @throws IllegalArgumentException If actual is json, not a bean
+     */
+    public static void assertBeanEquals(
+            JsonStructure expected, Object actual) {
+        assertEquals(expected, toStructure(actual));
+    }
+
+    /**
+     * Verifies if a bean, serialized with JSON-B, is semantically equal
+     * to an expected json. The expected json may contain placeholder
+     * tokens, as in {@link #assertEquals(String, String, JsonComparator)}.
+     *
+     * @param expected The expected json
+     * @param actual The actual bean, serialized as an object or an array
+     *
+     * @throws jakarta.json.bind.JsonbException If the bean cannot be
+     *      serialized
+     * @throws IllegalArgumentException If actual is json, not a bean
+     *
+     * @see #assertBeanEquals(JsonStructure, Object)
+     */
+    public static void assertBeanEquals(String expected, Object actual) {
+        assertEquals(expected, toStructure(actual));
+    }
+
+    /**
+     * Verifies if an actual UTF-8 encoded json is semantically equal
+     * to an expected one.
+     *
+     * <p>The documents are compared directly on their bytes, without
+     * building object trees. Trees are built only to report
+     * a failure.</p>
+     *
+     * @param expected The expected UTF-8 encoded json
+     * @param actual The actual UTF-8 encoded json
+     */
+    public static void assertEquals(byte[] expected, byte[] actual) {
+        if (expected == actual) {
+            return;
+        }
+
+        if (expected != null && actual != null
+                && Utf8JsonComparator.compare(expected, actual)
+                == Utf8JsonComparator.Result.EQUAL) {
+            return;
+        }
+
+        assertEquals(parse(expected), parse(actual));
+    }
+
+    /**
+     * Verifies if an actual UTF-8 encoded json is semantically equal
+     * to an expected one. Positions of the buffers are not changed.
+     *
+     * <p>The documents are compared directly on their bytes, without
+     * building object trees. Trees are built only to report
+     * a failure.</p>
+     *
+     * @param expected The expected UTF-8 encoded json
+     * @param actual The actual UTF-8 encoded json
+     */
+    public static void assertEquals(ByteBuffer expected, ByteBuffer actual) {
+        if (expected == actual) {
+            return;
+        }
+
+        if (expected != null && actual != null
+                && Utf8JsonComparator.compare(expected, actual)
+                == Utf8JsonComparator.Result.EQUAL) {
+            return;
+        }
+
+        assertEquals(parse(expected), parse(actual));
+    }
+
+    /**
+     * Verifies if an actual json file is semantically equal to an expected
+     * one, without reading the files into memory.
+     *
+     * <p>The files are parsed as streams, flattened into entries of
+     * JSON Pointers and values, sorted in runs within a default memory
+     * budget of 64 MiB, spilled into temporary files and merged. Arrays
+     * are compared by indexes.</p>
+     *
+     * @param expected The expected json file
+     * @param actual The actual json file
+     *
+     * @throws java.io.UncheckedIOException If a file cannot be read,
+     *      or spilling fails
+     *
+     * @see #assertEquals(Path, Path, long)
+     */
+    public static void assertEquals(Path expected, Path actual) {
+        assertEquals(expected, actual, ExternalJsonDiff.DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Verifies if an actual json file is semantically equal to an expected
+     * one, using at most about the given memory for sorting. Both files
+     * are compared out of core, so they may be larger than the heap.
+     *
+     * @param expected The expected json file
+     * @param actual The actual json file
+     * @param memoryBudget The memory budget in bytes
+     *
+     * @throws IllegalArgumentException If memoryBudget is not positive
+     * @throws java.io.UncheckedIOException If a file cannot be read,
+     *      or spilling fails
+     *
+     * @see #assertEquals(Path, Path)
+     */
+    public static void assertEquals(
+            Path expected, Path actual, long memoryBudget) {
+        Objects.requireNonNull(expected);
+        Objects.requireNonNull(actual);
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException(
+                    "Non-positive memory budget: " + memoryBudget);
+        }
+
+        if (expected.equals(actual)) {
+            return;
+        }
+
+        ExternalJsonDiff.diff(
+                expected, actual, memoryBudget, failEquals(null, null));
+    }
+
+    /**
+     * Verifies if sampled values of an actual {@link JsonStructure} are
+     * semantically equal to an expected one. Only the elements of arrays
+     * chosen by the sampling are compared, while objects and sizes of
+     * arrays are compared entirely. The message of a failure contains
+     * the seed of the sampling, so that it can be reproduced.
+     *
+     * @param expected The expected {@link JsonStructure}
+     * @param actual The actual {@link JsonStructure}
+     * @param sampling The {@link JsonSampling}
+     */
+    public static void assertEquals(
+            JsonStructure expected,
+            JsonStructure actual,
+            JsonSampling sampling) {
+        assertEquals(expected, actual, JsonComparator.DEFAULT, sampling);
+    }
+
+    /**
+     * Verifies if sampled values of an actual {@link JsonStructure} are
+     * semantically equal to an expected one, as compared by
+     * a {@link JsonComparator}.
+     *
+     * @param expected The expected {@link JsonStructure}
+     * @param actual The actual {@link JsonStructure}
+     * @param comparator The {@link JsonComparator}
+     * @param sampling The {@link JsonSampling}
+     *
+     * @see #assertEquals(JsonStructure, JsonStructure, JsonSampling)
+     */
+    public static void assertEquals(
+            JsonStructure expected,
+            JsonStructure actual,
+            JsonComparator comparator,
+            JsonSampling sampling) {
+
+        if (expected == actual) {
+            return;
+        }
+
+        if (actual == null) {
+            failNull(expected);
+        }
+
+        if (expected == null) {
+            failNotNull(actual);
+        }
+
+        String mismatch = SampledComparison.mismatch(
+                expected, actual, comparator, sampling);
+        if (mismatch != null) {
+            failSampled(() -> mismatch, sampling);
+        }
+    }
+
+    /**
+     * Verifies if a supplied {@link JsonStructure} becomes semantically
+     * equal to an expected one within a timeout. The supplier is polled
+     * asynchronously, with an interval between polls, and the calling
+     * thread waits for the result.
+     *
+     * @param actual The supplier of the actual {@link JsonStructure}
+     * @param expected The expected {@link JsonStructure}
+     * @param timeout The maximum time of polling
+     * @param interval The time between polls
+     *
+     * @throws NullPointerException If an argument other than expected
+     *      is null
+     * @throws IllegalArgumentException If timeout is negative or interval
+     *      is not positive
+     */
+    public static void assertEventually(
+            Supplier<? extends JsonStructure> actual,
+            JsonStructure expected,
+            Duration timeout,
+            Duration interval) {
+        await(assertEventuallyAsync(actual, expected, timeout, interval));
+    }
+
+    /**
+     * Verifies if a supplied {@link JsonStructure} becomes semantically
+     * equal to an expected json string within a timeout. The expected
+     * json may contain placeholder tokens, see
+     * {@link #assertEquals(String, String, JsonComparator)}.
+     *
+     * @param actual The supplier of the actual {@link JsonStructure}
+     * @param expected The expected json string
+     * @param timeout The maximum time of polling
+     * @param interval The time between polls
+     *
+     * @throws NullPointerException If an argument other than expected
+     *      is null
+     * @throws IllegalArgumentException If timeout is negative or interval
+     *      is not positive
+     *
+     * @see #assertEventually(Supplier, JsonStructure, Duration, Duration)
+     */
+    public static void assertEventually(
+            Supplier<? extends JsonStructure> actual,
+            String expected,
+            Duration timeout,
+            Duration interval) {
+        await(assertEventuallyAsync(actual, expected, timeout, interval));
+    }
+
+    /**
+     * Verifies asynchronously if a supplied {@link JsonStructure} becomes
+     * semantically equal to an expected one within a timeout. No thread
+     * is blocked between polls.
+     *
+     * @param actual The supplier of the actual {@link JsonStructure}
+     * @param expected The expected {@link JsonStructure}
+     * @param timeout The maximum time of polling
+     * @param interval The time between polls
+     * @return The future, which completes when the structures are equal,
+     *      or completes exceptionally with an {@link AssertionFailedError}
+     *      after the timeout. Cancelling it stops the polling.
+     *
+     * @throws NullPointerException If an argument other than expected
+     *      is null
+     * @throws IllegalArgumentException If timeout is negative or interval
+     *      is not positive
+     */
+    public static CompletableFuture<Void> assertEventuallyAsync(
+            Supplier<? extends JsonStructure> actual,
+            JsonStructure expected,
+            Duration timeout,
+            Duration interval) {
+        return Eventually.poll(
+                actual, expected, JsonComparator.DEFAULT, timeout, interval);
+    }
+
+    /**
+     * Verifies asynchronously if a supplied {@link JsonStructure} becomes
+     * semantically equal to an expected json string within a timeout.
+     * The expected json may contain placeholder tokens, see
+     * {@link #assertEquals(String, String, JsonComparator)}.
+     *
+     * @param actual The supplier of the actual {@link JsonStructure}
+     * @param expected The expected json string
+     * @param timeout The maximum time of polling
+     * @param interval The time between polls
+     * @return The future, which completes when the structures are equal,
+     *      or completes exceptionally with an {@link AssertionFailedError}
+     *      after the timeout. Cancelling it stops the polling.
+     *
+     * @throws NullPointerException If an argument other than expected
+     *      is null
+     * @throws IllegalArgumentException If timeout is negative or interval
+     *      is not positive
+     */
+    public static CompletableFuture<Void> assertEventuallyAsync(
+            Supplier<? extends JsonStructure> actual,
+            String expected,
+            Duration timeout,
+            Duration interval) {
+        JsonStructure e = parse(expected);
+        return Eventually.poll(
+                actual,
+                e,
+                Placeholders.compile(e, JsonComparator.DEFAULT),
+                timeout,
+                interval);
+    }
+
+    /**
+     * Verifies if a {@link Flow.Publisher} emits elements semantically
+     * equal to the expected ones, in the same order and number. The first
+     * differing element fails the verification. The calling thread waits
+     * for the result.
+     *
+     * @param expectedElements The expected elements
+     * @param actual The publisher of the actual elements
+     *
+     * @throws NullPointerException If an argument is null
+     *
+     * @see #assertEmitsAsync(JsonArray, Flow.Publisher)
+     */
+    public static void assertEmits(
+            JsonArray expectedElements,
+            Flow.Publisher<? extends JsonValue> actual) {
+        await(assertEmitsAsync(expectedElements, actual));
+    }
+
+    /**
+     * Verifies asynchronously if a {@link Flow.Publisher} emits elements
+     * semantically equal to the expected ones, in the same order and
+     * number. The first differing element fails the verification.
+     *
+     * <p>Elements are requested with bounded demand and are not
+     * retained. The subscription is cancelled as soon as the result
+     * is known.</p>
+     *
+     * @param expectedElements The expected elements
+     * @param actual The publisher of the actual elements
+     * @return The future, which completes when the verification passes,
+     *      or completes exceptionally with an {@link AssertionFailedError}
+     *
+     * @throws NullPointerException If an argument is null
+     */
+    public static CompletableFuture<Void> assertEmitsAsync(
+            JsonArray expectedElements,
+            Flow.Publisher<? extends JsonValue> actual) {
+
+        JsonSubscriber subscriber = JsonSubscriber.ordered(
+                Objects.requireNonNull(expectedElements));
+        actual.subscribe(subscriber);
+        return subscriber.result();
+    }
+
+    /**
+     * Verifies if a {@link Flow.Publisher} emits all of the expected
+     * elements, in any order. The verification passes as soon as all
+     * of them are emitted. The calling thread waits for the result.
+     *
+     * @param expectedElements The expected elements
+     * @param actual The publisher of the actual elements
+     *
+     * @throws NullPointerException If an argument is null
+     *
+     * @see #assertEmitsAllAsync(JsonArray, Flow.Publisher)
+     */
+    public static void assertEmitsAll(
+            JsonArray expectedElements,
+            Flow.Publisher<? extends JsonValue> actual) {
+        await(assertEmitsAllAsync(expectedElements, actual));
+    }
+
+    /**
+     * Verifies asynchronously if a {@link Flow.Publisher} emits all of
+     * the expected elements, in any order. The verification passes as soon
+     * as all of them are emitted.
+     *
+     * <p>Elements are requested with bounded demand and are not
+     * retained. The subscription is cancelled as soon as the result
+     * is known.</p>
+     *
+     * @param expectedElements The expected elements
+     * @param actual The publisher of the actual elements
+     * @return The future, which completes when the verification passes,
+     *      or completes exceptionally with an {@link AssertionFailedError}
+     *
+     * @throws NullPointerException If an argument is null
+     */
+    public static CompletableFuture<Void> assertEmitsAllAsync(
+            JsonArray expectedElements,
+            Flow.Publisher<? extends JsonValue> actual) {
+
+        JsonSubscriber subscriber = JsonSubscriber.containsAll(
+                Objects.requireNonNull(expectedElements));
+        actual.subscribe(subscriber);
+        return subscriber.result();
+    }
+
+    /**
+     * Verifies if a {@link Flow.Publisher} emits none of the unexpected
+     * elements. The first unexpected element fails the verification.
+     * The calling thread waits for the result.
+     *
+     * @param unexpectedElements The unexpected elements
+     * @param actual The publisher of the actual elements
+     *
+     * @throws NullPointerException If an argument is null
+     *
+     * @see #assertEmitsNoneAsync(JsonArray, Flow.Publisher)
+     */
+    public static void assertEmitsNone(
+            JsonArray unexpectedElements,
+            Flow.Publisher<? extends JsonValue> actual) {
+        await(assertEmitsNoneAsync(unexpectedElements, actual));
+    }
+
+    /**
+     * Verifies asynchronously if a {@link Flow.Publisher} emits none of
+     * the unexpected elements. The first unexpected element fails
+     * the verification.
+     *
+     * <p>Elements are requested with bounded demand and are not
+     * retained. The subscription is cancelled as soon as the result
+     * is known.</p>
+     *
+     * @param unexpectedElements The unexpected elements
+     * @param actual The publisher of the actual elements
+     * @return The future, which completes when the verification passes,
+     *      or completes exceptionally with an {@link AssertionFailedError}
+     *
+     * @throws NullPointerException If an argument is null
+     */
+    public static CompletableFuture<Void> assertEmitsNoneAsync(
+            JsonArray unexpectedElements,
+            Flow.Publisher<? extends JsonValue> actual) {
+
+        JsonSubscriber subscriber = JsonSubscriber.containsNone(
+                Objects.requireNonNull(unexpectedElements));
+        actual.subscribe(subscriber);
+        return subscriber.result();
     }
 
     /**
@@ -115,6 +640,13 @@ public class AssertJson {
      */
     public static void assertNotEquals(
             JsonStructure unexpected, JsonStructure actual) {
+        assertNotEquals(unexpected, actual, JsonComparator.DEFAULT);
+    }
+
+    private static void assertNotEquals(
+            JsonStructure unexpected,
+            JsonStructure actual,
+            JsonComparator comparator) {
 
         if (unexpected == actual) {
             failUnexpectedEqual(actual);
@@ -124,7 +656,7 @@ public class AssertJson {
             return;
         }
 
-        boolean equals = equals(unexpected, actual);
+        boolean equals = comparator.equals(unexpected, actual);
 
         if (equals) {
             failUnexpectedEqual(actual);
@@ -133,13 +665,19 @@ public class AssertJson {
 
     /**
      * Verifies if an actual json string is semantically not equal
-     * to an unexpected {@link JsonStructure}.
+     * to an unexpected {@link JsonStructure}. The unexpected json may
+     * contain placeholder tokens, as in
+     * {@link #assertEquals(String, String, JsonComparator)}.
      *
      * @param unexpected The unexpected {@link JsonStructure}
      * @param actual The actual json string
      */
     public static void assertNotEquals(String unexpected, String actual) {
-        assertNotEquals(parse(unexpected), parse(actual));
+        JsonStructure u = parse(unexpected);
+        assertNotEquals(
+                u,
+                parse(actual),
+                Placeholders.compile(u, JsonComparator.DEFAULT));
     }
 
     /**
@@ -156,14 +694,64 @@ public class AssertJson {
 
     /**
      * Verifies if an actual {@link JsonStructure} is semantically not equal
-     * to an unexpected json string.
+     * to an unexpected json string. The unexpected json may contain
+     * placeholder tokens, as in
+     * {@link #assertEquals(String, String, JsonComparator)}.
      *
      * @param unexpected The unexpected json string
      * @param actual The actual {@link JsonStructure}
      */
     public static void assertNotEquals(
             String unexpected, JsonStructure actual) {
-        assertNotEquals(parse(unexpected), actual);
+        JsonStructure u = parse(unexpected);
+        assertNotEquals(
+                u, actual, Placeholders.compile(u, JsonComparator.DEFAULT));
+    }
+
+    /**
+     * Verifies if an actual UTF-8 encoded json is semantically not equal
+     * to an unexpected one.
+     *
+     * <p>The documents are compared directly on their bytes, without
+     * building object trees. A difference is accepted only when both
+     * documents are well-formed and have no duplicate keys; otherwise
+     * they are compared as trees.</p>
+     *
+     * @param unexpected The unexpected UTF-8 encoded json
+     * @param actual The actual UTF-8 encoded json
+     */
+    public static void assertNotEquals(byte[] unexpected, byte[] actual) {
+        if (unexpected != null && actual != null
+                && Utf8JsonComparator.compare(unexpected, actual)
+                == Utf8JsonComparator.Result.NOT_EQUAL) {
+            return;
+        }
+
+        assertNotEquals(parse(unexpected), parse(actual));
+    }
+
+    /**
+     * Verifies if an actual UTF-8 encoded json is semantically not equal
+     * to an unexpected one. Positions of the buffers are not changed.
+     *
+     * <p>The documents are compared directly on their bytes, without
+     * building object trees. A difference is accepted only when both
+     * documents are well-formed and have no duplicate keys; otherwise
+     * they are compared as trees.</p>
+     *
+     * @param unexpected The unexpected UTF-8 encoded json
+     * @param actual The actual UTF-8 encoded json
+     */
+    public static void assertNotEquals(
+            ByteBuffer unexpected, ByteBuffer actual) {
+
+        if (unexpected != null && actual != null
+                && Utf8JsonComparator.compare(unexpected, actual)
+                == Utf8JsonComparator.Result.NOT_EQUAL) {
+            return;
+        }
+
+        assertNotEquals(parse(unexpected), parse(actual));
     }
 
     /**
@@ -175,8 +763,18 @@ public class AssertJson {
      */
     public static void assertContains(
             JsonValue expectedElement, JsonArray actualArray) {
+        assertContains(
+                expectedElement,
+                actualArray,
+                probes -> ArrayIndex.of(actualArray, probes));
+    }
 
-        if (!contains(expectedElement, actualArray)) {
+    static void assertContains(
+            JsonValue expectedElement,
+            JsonArray actualArray,
+            IntFunction<ArrayIndex> index) {
+
+        if (!contains(expectedElement, index.apply(1))) {
             failNotContaining(expectedElement, actualArray);
         }
     }
@@ -226,8 +824,18 @@ public class AssertJson {
      */
     public static void assertNotContains(
             JsonValue unexpectedElement, JsonArray actualArray) {
+        assertNotContains(
+                unexpectedElement,
+                actualArray,
+                probes -> ArrayIndex.of(actualArray, probes));
+    }
 
-        if (contains(unexpectedElement, actualArray)) {
+    static void assertNotContains(
+            JsonValue unexpectedElement,
+            JsonArray actualArray,
+            IntFunction<ArrayIndex> index) {
+
+        if (contains(unexpectedElement, index.apply(1))) {
             failContaining(unexpectedElement, actualArray);
         }
     }
@@ -277,11 +885,22 @@ public class AssertJson {
      */
     public static void assertContainsAll(
             JsonArray expectedElements, JsonArray actualArray) {
+        assertContainsAll(
+                expectedElements,
+                actualArray,
+                probes -> ArrayIndex.of(actualArray, probes));
+    }
+
+    static void assertContainsAll(
+            JsonArray expectedElements,
+            JsonArray actualArray,
+            IntFunction<ArrayIndex> arrayIndex) {
 
         Optional.ofNullable(expectedElements)
                 .ifPresent(e -> {
+                    ArrayIndex index = arrayIndex.apply(e.size());
                     List<JsonValue> missingList = e.stream()
-                                .filter(exp -> !contains(exp, actualArray))
+                                .filter(exp -> !contains(exp, index))
                                 .collect(Collectors.toList());
 
                     if (!missingList.isEmpty()) {
@@ -327,6 +946,42 @@ public class AssertJson {
         assertContainsAll(expectedElements, parseArray(actualArray));
     }
 
+    /**
+     * Verifies if an actual {@link JsonArray} contains sampled elements
+     * from {@link JsonArray} of expected elements. Only the expected
+     * elements chosen by the sampling are looked up, in the actual array
+     * indexed only for enough of them. The message of a failure contains
+     * the seed of the sampling, so that it can be reproduced.
+     *
+     * @param expectedElements The {@link JsonArray} of expected elements
+     * @param actualArray The actual {@link JsonArray}
+     * @param sampling The {@link JsonSampling}
+     */
+    public static void assertContainsAll(
+            JsonArray expectedElements,
+            JsonArray actualArray,
+            JsonSampling sampling) {
+
+        if (expectedElements == null) {
+            return;
+        }
+
+        int[] indexes = sampling.indexes(
+                JsonPath.ROOT, expectedElements.size());
+        ArrayIndex index = ArrayIndex.of(actualArray, indexes.length);
+        List<JsonValue> missingList = Arrays.stream(indexes)
+                .mapToObj(expectedElements::get)
+                .filter(exp -> !contains(exp, index))
+                .collect(Collectors.toList());
+
+        if (!missingList.isEmpty()) {
+            failSampled(
+                    () -> NOT_CONTAINING_ALL.message(
+                            missingList, actualArray),
+                    sampling);
+        }
+    }
+
     /**
      * Verifies if an actual {@link JsonArray} contains any of
      * expected elements.
@@ -336,11 +991,20 @@ public class AssertJson {
      */
     public static void assertContainsAny(
             JsonArray expectedElements, JsonArray actualArray) {
+        assertContainsAny(
+                expectedElements,
+                actualArray,
+                probes -> ArrayIndex.of(actualArray, probes));
+    }
+
+    static void assertContainsAny(
+            JsonArray expectedElements,
+            JsonArray actualArray,
+            IntFunction<ArrayIndex> arrayIndex) {
 
         boolean containsAny = Optional.ofNullable(expectedElements)
                 .filter(e -> !e.isEmpty())
-                .map(e -> e.stream()
-                        .anyMatch(exp -> contains(exp, actualArray)))
+                .map(e -> containsAny(e, arrayIndex))
                 .orElse(true);
 
         if (!containsAny) {
@@ -394,12 +1058,25 @@ public class AssertJson {
      */
     public static void assertContainsNone(
             JsonArray unexpectedElements, JsonArray actualArray) {
+        assertContainsNone(
+                unexpectedElements,
+                actualArray,
+                probes -> ArrayIndex.of(actualArray, probes));
+    }
+
+    static void assertContainsNone(
+            JsonArray unexpectedElements,
+            JsonArray actualArray,
+            IntFunction<ArrayIndex> arrayIndex) {
 
         Optional.ofNullable(unexpectedElements)
                 .filter(e -> !e.isEmpty())
-                .map(e -> e.stream()
-                        .filter(exp -> contains(exp, actualArray))
-                        .collect(Collectors.toList()))
+                .map(e -> {
+                    ArrayIndex index = arrayIndex.apply(e.size());
+                    return e.stream()
+                            .filter(exp -> contains(exp, index))
+                            .collect(Collectors.toList());
+                })
                 .filter(l -> !l.isEmpty())
                 .ifPresent(l -> {
                     failContainingSome(l, actualArray);
@@ -524,14 +1201,135 @@ public class AssertJson {
     }
 
     /**
-     * Verifies if an actual {@link JsonStructure} does not contains unexpected
-     * {@link JsonValue} on specified path.
+     * Verifies if an actual {@link JsonStructure} contains a value
+     * on specified path, which matches a {@link JsonMatcher}.
      *
-     * @param unexpectedValue The unexpected {@link JsonValue}
+     * @param matcher The {@link JsonMatcher}
      * @param path The path
      * @param actual The actual {@link JsonStructure}
      *
-     * @throws NullPointerException If path is null
+     * @throws NullPointerException If matcher or path is null
+     */
+    public static void assertContainsProperty(
+            JsonMatcher matcher, String path, JsonStructure actual)
+            throws NullPointerException {
+
+        Objects.requireNonNull(matcher);
+
+        JsonPointer pointer = Optional.of(path)
+                .map(Json::createPointer)
+                .get();
+
+        Optional.ofNullable(actual)
+                .filter(pointer::containsValue)
+                .map(pointer::getValue)
+                .ifPresentOrElse(
+                        v -> Optional.of(v)
+                                .filter(v1 -> !matcher.matches(v1))
+                                .ifPresent(v1 -> failNotMatching(
+                                        path, matcher, v1)),
+                        () -> failMissing(path));
+    }
+
+    /**
+     * Verifies if an actual json string contains a value on specified
+     * path, which matches a {@link JsonMatcher}.
+     *
+     * @param matcher The {@link JsonMatcher}
+     * @param path The path
+     * @param actual The actual json string
+     *
+     * @throws NullPointerException If matcher or path is null
+     */
+    public static void assertContainsProperty(
+            JsonMatcher matcher, String path, String actual)
+            throws NullPointerException {
+        assertContainsProperty(matcher, path, parse(actual));
+    }
+
+    /**
+     * Verifies if an indexed document contains expected
+     * {@link JsonValue} on specified path. The value is looked up
+     * in the index, without walking the document.
+     *
+     * @param expectedValue The expected {@link JsonValue}
+     * @param path The path
+     * @param actual The {@link JsonIndex} of the actual document
+     *
+     * @throws NullPointerException If path or actual is null
+     *
+     * @see #index(JsonStructure)
+     */
+    public static void assertContainsProperty(
+            JsonValue expectedValue, String path, JsonIndex actual)
+            throws NullPointerException {
+
+        JsonValue expectedV = Optional.ofNullable(expectedValue)
+                .orElse(JsonValue.NULL);
+
+        JsonValue value = actual.get(path);
+        if (value == null) {
+            failMissing(path);
+        }
+        if (!equals(expectedV, value)) {
+            failInvalid(path, expectedV, value);
+        }
+    }
+
+    /**
+     * Verifies if an indexed document contains expected json value
+     * on specified path.
+     *
+     * @param expectedValue The expected json value
+     * @param path The path
+     * @param actual The {@link JsonIndex} of the actual document
+     *
+     * @throws NullPointerException If path or actual is null
+     *
+     * @see #index(JsonStructure)
+     */
+    public static void assertContainsProperty(
+            String expectedValue, String path, JsonIndex actual)
+            throws NullPointerException {
+        assertContainsProperty(parseValue(expectedValue), path, actual);
+    }
+
+    /**
+     * Verifies if an indexed document contains a value on specified
+     * path, which matches a {@link JsonMatcher}.
+     *
+     * @param matcher The {@link JsonMatcher}
+     * @param path The path
+     * @param actual The {@link JsonIndex} of the actual document
+     *
+     * @throws NullPointerException If matcher, path or actual is null
+     *
+     * @see #index(JsonStructure)
+     */
+    public static void assertContainsProperty(
+            JsonMatcher matcher, String path, JsonIndex actual)
+            throws NullPointerException {
+
+        Objects.requireNonNull(matcher);
+
+        JsonValue value = actual.get(path);
+        if (value == null) {
+            failMissing(path);
+        }
+        if (!matcher.matches(value)) {
+            failNotMatching(path, matcher, value);
+        }
+    }
+
+    /**
+     * Verifies if an actual {@link JsonStructure} does not contains unexpected
+     * {@link JsonValue} on specified path.
+     *
+     * @param unexpectedValue The unexpected {@link JsonValue}
+     * @param path The path
+     * @param actual The actual {@link JsonStructure}
+     *
+     * @throws NullPointerException If path is null
      */
     public static void assertNotContainsProperty(
             JsonValue unexpectedValue, String path, JsonStructure actual)
@@ -604,53 +1402,349 @@ public class AssertJson {
     }
 
     /**
-     * Whether a {@link JsonArray} contains a specified
+     * Verifies if an indexed document does not contain unexpected
+     * {@link JsonValue} on specified path. The value is looked up
+     * in the index, without walking the document.
+     *
+     * @param unexpectedValue The unexpected {@link JsonValue}
+     * @param path The path
+     * @param actual The {@link JsonIndex} of the actual document
+     *
+     * @throws NullPointerException If path or actual is null
+     *
+     * @see #index(JsonStructure)
+     */
+    public static void assertNotContainsProperty(
+            JsonValue unexpectedValue, String path, JsonIndex actual)
+            throws NullPointerException {
+
+        JsonValue unexpectedV = Optional.ofNullable(unexpectedValue)
+                .orElse(JsonValue.NULL);
+
+        JsonValue value = actual.get(path);
+        if (value != null && equals(unexpectedV, value)) {
+            failUnexpectedProperty(value, path);
+        }
+    }
+
+    /**
+     * Verifies if an indexed document does not contain unexpected
+     * json value on specified path.
+     *
+     * @param unexpectedValue The unexpected json value
+     * @param path The path
+     * @param actual The {@link JsonIndex} of the actual document
+     *
+     * @throws NullPointerException If path or actual is null
+     *
+     * @see #index(JsonStructure)
+     */
+    public static void assertNotContainsProperty(
+            String unexpectedValue, String path, JsonIndex actual)
+            throws NullPointerException {
+        assertNotContainsProperty(parseValue(unexpectedValue), path, actual);
+    }
+
+    /**
+     * Builds a {@link JsonIndex} of an actual document, which maps
+     * the JSON Pointer of every value to the value. Property assertions
+     * on the index look up values in constant time, so the document
+     * is walked only once for any number of them.
+     *
+     * @param actual The actual {@link JsonStructure}
+     * @return The index
+     *
+     * @throws NullPointerException If actual is null
+     */
+    public static JsonIndex index(JsonStructure actual) {
+        return JsonIndex.of(actual);
+    }
+
+    /**
+     * Builds a {@link JsonIndex} of an actual json string.
+     *
+     * @param actual The actual json string
+     * @return The index
+     *
+     * @throws NullPointerException If actual is null
+     *
+     * @see #index(JsonStructure)
+     */
+    public static JsonIndex index(String actual) {
+        return JsonIndex.of(parse(actual));
+    }
+
+    /**
+     * Creates assertions on an actual json string, which is parsed
+     * lazily, once for all the assertions. Structures derived from it,
+     * such as the indexes of its values and its elements, are cached
+     * as well.
+     *
+     * @param actual The actual json string
+     * @return The {@link JsonAssert}
+     */
+    public static JsonAssert assertThat(String actual) {
+        return new JsonAssert(() -> parse(actual));
+    }
+
+    /**
+     * Creates assertions on an actual {@link JsonStructure}, which share
+     * the structures derived from it, such as the indexes of its values
+     * and its elements.
+     *
+     * @param actual The actual {@link JsonStructure}
+     * @return The {@link JsonAssert}
+     *
+     * @see #assertThat(String)
+     */
+    public static JsonAssert assertThat(JsonStructure actual) {
+        return new JsonAssert(() -> actual);
+    }
+
+    /**
+     * Verifies if an actual {@link JsonStructure} matches
+     * an expected {@link JsonShape}.
+     *
+     * @param expectedShape The expected {@link JsonShape}
+     * @param actual The actual {@link JsonStructure}
+     *
+     * @throws NullPointerException If expectedShape is null
+     */
+    public static void assertShape(
+            JsonShape expectedShape, JsonStructure actual)
+            throws NullPointerException {
+
+        Objects.requireNonNull(expectedShape);
+
+        if (actual == null) {
+            failNull(expectedShape);
+        }
+
+        Optional.ofNullable(expectedShape.mismatch(actual))
+                .ifPresent(AssertJson::failShape);
+    }
+
+    /**
+     * Verifies if an actual json string matches
+     * an expected {@link JsonShape}.
+     *
+     * @param expectedShape The expected {@link JsonShape}
+     * @param actual The actual json string
+     *
+     * @throws NullPointerException If expectedShape is null
+     */
+    public static void assertShape(JsonShape expectedShape, String actual)
+            throws NullPointerException {
+        assertShape(expectedShape, parse(actual));
+    }
+
+    /**
+     * Verifies if an actual {@link JsonStructure} matches the shape
+     * of an expected template json string.
+     *
+     * @param expectedTemplate The expected template json string
+     * @param actual The actual {@link JsonStructure}
+     *
+     * @throws NullPointerException If expectedTemplate is null
+     *
+     * @see JsonShape#of(String)
+     */
+    public static void assertShape(
+            String expectedTemplate, JsonStructure actual)
+            throws NullPointerException {
+        assertShape(JsonShape.of(expectedTemplate), actual);
+    }
+
+    /**
+     * Verifies if an actual json string matches the shape
+     * of an expected template json string.
+     *
+     * @param expectedTemplate The expected template json string
+     * @param actual The actual json string
+     *
+     * @throws NullPointerException If expectedTemplate is null
+     *
+     * @see JsonShape#of(String)
+     */
+    public static void assertShape(String expectedTemplate, String actual)
+            throws NullPointerException {
+        assertShape(JsonShape.of(expectedTemplate), parse(actual));
+    }
+
+    /**
+     * Verifies if the canonical form (RFC 8785) of an actual
+     * {@link JsonStructure} has an expected
+     * {@value JsonCanonicalizer#DEFAULT_ALGORITHM} digest.
+     *
+     * <p>It allows to verify a document against a stored digest of
+     * a golden document instead of the document itself.</p>
+     *
+     * @param expectedDigest The expected lowercase hexadecimal digest
+     * @param actual The actual {@link JsonStructure}
+     *
+     * @see JsonCanonicalizer#digest(JsonValue)
+     */
+    public static void assertDigestEquals(
+            String expectedDigest, JsonStructure actual) {
+
+        if (actual == null) {
+            failNull(expectedDigest);
+        }
+
+        String actualDigest = JsonCanonicalizer.digest(actual);
+        if (!actualDigest.equalsIgnoreCase(expectedDigest)) {
+            failInvalidDigest(expectedDigest, actualDigest);
+        }
+    }
+
+    /**
+     * Verifies if the canonical form (RFC 8785) of an actual json string
+     * has an expected {@value JsonCanonicalizer#DEFAULT_ALGORITHM} digest.
+     *
+     * <p>It allows to verify a document against a stored digest of
+     * a golden document instead of the document itself.</p>
+     *
+     * @param expectedDigest The expected lowercase hexadecimal digest
+     * @param actual The actual json string
+     *
+     * @see JsonCanonicalizer#digest(String)
+     */
+    public static void assertDigestEquals(
+            String expectedDigest, String actual) {
+
+        if (actual == null) {
+            failNull(expectedDigest);
+        }
+
+        String actualDigest = JsonCanonicalizer.digest(actual);
+        if (!actualDigest.equalsIgnoreCase(expectedDigest)) {
+            failInvalidDigest(expectedDigest, actualDigest);
+        }
+    }
+
+    /**
+     * Executes soft json assertions, which do not stop at the first
+     * failure. All failures are reported together at the end.
+     *
+     * @param assertions The assertions to execute on a collector
+     *
+     * @throws org.opentest4j.MultipleFailuresError If any assertion
+     *      has failed
+     *
+     * @see JsonSoftAssertions
+     */
+    public static void softly(Consumer<JsonSoftAssertions> assertions) {
+        JsonSoftAssertions softAssertions = new JsonSoftAssertions();
+        assertions.accept(softAssertions);
+        softAssertions.assertAll();
+    }
+
+    /**
+     * Whether an indexed {@link JsonArray} contains a specified
      * {@link JsonValue} element.
      *
      * @param element The specified {@link JsonValue} element
-     * @param array The {@link JsonArray}
+     * @param index The {@link ArrayIndex} of the array
      *
      * @return {@code true} if contains
      */
-    private static boolean contains(JsonValue element, JsonArray array) {
-        return Optional.ofNullable(array)
-                .filter(a -> !a.isEmpty())
-                .map(a -> {
-                    JsonValue el = Optional.ofNullable(element)
-                            .orElse(JsonValue.NULL);
+    private static boolean contains(JsonValue element, ArrayIndex index) {
+        return index.contains(
+                Optional.ofNullable(element).orElse(JsonValue.NULL));
+    }
 
-                    return a.stream().anyMatch(v -> equals(el, v));
-                })
-                .orElse(false);
+    /**
+     * Whether an array contains any of elements. The first elements are
+     * looked up by scans, so that an early match does not pay for
+     * indexing the array.
+     *
+     * @param elements The {@link JsonArray} of elements
+     * @param arrayIndex The index of the array for a number of probes
+     *
+     * @return {@code true} if contains any
+     */
+    private static boolean containsAny(
+            JsonArray elements, IntFunction<ArrayIndex> arrayIndex) {
+
+        int scanned = Math.min(elements.size(), ArrayIndex.MIN_PROBES - 1);
+        ArrayIndex linear = arrayIndex.apply(scanned);
+        if (elements.subList(0, scanned).stream()
+                .anyMatch(exp -> contains(exp, linear))) {
+            return true;
+        }
+
+        if (scanned == elements.size()) {
+            return false;
+        }
+
+        ArrayIndex index = arrayIndex.apply(elements.size() - scanned);
+        return elements.subList(scanned, elements.size()).stream()
+                .anyMatch(exp -> contains(exp, index));
     }
 
     private static boolean equals(
             JsonValue jsonValue1,
             JsonValue jsonValue2) {
+        return JsonComparator.DEFAULT.equals(jsonValue1, jsonValue2);
+    }
 
-        if (jsonValue1 == jsonValue2) {
-            return true;
+    /**
+     * Waits for a verification, rethrowing its failure.
+     */
+    private static void await(CompletableFuture<Void> verification) {
+        try {
+            verification.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
+    }
 
-        if (jsonValue1 == null
-                || jsonValue2 == null
-                || !jsonValue1.getValueType().equals(
-                jsonValue2.getValueType())) {
-            return false;
+    /**
+     * Serializes a bean, unless it already is a {@link JsonStructure}.
+     */
+    private static JsonStructure toStructure(Object bean) {
+        if (bean == null || bean instanceof JsonStructure) {
+            return (JsonStructure) bean;
         }
 
-        if (jsonValue1.getValueType().equals(JsonValue.ValueType.OBJECT)
-                || jsonValue1.getValueType().equals(
-                JsonValue.ValueType.ARRAY)) {
+        if (bean instanceof JsonValue
+                || bean instanceof CharSequence
+                || isJsonNode(bean.getClass())) {
+            throw new IllegalArgumentException(
+                    "Not a bean, but json: " + bean.getClass().getName());
+        }
 
-            return Json.createDiff(
-                    (JsonStructure) jsonValue1, (JsonStructure) jsonValue2)
-                    .toJsonArray().stream()
-                    .findAny()
-                    .isEmpty();
+        JsonValue value = BeanJson.toJson(bean);
+        if (!(value instanceof JsonStructure)) {
+            throw new JsonAssertionFailedError(
+                    () -> INVALID_TYPE.message(
+                            JsonPointers.ROOT,
+                            "OBJECT or ARRAY",
+                            value.getValueType()),
+                    null,
+                    value);
         }
+        return (JsonStructure) value;
+    }
 
-        return jsonValue1.equals(jsonValue2);
+    /**
+     * Whether a class is a Jackson tree node, looked up by name, since
+     * Jackson is an optional dependency.
+     */
+    private static boolean isJsonNode(Class<?> type) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            if (c.getName().equals(
+                    "com.fasterxml.jackson.databind.JsonNode")) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private static JsonStructure parse(String json) {
@@ -658,12 +1752,41 @@ public class AssertJson {
             return null;
         }
 
+        if (CompactJsonReader.isEnabled()) {
+            return CompactJsonReader.read(json);
+        }
+
         try(JsonReader jsonReader = Json.createReader(new StringReader(json))) {
             return jsonReader.read();
         }
     }
 
-    private static JsonValue parseValue(String json) {
+    private static JsonStructure parse(byte[] json) {
+        if (json == null) {
+            return null;
+        }
+
+        if (CompactJsonReader.isEnabled()) {
+            return CompactJsonReader.read(new ByteArrayInputStream(json));
+        }
+
+        try(JsonReader jsonReader =
+                    Json.createReader(new ByteArrayInputStream(json))) {
+            return jsonReader.read();
+        }
+    }
+
+    private static JsonStructure parse(ByteBuffer json) {
+        if (json == null) {
+            return null;
+        }
+
+        byte[] bytes = new byte[json.remaining()];
+        json.duplicate().get(bytes);
+        return parse(bytes);
+    }
+
+    static JsonValue parseValue(String json) {
         if (json == null) {
             return JsonValue.NULL;
         }
@@ -673,11 +1796,15 @@ public class AssertJson {
         }
     }
 
-    private static JsonArray parseArray(String json) {
+    static JsonArray parseArray(String json) {
         if (json == null) {
             return null;
         }
 
+        if (CompactJsonReader.isEnabled()) {
+            return CompactJsonReader.readArray(json);
+        }
+
         try(JsonReader jsonReader = Json.createReader(new StringReader(json))) {
             return jsonReader.readArray();
         }
@@ -700,8 +1827,8 @@ public class AssertJson {
 
     private static void failInvalid(
             String path, JsonValue expected, JsonValue actual) {
-        throw new AssertionFailedError(
-                INVALID.message(path),
+        throw new JsonAssertionFailedError(
+                () -> INVALID.message(path),
                 expected,
                 actual);
     }
@@ -709,6 +1836,13 @@ public class AssertJson {
     private static void failInvalid(
             JsonObject diff, JsonStructure expected, JsonStructure actual) {
 
+        if (DiffParser.getExpectedValue(diff) != null) {
+            failInvalid(
+                    DiffParser.getPath(diff),
+                    DiffParser.getExpectedValue(diff),
+                    DiffParser.getActualValue(diff));
+        }
+
         JsonPointer pointer = Json.createPointer(DiffParser.getPath(diff));
         failInvalid(
                 DiffParser.getPath(diff),
@@ -716,17 +1850,60 @@ public class AssertJson {
                 pointer.getValue(actual));
     }
 
-    private static void failNull(JsonStructure expected) {
-        throw new AssertionFailedError(
-                NULL.message(), expected, null);
+    private static void failNotMatching(
+            String path, JsonMatcher matcher, JsonValue actual) {
+        throw new JsonAssertionFailedError(
+                () -> NOT_MATCHING.message(path, matcher),
+                matcher,
+                actual);
+    }
+
+    private static void failSampled(
+            Supplier<String> mismatch, JsonSampling sampling) {
+        throw new JsonAssertionFailedError(
+                () -> SAMPLED.message(mismatch.get(), sampling));
+    }
+
+    private static void failReported(DiffReport report) {
+        throw REPORTED.error(
+                report.getCount(),
+                report.getFirstPath(),
+                report.getHtmlFile(),
+                report.getPatchFile());
+    }
+
+    private static void failNull(Object expected) {
+        throw new JsonAssertionFailedError(NULL::message, expected, null);
     }
 
     private static void failNotNull(JsonStructure actual) {
-        throw new AssertionFailedError(NOT_NULL.message(), null, actual);
+        throw new JsonAssertionFailedError(NOT_NULL::message, null, actual);
+    }
+
+    private static void failShape(JsonShape.Mismatch mismatch) {
+        if (mismatch.isMissing()) {
+            failMissing(mismatch.getPath());
+        }
+
+        throw new JsonAssertionFailedError(
+                () -> INVALID_TYPE.message(
+                        mismatch.getPath(),
+                        mismatch.getExpected(),
+                        mismatch.getActual()),
+                mismatch.getExpected(),
+                mismatch.getActual());
+    }
+
+    private static void failInvalidDigest(
+            String expectedDigest, String actualDigest) {
+        throw new JsonAssertionFailedError(
+                () -> INVALID_DIGEST.message(expectedDigest, actualDigest),
+                expectedDigest,
+                actualDigest);
     }
 
     private static void failUnexpected(String path) {
-        throw new AssertionFailedError(UNEXPECTED.message(path));
+        throw UNEXPECTED.error(path);
     }
 
     private static void failUnexpected(JsonObject diff) {
@@ -734,7 +1911,7 @@ public class AssertJson {
     }
 
     private static void failMissing(String path) {
-        throw new AssertionFailedError(MISSING.message(path));
+        throw MISSING.error(path);
     }
 
     private static void failMissing(JsonObject diff) {
@@ -742,46 +1919,40 @@ public class AssertJson {
     }
 
     private static void failUnknown(JsonObject diff) {
-        throw new AssertionFailedError(diff.toString());
+        throw new JsonAssertionFailedError(diff::toString);
     }
 
     private static void failUnexpectedEqual(JsonStructure actual) {
-        throw new AssertionFailedError(UNEXPECTED_EQUAL.message(actual));
+        throw UNEXPECTED_EQUAL.error(actual);
     }
 
     private static void failNotContaining(
             JsonValue expectedElement, JsonArray actualArray) {
-        throw new AssertionFailedError(
-                NOT_CONTAINING.message(expectedElement, actualArray));
+        throw NOT_CONTAINING.error(expectedElement, actualArray);
     }
 
     private static void failContaining(
             JsonValue unexpectedElement, JsonArray actualArray) {
-        throw new AssertionFailedError(
-                CONTAINING.message(unexpectedElement, actualArray));
+        throw CONTAINING.error(unexpectedElement, actualArray);
     }
 
     private static void failNotContainingAll(
             List<JsonValue> missingElements, JsonArray actualArray) {
-        throw new AssertionFailedError(
-                NOT_CONTAINING_ALL.message(missingElements, actualArray));
+        throw NOT_CONTAINING_ALL.error(missingElements, actualArray);
     }
 
     private static void failNotContainingAny(
             JsonArray expectedElements, JsonArray actualArray) {
-        throw new AssertionFailedError(
-                NOT_CONTAINING_ANY.message(expectedElements, actualArray));
+        throw NOT_CONTAINING_ANY.error(expectedElements, actualArray);
     }
 
     private static void failContainingSome(
             List<JsonValue> containingElements, JsonArray actualArray) {
-        throw new AssertionFailedError(
-                CONTAINING_SOME.message(containingElements, actualArray));
+        throw CONTAINING_SOME.error(containingElements, actualArray);
     }
 
     private static void failUnexpectedProperty(
             JsonValue unexpectedValue, String path) {
-        throw new AssertionFailedError(
-                UNEXPECTED_PROPERTY.message(unexpectedValue, path));
+        throw UNEXPECTED_PROPERTY.error(unexpectedValue, path);
     }
 }
@@ -0,0 +1,185 @@
+package com.srnjak.testing.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import jakarta.json.Json;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonPatchBuilder;
+import jakarta.json.JsonPointer;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+
+/**
+ * Assertions of Jackson {@link JsonNode} trees, alone or mixed with
+ * jakarta.json values.
+ *
+ * <p>Trees are compared natively, without serializing them and parsing
+ * them again into jakarta.json. Only a failed assertion converts them,
+ * to report the differences the same way as {@link AssertJson}.</p>
+ *
+ * <p>Floating point numbers of Jackson, which do not keep the scale of
+ * their serialized form, are compared by their numeric values, so
+ * {@code 1.10} read by Jackson equals {@code 1.10} read by jakarta.json.
+ * Other numbers are compared exactly, including their scale.</p>
+ *
+ * <p>This class requires {@code com.fasterxml.jackson.core:jackson-databind}
+ * on the class path, which is an optional dependency.</p>
+ */
+public class AssertJsonNode {
+
+    private static final TreeComparator<JsonNode, JsonNode> JACKSON =
+            new TreeComparator<>(JacksonTree.INSTANCE, JacksonTree.INSTANCE);
+
+    private static final TreeComparator<JsonValue, JsonNode>
+            JAKARTA_JACKSON = new TreeComparator<>(
+                    JsonTree.JAKARTA, JacksonTree.INSTANCE);
+
+    private static final TreeComparator<JsonNode, JsonValue>
+            JACKSON_JAKARTA = new TreeComparator<>(
+                    JacksonTree.INSTANCE, JsonTree.JAKARTA);
+
+    /**
+     * Verifies if an actual {@link JsonNode} is semantically equal
+     * to an expected one.
+     *
+     * @param expected The expected {@link JsonNode}
+     * @param actual The actual {@link JsonNode}
+     */
+    public static void assertEquals(JsonNode expected, JsonNode actual) {
+        assertEquals(
+                expected, JacksonTree.INSTANCE,
+                actual, JacksonTree.INSTANCE,
+                JACKSON);
+    }
+
+    /**
+     * Verifies if an actual {@link JsonNode} is semantically equal
+     * to an expected {@link JsonValue}.
+     *
+     * @param expected The expected {@link JsonValue}
+     * @param actual The actual {@link JsonNode}
+     */
+    public static void assertEquals(JsonValue expected, JsonNode actual) {
+        assertEquals(
+                expected, JsonTree.JAKARTA,
+                actual, JacksonTree.INSTANCE,
+                JAKARTA_JACKSON);
+    }
+
+    /**
+     * Verifies if an actual {@link JsonValue} is semantically equal
+     * to an expected {@link JsonNode}.
+     *
+     * @param expected The expected {@link JsonNode}
+     * @param actual The actual {@link JsonValue}
+     */
+    public static void assertEquals(JsonNode expected, JsonValue actual) {
+        assertEquals(
+                expected, JacksonTree.INSTANCE,
+                actual, JsonTree.JAKARTA,
+                JACKSON_JAKARTA);
+    }
+
+    private static <A, B> void assertEquals(
+            A expected,
+            JsonTree<A> expectedTree,
+            B actual,
+            JsonTree<B> actualTree,
+            TreeComparator<A, B> comparator) {
+
+        if (expected == actual) {
+            return;
+        }
+
+        if (actual == null) {
+            throw new JsonAssertionFailedError(
+                    NULL::message, expectedTree.toJsonValue(expected), null);
+        }
+
+        if (expected == null) {
+            throw new JsonAssertionFailedError(
+                    NOT_NULL::message, null, actualTree.toJsonValue(actual));
+        }
+
+        if (comparator.equals(expected, actual)) {
+            return;
+        }
+
+        JsonValue e = expectedTree.toJsonValue(expected);
+        JsonValue a = actualTree.toJsonValue(actual);
+
+        if (e instanceof JsonStructure && a instanceof JsonStructure) {
+            if (expected instanceof JsonNode) {
+                e = align((JsonNode) expected, (JsonStructure) e, a);
+            }
+            if (actual instanceof JsonNode) {
+                a = align((JsonNode) actual, (JsonStructure) a, e);
+            }
+            AssertJson.assertEquals((JsonStructure) e, (JsonStructure) a);
+        }
+
+        throw new JsonAssertionFailedError(
+                () -> INVALID.message(JsonPointers.ROOT), e, a);
+    }
+
+    /**
+     * Replaces floating point numbers of a converted tree with numbers
+     * of the same value on the same paths of the other tree, so that
+     * their scale is not reported as a difference.
+     */
+    private static JsonStructure align(
+            JsonNode node, JsonStructure value, JsonValue other) {
+
+        JsonPatchBuilder patch = Json.createPatchBuilder();
+        boolean aligned = false;
+
+        Deque<JsonNode> nodes = new ArrayDeque<>();
+        Deque<String> pointers = new ArrayDeque<>();
+        nodes.push(node);
+        pointers.push(JsonPointers.ROOT);
+
+        while (!nodes.isEmpty()) {
+            JsonNode n = nodes.pop();
+            String pointer = pointers.pop();
+
+            if (n.isFloatingPointNumber()) {
+                JsonValue number = numberAt(other, pointer);
+                if (number != null && ((JsonNumber) number).bigDecimalValue()
+                        .compareTo(n.decimalValue()) == 0) {
+                    patch.replace(pointer, number);
+                    aligned = true;
+                }
+            } else if (n.isObject()) {
+                for (Iterator<String> keys = n.fieldNames(); keys.hasNext();) {
+                    String key = keys.next();
+                    nodes.push(n.get(key));
+                    pointers.push(JsonPointers.append(pointer, key));
+                }
+            } else if (n.isArray()) {
+                for (int i = 0; i < n.size(); i++) {
+                    nodes.push(n.get(i));
+                    pointers.push(JsonPointers.append(pointer, i));
+                }
+            }
+        }
+
+        return aligned ? patch.build().apply(value) : value;
+    }
+
+    private static JsonValue numberAt(JsonValue structure, String pointer) {
+        JsonPointer p = Json.createPointer(pointer);
+        if (!(structure instanceof JsonStructure)
+                || !p.containsValue((JsonStructure) structure)) {
+            return null;
+        }
+        JsonValue value = p.getValue((JsonStructure) structure);
+        return value.getValueType() == JsonValue.ValueType.NUMBER
+                ? value
+                : null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbException;
+import jakarta.json.spi.JsonProvider;
+import java.io.StringReader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Serialization of beans into json with JSON-B.
+ *
+ * <p>A single {@link Jsonb} instance is created on first use and shared,
+ * since it is expensive to create and thread-safe. With Yasson, a bean
+ * is serialized straight into a {@link JsonStructure}; with other
+ * providers, and for beans serialized as scalars, it is serialized into
+ * a string and parsed.</p>
+ */
+final class BeanJson {
+
+    private static final String YASSON_JSONB = "org.eclipse.yasson.YassonJsonb";
+
+    private BeanJson() {
+    }
+
+    /**
+     * Serializes a bean into json.
+     *
+     * @param bean The bean
+     * @return The json value
+     *
+     * @throws JsonbException If the bean cannot be serialized
+     */
+    static JsonValue toJson(Object bean) {
+        if (Shared.TO_STRUCTURE != null) {
+            try {
+                return (JsonStructure) Shared.TO_STRUCTURE.invoke(
+                        Shared.JSONB, bean);
+            } catch (JsonbException e) {
+                // Yasson cannot build a structure of a bean serialized as
+                // a scalar; a genuine failure recurs as a string
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new JsonbException(t.getMessage(), t);
+            }
+        }
+
+        return Shared.PROVIDER
+                .createReader(new StringReader(Shared.JSONB.toJson(bean)))
+                .readValue();
+    }
+
+    /**
+     * The shared instances, created on first use.
+     */
+    private static final class Shared {
+
+        private static final Jsonb JSONB = JsonbBuilder.create();
+        private static final JsonProvider PROVIDER = JsonProvider.provider();
+        private static final MethodHandle TO_STRUCTURE = toStructure();
+
+        /**
+         * Finds the method of Yasson, which serializes into
+         * a {@link JsonStructure}.
+         */
+        private static MethodHandle toStructure() {
+            try {
+                Class<?> yasson = Class.forName(
+                        YASSON_JSONB, false, JSONB.getClass().getClassLoader());
+                if (!yasson.isInstance(JSONB)) {
+                    return null;
+                }
+                return MethodHandles.publicLookup().findVirtual(
+                        yasson,
+                        "toJsonStructure",
+                        MethodType.methodType(
+                                JsonStructure.class, Object.class));
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    }
+}
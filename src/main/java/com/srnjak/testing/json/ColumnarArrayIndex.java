@@ -0,0 +1,380 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.*;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An index of an array of objects, which all have the same keys.
+ *
+ * <p>Values are stored by columns, one per key. Columns of integral
+ * numbers and of booleans are stored as primitives, columns of strings
+ * are dictionary encoded and other columns hold the values together
+ * with their structural hashes. Rows are looked up by the column with
+ * the most distinct values, so a probe is compared only with the few
+ * candidate rows and mostly on primitives.</p>
+ */
+final class ColumnarArrayIndex implements ArrayIndex {
+
+    /**
+     * Minimal number of elements, for which building of the index pays
+     * off compared to a linear scan.
+     */
+    static final int MIN_SIZE = 64;
+
+    private final String[] keys;
+    private final Column[] columns;
+    private final int selective;
+    private final Map<Long, int[]> rows;
+
+    private ColumnarArrayIndex(String[] keys, Column[] columns) {
+        this.keys = keys;
+        this.columns = columns;
+
+        int best = 0;
+        for (int i = 1; i < columns.length; i++) {
+            if (columns[i].distinct() > columns[best].distinct()) {
+                best = i;
+            }
+        }
+        this.selective = best;
+        this.rows = Postings.of(columns[best].size(), columns[best]::key);
+    }
+
+    /**
+     * Creates an index of an array, if it is large enough and all of
+     * its elements are objects with the same keys.
+     *
+     * @param array The {@link JsonArray}
+     * @return The index or empty if the array is not suitable
+     */
+    static Optional<ArrayIndex> of(JsonArray array) {
+        if (array.size() < MIN_SIZE
+                || array.get(0).getValueType() != JsonValue.ValueType.OBJECT
+                || array.get(0).asJsonObject().isEmpty()) {
+            return Optional.empty();
+        }
+
+        String[] keys = array.get(0).asJsonObject().keySet()
+                .toArray(new String[0]);
+        JsonValue[][] values = new JsonValue[keys.length][array.size()];
+
+        for (int row = 0; row < array.size(); row++) {
+            JsonValue element = array.get(row);
+            if (element.getValueType() != JsonValue.ValueType.OBJECT) {
+                return Optional.empty();
+            }
+
+            JsonObject object = element.asJsonObject();
+            if (object.size() != keys.length) {
+                return Optional.empty();
+            }
+
+            for (int c = 0; c < keys.length; c++) {
+                JsonValue value = object.get(keys[c]);
+                if (value == null) {
+                    return Optional.empty();
+                }
+                values[c][row] = value;
+            }
+        }
+
+        Column[] columns = new Column[keys.length];
+        for (int c = 0; c < keys.length; c++) {
+            columns[c] = Column.of(values[c]);
+        }
+
+        return Optional.of(new ColumnarArrayIndex(keys, columns));
+    }
+
+    @Override
+    public boolean contains(JsonValue value) {
+        if (value == null
+                || value.getValueType() != JsonValue.ValueType.OBJECT) {
+            return false;
+        }
+
+        JsonObject probe = value.asJsonObject();
+        if (probe.size() != keys.length) {
+            return false;
+        }
+
+        JsonValue[] probeValues = new JsonValue[keys.length];
+        long[] probeKeys = new long[keys.length];
+
+        for (int c = 0; c < keys.length; c++) {
+            JsonValue v = probe.get(keys[c]);
+            if (v == null || !columns[c].accepts(v)) {
+                return false;
+            }
+            probeValues[c] = v;
+            probeKeys[c] = columns[c].key(v);
+        }
+
+        int[] candidates = rows.get(probeKeys[selective]);
+        if (candidates == null) {
+            return false;
+        }
+
+        for (int i = 1; i <= candidates[0]; i++) {
+            if (matches(candidates[i], probeValues, probeKeys)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matches(int row, JsonValue[] values, long[] keys) {
+        // keys of all columns first, deep comparisons last
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c].key(row) != keys[c]) {
+                return false;
+            }
+        }
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c] instanceof ValueColumn
+                    && !((ValueColumn) columns[c]).matches(row, values[c])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Values of a single key of all rows, where each value has a long key.
+     * Values with different keys are not equal.
+     */
+    private abstract static class Column {
+
+        static Column of(JsonValue[] values) {
+            boolean longs = true;
+            boolean booleans = true;
+            boolean strings = true;
+
+            for (JsonValue v : values) {
+                JsonValue.ValueType type = v.getValueType();
+                longs = longs && NumericArrays.isLong(v);
+                booleans &= type == JsonValue.ValueType.TRUE
+                        || type == JsonValue.ValueType.FALSE;
+                strings &= type == JsonValue.ValueType.STRING;
+            }
+
+            if (longs) {
+                return new LongColumn(values);
+            } else if (booleans) {
+                return new BooleanColumn(values);
+            } else if (strings) {
+                return new StringColumn(values);
+            } else {
+                return new ValueColumn(values);
+            }
+        }
+
+        abstract int size();
+
+        /**
+         * Number of distinct keys.
+         */
+        abstract int distinct();
+
+        abstract long key(int row);
+
+        /**
+         * Whether a value can be equal to any value of this column.
+         */
+        abstract boolean accepts(JsonValue value);
+
+        /**
+         * The key of an accepted value.
+         */
+        abstract long key(JsonValue value);
+
+        static int distinct(long[] keys) {
+            long[] sorted = keys.clone();
+            Arrays.sort(sorted);
+
+            int distinct = sorted.length > 0 ? 1 : 0;
+            for (int i = 1; i < sorted.length; i++) {
+                if (sorted[i] != sorted[i - 1]) {
+                    distinct++;
+                }
+            }
+            return distinct;
+        }
+    }
+
+    private static final class LongColumn extends Column {
+
+        private final long[] values;
+        private final int distinct;
+
+        LongColumn(JsonValue[] values) {
+            this.values = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                this.values[i] = key(values[i]);
+            }
+            this.distinct = distinct(this.values);
+        }
+
+        @Override
+        int size() {
+            return values.length;
+        }
+
+        @Override
+        int distinct() {
+            return distinct;
+        }
+
+        @Override
+        long key(int row) {
+            return values[row];
+        }
+
+        @Override
+        boolean accepts(JsonValue value) {
+            return NumericArrays.isLong(value);
+        }
+
+        @Override
+        long key(JsonValue value) {
+            return ((JsonNumber) value).longValue();
+        }
+    }
+
+    private static final class BooleanColumn extends Column {
+
+        private final BitSet values;
+        private final int size;
+
+        BooleanColumn(JsonValue[] values) {
+            this.size = values.length;
+            this.values = new BitSet(size);
+            for (int i = 0; i < size; i++) {
+                this.values.set(i, key(values[i]) == 1);
+            }
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        int distinct() {
+            int trues = values.cardinality();
+            return (trues > 0 ? 1 : 0) + (trues < size ? 1 : 0);
+        }
+
+        @Override
+        long key(int row) {
+            return values.get(row) ? 1 : 0;
+        }
+
+        @Override
+        boolean accepts(JsonValue value) {
+            JsonValue.ValueType type = value.getValueType();
+            return type == JsonValue.ValueType.TRUE
+                    || type == JsonValue.ValueType.FALSE;
+        }
+
+        @Override
+        long key(JsonValue value) {
+            return value.getValueType() == JsonValue.ValueType.TRUE ? 1 : 0;
+        }
+    }
+
+    private static final class StringColumn extends Column {
+
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final int[] codes;
+
+        StringColumn(JsonValue[] values) {
+            this.codes = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                String s = ((JsonString) values[i]).getString();
+                Integer code = dictionary.putIfAbsent(s, dictionary.size());
+                codes[i] = code != null ? code : dictionary.size() - 1;
+            }
+        }
+
+        @Override
+        int size() {
+            return codes.length;
+        }
+
+        @Override
+        int distinct() {
+            return dictionary.size();
+        }
+
+        @Override
+        long key(int row) {
+            return codes[row];
+        }
+
+        @Override
+        boolean accepts(JsonValue value) {
+            return value.getValueType() == JsonValue.ValueType.STRING
+                    && dictionary.containsKey(
+                            ((JsonString) value).getString());
+        }
+
+        @Override
+        long key(JsonValue value) {
+            return dictionary.get(((JsonString) value).getString());
+        }
+    }
+
+    /**
+     * A column of arbitrary values, keyed by their structural hashes.
+     * Equal keys must be confirmed by a deep comparison.
+     */
+    private static final class ValueColumn extends Column {
+
+        private final JsonValue[] values;
+        private final long[] hashes;
+        private final int distinct;
+
+        ValueColumn(JsonValue[] values) {
+            this.values = values;
+            this.hashes = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                hashes[i] = StructuralHash.of(values[i]);
+            }
+            this.distinct = distinct(hashes);
+        }
+
+        @Override
+        int size() {
+            return values.length;
+        }
+
+        @Override
+        int distinct() {
+            return distinct;
+        }
+
+        @Override
+        long key(int row) {
+            return hashes[row];
+        }
+
+        @Override
+        boolean accepts(JsonValue value) {
+            return true;
+        }
+
+        @Override
+        long key(JsonValue value) {
+            return StructuralHash.of(value);
+        }
+
+        boolean matches(int row, JsonValue value) {
+            return JsonComparator.DEFAULT.equals(values[row], value);
+        }
+    }
+}
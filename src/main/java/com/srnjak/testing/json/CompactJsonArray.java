@@ -0,0 +1,131 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.*;
+import java.io.StringWriter;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An immutable {@link JsonArray}, backed by an array of values.
+ */
+final class CompactJsonArray
+        extends AbstractList<JsonValue> implements JsonArray, RandomAccess {
+
+    private final JsonValue[] values;
+
+    CompactJsonArray(JsonValue[] values) {
+        this.values = values;
+    }
+
+    @Override
+    public JsonValue get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public JsonObject getJsonObject(int index) {
+        return (JsonObject) values[index];
+    }
+
+    @Override
+    public JsonArray getJsonArray(int index) {
+        return (JsonArray) values[index];
+    }
+
+    @Override
+    public JsonNumber getJsonNumber(int index) {
+        return (JsonNumber) values[index];
+    }
+
+    @Override
+    public JsonString getJsonString(int index) {
+        return (JsonString) values[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends JsonValue> List<T> getValuesAs(Class<T> clazz) {
+        return (List<T>) this;
+    }
+
+    @Override
+    public String getString(int index) {
+        return getJsonString(index).getString();
+    }
+
+    @Override
+    public String getString(int index, String defaultValue) {
+        JsonValue value = index >= 0 && index < values.length
+                ? values[index]
+                : null;
+        return value instanceof JsonString
+                ? ((JsonString) value).getString()
+                : defaultValue;
+    }
+
+    @Override
+    public int getInt(int index) {
+        return getJsonNumber(index).intValue();
+    }
+
+    @Override
+    public int getInt(int index, int defaultValue) {
+        JsonValue value = index >= 0 && index < values.length
+                ? values[index]
+                : null;
+        return value instanceof JsonNumber
+                ? ((JsonNumber) value).intValue()
+                : defaultValue;
+    }
+
+    @Override
+    public boolean getBoolean(int index) {
+        JsonValue value = values[index];
+        if (value == JsonValue.TRUE) {
+            return true;
+        }
+        if (value == JsonValue.FALSE) {
+            return false;
+        }
+        throw new ClassCastException();
+    }
+
+    @Override
+    public boolean getBoolean(int index, boolean defaultValue) {
+        JsonValue value = index >= 0 && index < values.length
+                ? values[index]
+                : null;
+        if (value == JsonValue.TRUE) {
+            return true;
+        }
+        if (value == JsonValue.FALSE) {
+            return false;
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public boolean isNull(int index) {
+        return values[index].equals(JsonValue.NULL);
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.ARRAY;
+    }
+
+    @Override
+    public String toString() {
+        StringWriter writer = new StringWriter();
+        try (JsonWriter jsonWriter = Json.createWriter(writer)) {
+            jsonWriter.write(this);
+        }
+        return writer.toString();
+    }
+}
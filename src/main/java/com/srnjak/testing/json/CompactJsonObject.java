@@ -0,0 +1,225 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.*;
+import java.io.StringWriter;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable {@link JsonObject}, which holds only an array of its
+ * values. Keys are held by a {@link Shape} shared with other objects
+ * of the same document, which have the same keys in the same order.
+ */
+final class CompactJsonObject
+        extends AbstractMap<String, JsonValue> implements JsonObject {
+
+    private final Shape shape;
+    private final JsonValue[] values;
+
+    CompactJsonObject(Shape shape, JsonValue[] values) {
+        this.shape = shape;
+        this.values = values;
+    }
+
+    @Override
+    public JsonArray getJsonArray(String name) {
+        return (JsonArray) get(name);
+    }
+
+    @Override
+    public JsonObject getJsonObject(String name) {
+        return (JsonObject) get(name);
+    }
+
+    @Override
+    public JsonNumber getJsonNumber(String name) {
+        return (JsonNumber) get(name);
+    }
+
+    @Override
+    public JsonString getJsonString(String name) {
+        return (JsonString) get(name);
+    }
+
+    @Override
+    public String getString(String name) {
+        return getJsonString(name).getString();
+    }
+
+    @Override
+    public String getString(String name, String defaultValue) {
+        JsonValue value = get(name);
+        return value instanceof JsonString
+                ? ((JsonString) value).getString()
+                : defaultValue;
+    }
+
+    @Override
+    public int getInt(String name) {
+        return getJsonNumber(name).intValue();
+    }
+
+    @Override
+    public int getInt(String name, int defaultValue) {
+        JsonValue value = get(name);
+        return value instanceof JsonNumber
+                ? ((JsonNumber) value).intValue()
+                : defaultValue;
+    }
+
+    @Override
+    public boolean getBoolean(String name) {
+        JsonValue value = get(name);
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        if (value == JsonValue.TRUE) {
+            return true;
+        }
+        if (value == JsonValue.FALSE) {
+            return false;
+        }
+        throw new ClassCastException();
+    }
+
+    @Override
+    public boolean getBoolean(String name, boolean defaultValue) {
+        JsonValue value = get(name);
+        if (value == JsonValue.TRUE) {
+            return true;
+        }
+        if (value == JsonValue.FALSE) {
+            return false;
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public boolean isNull(String name) {
+        return get(name).equals(JsonValue.NULL);
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.OBJECT;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && shape.indexOf((String) key) >= 0;
+    }
+
+    @Override
+    public JsonValue get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int index = shape.indexOf((String) key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public Set<Entry<String, JsonValue>> entrySet() {
+        return new AbstractSet<>() {
+
+            @Override
+            public Iterator<Entry<String, JsonValue>> iterator() {
+                return new Iterator<>() {
+
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < values.length;
+                    }
+
+                    @Override
+                    public Entry<String, JsonValue> next() {
+                        if (index >= values.length) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, JsonValue> entry =
+                                new SimpleImmutableEntry<>(
+                                        shape.keys[index], values[index]);
+                        index++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringWriter writer = new StringWriter();
+        try (JsonWriter jsonWriter = Json.createWriter(writer)) {
+            jsonWriter.write(this);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * The ordered keys of objects, shared by the objects of a document,
+     * which have the same keys in the same order.
+     */
+    static final class Shape {
+
+        /**
+         * Number of keys, above which keys are looked up in a map.
+         */
+        static final int MAX_LINEAR_LOOKUP = 8;
+
+        private final String[] keys;
+        private volatile Map<String, Integer> index;
+
+        /**
+         * Creates a shape of the given keys.
+         *
+         * @param keys The distinct keys in their order
+         */
+        Shape(String[] keys) {
+            this.keys = keys;
+        }
+
+        /**
+         * Finds the position of a key.
+         *
+         * @param key The key
+         * @return The position or -1 if this shape has no such key
+         */
+        int indexOf(String key) {
+            if (keys.length <= MAX_LINEAR_LOOKUP) {
+                for (int i = 0; i < keys.length; i++) {
+                    if (keys[i].equals(key)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+
+            if (index == null) {
+                Map<String, Integer> map = new HashMap<>(keys.length * 2);
+                for (int i = 0; i < keys.length; i++) {
+                    map.put(keys[i], i);
+                }
+                index = map;
+            }
+            return index.getOrDefault(key, -1);
+        }
+    }
+}
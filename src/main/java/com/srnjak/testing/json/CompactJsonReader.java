@@ -0,0 +1,310 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.*;
+import jakarta.json.spi.JsonProvider;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParsingException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads json into a compact, memory efficient representation.
+ *
+ * <p>Within a single document, property names are interned through
+ * a dictionary and objects with the same keys in the same order share
+ * a single key table, so each object holds only an array of its values.
+ * Key tables of more than {@value #MAX_SHARED_KEYS} keys are not shared.
+ * Literals and small integers are shared as well. This considerably
+ * reduces the retained heap of large arrays of homogeneous objects.</p>
+ *
+ * <p>The read structures are immutable and equal to those read by
+ * {@link JsonReader}.</p>
+ *
+ * <p>Strings parsed by {@link AssertJson} are read with this reader
+ * when the system property {@value #ENABLED_PROPERTY} is set
+ * to {@code true}.</p>
+ */
+public final class CompactJsonReader {
+
+    /**
+     * The system property, which enables compact reading of json strings
+     * parsed by {@link AssertJson}.
+     */
+    public static final String ENABLED_PROPERTY =
+            "srnjak.testing.json.compactReader";
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    private static final int MIN_SHARED_INT = -128;
+    private static final int MAX_SHARED_INT = 1024;
+    private static final int MAX_SHARED_INT_LENGTH = 4;
+
+    /**
+     * Number of keys, above which the key table of an object is not shared.
+     */
+    static final int MAX_SHARED_KEYS = 64;
+
+    private static final JsonNumber[] SHARED_INTS =
+            new JsonNumber[MAX_SHARED_INT - MIN_SHARED_INT + 1];
+
+    static {
+        for (int i = 0; i < SHARED_INTS.length; i++) {
+            SHARED_INTS[i] = PROVIDER.createValue(i + MIN_SHARED_INT);
+        }
+    }
+
+    private final Map<String, String> keys = new HashMap<>();
+    private final Map<List<String>, CompactJsonObject.Shape> shapes =
+            new HashMap<>();
+
+    private CompactJsonReader() {
+    }
+
+    /**
+     * Whether {@link AssertJson} reads json strings with this reader.
+     *
+     * @return {@code true} if enabled
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Reads a json object or array from a string.
+     *
+     * @param json The json string
+     * @return The {@link JsonStructure}
+     *
+     * @throws JsonParsingException If the json is not valid
+     */
+    public static JsonStructure read(String json) {
+        return read(new StringReader(json));
+    }
+
+    /**
+     * Reads a json object or array from a character stream.
+     * The stream is closed after reading.
+     *
+     * @param reader The character stream
+     * @return The {@link JsonStructure}
+     *
+     * @throws JsonParsingException If the json is not valid
+     */
+    public static JsonStructure read(Reader reader) {
+        try (JsonParser parser = PROVIDER.createParser(reader)) {
+            return structure(parser);
+        }
+    }
+
+    /**
+     * Reads a json object or array from a byte stream, detecting
+     * the encoding. The stream is closed after reading.
+     *
+     * @param in The byte stream
+     * @return The {@link JsonStructure}
+     *
+     * @throws JsonParsingException If the json is not valid
+     */
+    public static JsonStructure read(InputStream in) {
+        try (JsonParser parser = PROVIDER.createParser(in)) {
+            return structure(parser);
+        }
+    }
+
+    /**
+     * Reads a json array from a string.
+     *
+     * @param json The json string
+     * @return The {@link JsonArray}
+     *
+     * @throws JsonParsingException If the json is not valid
+     * @throws JsonException If the json is not an array
+     */
+    public static JsonArray readArray(String json) {
+        JsonStructure structure = read(json);
+        if (structure.getValueType() != JsonValue.ValueType.ARRAY) {
+            throw new JsonException(
+                    "Expected an array, but was " + structure.getValueType());
+        }
+        return structure.asJsonArray();
+    }
+
+    private static JsonStructure structure(JsonParser parser) {
+        if (!parser.hasNext()) {
+            throw new JsonException("Empty json");
+        }
+
+        JsonParser.Event event = parser.next();
+        if (event != JsonParser.Event.START_OBJECT
+                && event != JsonParser.Event.START_ARRAY) {
+            throw new JsonParsingException(
+                    "Expected an object or an array, but was " + event,
+                    parser.getLocation());
+        }
+
+        JsonStructure structure =
+                (JsonStructure) new CompactJsonReader().read(parser, event);
+
+        if (parser.hasNext()) {
+            throw new JsonParsingException(
+                    "Unexpected " + parser.next() + " after the document",
+                    parser.getLocation());
+        }
+
+        return structure;
+    }
+
+    /**
+     * Reads a value, which starts with the given event. Containers are
+     * read iteratively, so nesting is not limited by the thread stack.
+     */
+    private JsonValue read(JsonParser parser, JsonParser.Event first) {
+        Deque<Frame> frames = new ArrayDeque<>();
+        JsonParser.Event event = first;
+
+        while (true) {
+            JsonValue completed;
+
+            switch (event) {
+                case START_OBJECT:
+                    frames.push(new Frame(true));
+                    event = parser.next();
+                    continue;
+                case START_ARRAY:
+                    frames.push(new Frame(false));
+                    event = parser.next();
+                    continue;
+                case KEY_NAME:
+                    frames.peek().key = key(parser.getString());
+                    event = parser.next();
+                    continue;
+                case END_OBJECT:
+                    Frame object = frames.pop();
+                    completed = new CompactJsonObject(
+                            shape(object.keys),
+                            object.values.toArray(new JsonValue[0]));
+                    break;
+                case END_ARRAY:
+                    completed = new CompactJsonArray(
+                            frames.pop().values.toArray(new JsonValue[0]));
+                    break;
+                case VALUE_STRING:
+                    completed = PROVIDER.createValue(parser.getString());
+                    break;
+                case VALUE_NUMBER:
+                    completed = number(parser);
+                    break;
+                case VALUE_TRUE:
+                    completed = JsonValue.TRUE;
+                    break;
+                case VALUE_FALSE:
+                    completed = JsonValue.FALSE;
+                    break;
+                default:
+                    completed = JsonValue.NULL;
+                    break;
+            }
+
+            Frame parent = frames.peek();
+            if (parent == null) {
+                return completed;
+            }
+
+            parent.add(completed);
+            event = parser.next();
+        }
+    }
+
+    private CompactJsonObject.Shape shape(List<String> keys) {
+        if (keys.size() > MAX_SHARED_KEYS) {
+            return new CompactJsonObject.Shape(keys.toArray(new String[0]));
+        }
+        return shapes.computeIfAbsent(
+                keys,
+                k -> new CompactJsonObject.Shape(k.toArray(new String[0])));
+    }
+
+    private String key(String key) {
+        String interned = keys.putIfAbsent(key, key);
+        return interned != null ? interned : key;
+    }
+
+    private static JsonNumber number(JsonParser parser) {
+        if (parser.isIntegralNumber()) {
+            String s = parser.getString();
+            if (s.length() <= MAX_SHARED_INT_LENGTH && isPlainInt(s)) {
+                int value = Integer.parseInt(s);
+                if (value >= MIN_SHARED_INT && value <= MAX_SHARED_INT) {
+                    return SHARED_INTS[value - MIN_SHARED_INT];
+                }
+            }
+        }
+        return (JsonNumber) parser.getValue();
+    }
+
+    private static boolean isPlainInt(String s) {
+        for (int i = s.charAt(0) == '-' ? 1 : 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A container being read. The keys of an object are collected
+     * until it is read, and then interned as a shape.
+     */
+    private static final class Frame {
+
+        private final List<String> keys;
+        private final List<JsonValue> values = new ArrayList<>();
+        private Map<String, Integer> index;
+        private String key;
+
+        Frame(boolean object) {
+            this.keys = object ? new ArrayList<>() : null;
+        }
+
+        void add(JsonValue value) {
+            if (keys == null) {
+                values.add(value);
+                return;
+            }
+
+            // a duplicated key replaces the previous value
+            int position = indexOf(key);
+            if (position >= 0) {
+                values.set(position, value);
+                return;
+            }
+
+            keys.add(key);
+            values.add(value);
+            if (index != null) {
+                index.put(key, keys.size() - 1);
+            } else if (keys.size()
+                    > CompactJsonObject.Shape.MAX_LINEAR_LOOKUP) {
+                index = new HashMap<>();
+                for (int i = 0; i < keys.size(); i++) {
+                    index.put(keys.get(i), i);
+                }
+            }
+        }
+
+        private int indexOf(String key) {
+            if (index != null) {
+                return index.getOrDefault(key, -1);
+            }
+            return keys.indexOf(key);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.srnjak.testing.json;
 
 import jakarta.json.JsonObject;
 import jakarta.json.JsonPatch;
+import jakarta.json.JsonValue;
 
 public class DiffParser {
 
@@ -11,6 +12,8 @@ public class DiffParser {
 
     public static final String VALUE = "value";
 
+    public static final String EXPECTED = "expected";
+
     public static JsonPatch.Operation getOperation(JsonObject diff) {
         return JsonPatch.Operation.fromOperationName(diff.getString(OPERATION));
     }
@@ -22,4 +25,12 @@ public class DiffParser {
     public static String getValue(JsonObject diff) {
         return diff.getString(VALUE);
     }
+
+    public static JsonValue getActualValue(JsonObject diff) {
+        return diff.get(VALUE);
+    }
+
+    public static JsonValue getExpectedValue(JsonObject diff) {
+        return diff.get(EXPECTED);
+    }
 }
@@ -0,0 +1,255 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonPatch;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+import jakarta.json.spi.JsonProvider;
+import jakarta.json.stream.JsonGenerator;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A report of all differences between two documents, written to files
+ * as the differences are found.
+ *
+ * <p>The report consists of a JSON Patch file, which contains all the
+ * operations of {@link JsonDiff}, and of an HTML file, which shows
+ * the expected and the actual value of each difference side by side.
+ * Operations are written as they are consumed and not retained, so
+ * memory stays bounded regardless of the number of differences. Values
+ * shown in the HTML file are truncated to
+ * {@value #MAX_HTML_VALUE_LENGTH} characters.</p>
+ */
+final class DiffReport implements Consumer<JsonObject>, Closeable {
+
+    /**
+     * The maximum length of a value shown in the HTML file.
+     */
+    static final int MAX_HTML_VALUE_LENGTH = 4096;
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final Path patchFile;
+    private final Path htmlFile;
+    private final JsonGenerator patch;
+    private final Writer html;
+
+    private long count;
+    private String firstPath;
+
+    private DiffReport(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String name = "json-diff-" + System.currentTimeMillis()
+                + "-" + SEQUENCE.incrementAndGet();
+        this.patchFile = directory.resolve(name + ".json");
+        this.htmlFile = directory.resolve(name + ".html");
+
+        this.patch = PROVIDER.createGenerator(open(patchFile));
+        this.html = open(htmlFile);
+
+        patch.writeStartArray();
+        html.write("<!DOCTYPE html>\n<html>\n<head>\n"
+                + "<meta charset=\"utf-8\">\n"
+                + "<title>" + name + "</title>\n"
+                + "<style>\n"
+                + "table { border-collapse: collapse; width: 100%; }\n"
+                + "th, td { border: 1px solid #ccc; padding: 4px;"
+                + " vertical-align: top; text-align: left; }\n"
+                + "pre { margin: 0; white-space: pre-wrap;"
+                + " word-break: break-all; }\n"
+                + ".remove { background: #fdd; }\n"
+                + ".add { background: #dfd; }\n"
+                + ".replace { background: #ffd; }\n"
+                + "</style>\n</head>\n<body>\n"
+                + "<table>\n"
+                + "<tr><th>#</th><th>Operation</th><th>Path</th>"
+                + "<th>Expected</th><th>Actual</th></tr>\n");
+    }
+
+    /**
+     * Writes the report of differences between two documents.
+     *
+     * @param expected The expected document
+     * @param actual The actual document
+     * @param comparator The comparator of values
+     * @param directory The directory of the report files
+     * @return The written report
+     *
+     * @throws UncheckedIOException If writing fails
+     */
+    static DiffReport write(
+            JsonStructure expected,
+            JsonStructure actual,
+            JsonComparator comparator,
+            Path directory) {
+
+        try (DiffReport report = new DiffReport(directory)) {
+            JsonDiff.diff(expected, actual, comparator, report);
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void accept(JsonObject operation) {
+        if (count++ == 0) {
+            firstPath = DiffParser.getPath(operation);
+        }
+
+        patch.write(operation);
+
+        JsonPatch.Operation op = DiffParser.getOperation(operation);
+        String path = DiffParser.getPath(operation);
+
+        try {
+            html.write("<tr class=\"" + op.operationName() + "\"><td>"
+                    + count + "</td><td>" + op.operationName()
+                    + "</td><td><pre>" + escape(path)
+                    + "</pre></td><td><pre>" + render(DiffParser.getExpectedValue(operation))
+                    + "</pre></td><td><pre>"
+                    + render(DiffParser.getActualValue(operation))
+                    + "</pre></td></tr>\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (Writer w = html) {
+            patch.writeEnd();
+            patch.close();
+            w.write("</table>\n<p>" + count + " differences</p>\n"
+                    + "</body>\n</html>\n");
+        }
+    }
+
+    /**
+     * The number of differences.
+     *
+     * @return The number of differences
+     */
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * The path of the first difference.
+     *
+     * @return The JSON Pointer of the path, or {@code null} if there are
+     *      no differences
+     */
+    String getFirstPath() {
+        return firstPath;
+    }
+
+    /**
+     * The JSON Patch file.
+     *
+     * @return The path of the file
+     */
+    Path getPatchFile() {
+        return patchFile;
+    }
+
+    /**
+     * The HTML file.
+     *
+     * @return The path of the file
+     */
+    Path getHtmlFile() {
+        return htmlFile;
+    }
+
+    private static Writer open(Path file) throws IOException {
+        return Files.newBufferedWriter(
+                file,
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Renders a value for the HTML file, truncated to its maximum length.
+     */
+    private static String render(JsonValue value) {
+        if (value == null) {
+            return "";
+        }
+
+        Truncated text = new Truncated();
+        try (JsonGenerator generator = PROVIDER.createGenerator(text)) {
+            generator.write(value);
+        }
+        return escape(text.toString());
+    }
+
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '>':
+                    sb.append("&gt;");
+                    break;
+                case '"':
+                    sb.append("&quot;");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A writer, which keeps only the first characters of its output.
+     */
+    private static final class Truncated extends Writer {
+
+        private final StringBuilder sb = new StringBuilder();
+        private boolean truncated;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            int n = Math.min(len, MAX_HTML_VALUE_LENGTH - sb.length());
+            if (n < len) {
+                truncated = true;
+            }
+            if (n > 0) {
+                sb.append(cbuf, off, n);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return truncated ? sb + "..." : sb.toString();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.srnjak.testing.json;
+
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.JsonStructure;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+
+/**
+ * Polling of an asynchronously produced json document, until it equals
+ * an expected one or a timeout elapses.
+ *
+ * <p>Polls are timed by a single shared scheduler thread and run by
+ * the {@link PollingExecutor}, so no thread is blocked between polls.
+ * A poll compares documents without computing their differences; only
+ * the last poll after the timeout fails with a full diff.</p>
+ *
+ * <p>A runtime exception of the supplier is retried until the timeout,
+ * while an error, such as an {@link AssertionError}, completes
+ * the polling exceptionally at once.</p>
+ */
+final class Eventually {
+
+    private static final ScheduledExecutorService SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "assert-json-eventually");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Supplier<? extends JsonStructure> actual;
+    private final JsonStructure expected;
+    private final JsonComparator comparator;
+    private final Duration timeout;
+    private final long deadline;
+    private final long interval;
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+    private Eventually(
+            Supplier<? extends JsonStructure> actual,
+            JsonStructure expected,
+            JsonComparator comparator,
+            Duration timeout,
+            Duration interval) {
+        this.actual = actual;
+        this.expected = expected;
+        this.comparator = comparator;
+        this.timeout = timeout;
+        this.deadline = System.nanoTime() + timeout.toNanos();
+        this.interval = interval.toNanos();
+    }
+
+    /**
+     * Starts polling of a document.
+     *
+     * @param actual The supplier of the actual document
+     * @param expected The expected document
+     * @param comparator The comparator
+     * @param timeout The maximum time of polling
+     * @param interval The time between polls
+     * @return The future, which completes when the documents are equal,
+     *      or completes exceptionally with an
+     *      {@link AssertionFailedError} after the timeout. Cancelling it
+     *      stops the polling.
+     *
+     * @throws NullPointerException If an argument other than expected
+     *      is null
+     * @throws IllegalArgumentException If timeout is negative or interval
+     *      is not positive
+     */
+    static CompletableFuture<Void> poll(
+            Supplier<? extends JsonStructure> actual,
+            JsonStructure expected,
+            JsonComparator comparator,
+            Duration timeout,
+            Duration interval) {
+
+        Objects.requireNonNull(actual);
+        Objects.requireNonNull(comparator);
+
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException(
+                    "Negative timeout: " + timeout);
+        }
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException(
+                    "Interval is not positive: " + interval);
+        }
+
+        Eventually eventually = new Eventually(
+                actual, expected, comparator, timeout, interval);
+        PollingExecutor.execute(eventually::poll);
+        return eventually.result;
+    }
+
+    private void poll() {
+        if (result.isDone()) {
+            return;
+        }
+
+        JsonStructure value = null;
+        RuntimeException error = null;
+        try {
+            value = actual.get();
+        } catch (RuntimeException e) {
+            error = e;
+        } catch (Throwable t) {
+            // an error, such as a failed assertion, is not retried
+            result.completeExceptionally(t);
+            return;
+        }
+
+        try {
+            if (error == null && comparator.equals(expected, value)) {
+                result.complete(null);
+                return;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                SCHEDULER.schedule(
+                        () -> PollingExecutor.execute(this::poll),
+                        Math.min(interval, remaining),
+                        TimeUnit.NANOSECONDS);
+                return;
+            }
+
+            if (error != null) {
+                throw new AssertionFailedError(
+                        NOT_SUPPLIED.message(timeout), error);
+            }
+
+            AssertJson.assertEquals(expected, value, comparator);
+            result.complete(null);
+        } catch (Throwable t) {
+            result.completeExceptionally(t);
+        }
+    }
+}
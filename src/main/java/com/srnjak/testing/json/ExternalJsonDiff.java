@@ -0,0 +1,595 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonPatch;
+import jakarta.json.JsonValue;
+import jakarta.json.spi.JsonProvider;
+import jakarta.json.stream.JsonParser;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Computes differences between two json files, which may be larger than
+ * the heap, in the same format as {@link JsonDiff}.
+ *
+ * <p>Each file is parsed as a stream and flattened into entries of
+ * a JSON Pointer and a canonical value of each scalar and container.
+ * Entries are sorted in runs, which fit into a memory budget, and runs
+ * are spilled into temporary files. The sorted runs of both files are
+ * merged, as by an external sort, and compared entry by entry. Runs are
+ * merged in passes of at most {@value #MAX_FAN_IN} runs, so the buffers
+ * of the merged runs also fit into the budget.</p>
+ *
+ * <p>Pointers are ordered token by token, so the entries of a subtree
+ * immediately follow the entry of its container, and the subtree of
+ * a difference is skipped. Arrays are compared by indexes. Numbers
+ * are equal if they have the same value and scale. The value of
+ * a replaced container is reported as a summary, since containers are
+ * not materialized.</p>
+ */
+final class ExternalJsonDiff {
+
+    /**
+     * The default memory budget in bytes.
+     */
+    static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    /**
+     * Estimated bytes of an entry besides the characters of its strings.
+     */
+    private static final int ENTRY_OVERHEAD = 96;
+
+    /**
+     * The maximum number of runs merged at once.
+     */
+    static final int MAX_FAN_IN = 64;
+
+    private static final int MAX_BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_BUFFER_SIZE = 512;
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    /**
+     * Orders pointers token by token, a pointer before the pointers
+     * nested in it. Array indexes are ordered numerically and precede
+     * other tokens, which are ordered by their characters.
+     */
+    static final Comparator<String> POINTER_ORDER = (p, q) -> {
+        int i = 0;
+        int j = 0;
+        while (i < p.length() && j < q.length()) {
+            // both are at a separator
+            int pEnd = tokenEnd(p, i + 1);
+            int qEnd = tokenEnd(q, j + 1);
+            int order = compareTokens(p, i + 1, pEnd, q, j + 1, qEnd);
+            if (order != 0) {
+                return order;
+            }
+            i = pEnd;
+            j = qEnd;
+        }
+        return Boolean.compare(i < p.length(), j < q.length());
+    };
+
+    private static final Comparator<Entry> ENTRY_ORDER =
+            Comparator.comparing(e -> e.pointer, POINTER_ORDER);
+
+    private static final char NULL = 'n';
+    private static final char TRUE = 't';
+    private static final char FALSE = 'f';
+    private static final char STRING = 's';
+    private static final char NUMBER = 'd';
+    private static final char OBJECT = '{';
+    private static final char ARRAY = '[';
+
+    private ExternalJsonDiff() {
+    }
+
+    /**
+     * Computes differences between two json files.
+     *
+     * @param expected The expected file
+     * @param actual The actual file
+     * @param memoryBudget The approximate memory used for sorting
+     *      in bytes
+     * @param sink The consumer of the operations
+     *
+     * @throws UncheckedIOException If reading or spilling fails
+     * @throws jakarta.json.stream.JsonParsingException If a file is not
+     *      valid json
+     */
+    static void diff(
+            Path expected,
+            Path actual,
+            long memoryBudget,
+            Consumer<JsonObject> sink) {
+
+        long budget = Math.max(memoryBudget / 2, ENTRY_OVERHEAD);
+
+        try (Runs e = Runs.sort(expected, budget);
+                Runs a = Runs.sort(actual, budget)) {
+            compare(e.merge(), a.merge(), sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void compare(
+            Source expected, Source actual, Consumer<JsonObject> sink)
+            throws IOException {
+
+        Entry e = expected.next();
+        Entry a = actual.next();
+        String skipped = null;
+
+        while (e != null || a != null) {
+            int order = e == null ? 1
+                    : a == null ? -1
+                    : POINTER_ORDER.compare(e.pointer, a.pointer);
+
+            String pointer = order <= 0 ? e.pointer : a.pointer;
+            if (skipped != null && isNested(pointer, skipped)) {
+                if (order <= 0) {
+                    e = expected.next();
+                }
+                if (order >= 0) {
+                    a = actual.next();
+                }
+                continue;
+            }
+
+            if (order < 0) {
+                sink.accept(PROVIDER.createObjectBuilder()
+                        .add(DiffParser.OPERATION,
+                                JsonPatch.Operation.REMOVE.operationName())
+                        .add(DiffParser.PATH, pointer)
+                        .add(DiffParser.EXPECTED, toJsonValue(e.value))
+                        .build());
+                skipped = pointer;
+                e = expected.next();
+            } else if (order > 0) {
+                sink.accept(PROVIDER.createObjectBuilder()
+                        .add(DiffParser.OPERATION,
+                                JsonPatch.Operation.ADD.operationName())
+                        .add(DiffParser.PATH, pointer)
+                        .add(DiffParser.VALUE, toJsonValue(a.value))
+                        .build());
+                skipped = pointer;
+                a = actual.next();
+            } else {
+                if (!e.value.equals(a.value)) {
+                    sink.accept(PROVIDER.createObjectBuilder()
+                            .add(DiffParser.OPERATION,
+                                    JsonPatch.Operation.REPLACE
+                                            .operationName())
+                            .add(DiffParser.PATH, pointer)
+                            .add(DiffParser.VALUE, toJsonValue(a.value))
+                            .add(DiffParser.EXPECTED, toJsonValue(e.value))
+                            .build());
+                    skipped = pointer;
+                }
+                e = expected.next();
+                a = actual.next();
+            }
+        }
+    }
+
+    private static int tokenEnd(String pointer, int start) {
+        int end = pointer.indexOf('/', start);
+        return end < 0 ? pointer.length() : end;
+    }
+
+    private static int compareTokens(
+            String p, int pStart, int pEnd, String q, int qStart, int qEnd) {
+
+        boolean pIndex = isIndex(p, pStart, pEnd);
+        boolean qIndex = isIndex(q, qStart, qEnd);
+        if (pIndex != qIndex) {
+            return pIndex ? -1 : 1;
+        }
+        if (pIndex && pEnd - pStart != qEnd - qStart) {
+            // indexes have no leading zeros, so a longer one is larger
+            return (pEnd - pStart) - (qEnd - qStart);
+        }
+
+        int n = Math.min(pEnd - pStart, qEnd - qStart);
+        for (int k = 0; k < n; k++) {
+            char c = p.charAt(pStart + k);
+            char d = q.charAt(qStart + k);
+            if (c != d) {
+                return c - d;
+            }
+        }
+        return (pEnd - pStart) - (qEnd - qStart);
+    }
+
+    /**
+     * Whether a token is an array index: digits without a leading zero.
+     */
+    private static boolean isIndex(String pointer, int start, int end) {
+        if (start == end
+                || end - start > 1 && pointer.charAt(start) == '0') {
+            return false;
+        }
+        for (int k = start; k < end; k++) {
+            char c = pointer.charAt(k);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNested(String pointer, String container) {
+        return pointer.length() > container.length()
+                && pointer.charAt(container.length()) == '/'
+                && pointer.startsWith(container);
+    }
+
+    /**
+     * Converts a canonical value back to a json value. A container is
+     * converted to a string summary.
+     */
+    private static JsonValue toJsonValue(String value) {
+        switch (value.charAt(0)) {
+            case NULL:
+                return JsonValue.NULL;
+            case TRUE:
+                return JsonValue.TRUE;
+            case FALSE:
+                return JsonValue.FALSE;
+            case STRING:
+                return PROVIDER.createValue(value.substring(1));
+            case NUMBER:
+                return PROVIDER.createValue(new BigDecimal(value.substring(1)));
+            case OBJECT:
+                return PROVIDER.createValue("{...}");
+            default:
+                return PROVIDER.createValue("[...]");
+        }
+    }
+
+    /**
+     * A pointer and a canonical value of a scalar or a container.
+     */
+    private static final class Entry {
+
+        private final String pointer;
+        private final String value;
+
+        Entry(String pointer, String value) {
+            this.pointer = pointer;
+            this.value = value;
+        }
+
+        long size() {
+            return ENTRY_OVERHEAD + 2L * (pointer.length() + value.length());
+        }
+    }
+
+    /**
+     * A sorted sequence of entries.
+     */
+    private interface Source {
+
+        /**
+         * The next entry.
+         *
+         * @return The entry or {@code null} at the end
+         */
+        Entry next() throws IOException;
+    }
+
+    /**
+     * A sorted run of entries in a temporary file.
+     */
+    private static final class SpilledRun implements Source, Closeable {
+
+        private final DataInputStream in;
+
+        SpilledRun(Path file, int bufferSize) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(
+                    Files.newInputStream(file), bufferSize));
+        }
+
+        static void write(Source entries, Path file, int bufferSize)
+                throws IOException {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(
+                            Files.newOutputStream(file), bufferSize))) {
+                for (Entry entry = entries.next();
+                        entry != null;
+                        entry = entries.next()) {
+                    writeString(out, entry.pointer);
+                    writeString(out, entry.value);
+                }
+            }
+        }
+
+        @Override
+        public Entry next() throws IOException {
+            String pointer;
+            try {
+                pointer = readString(in);
+            } catch (EOFException e) {
+                return null;
+            }
+            return new Entry(pointer, readString(in));
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private static void writeString(DataOutputStream out, String s)
+                throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static String readString(DataInputStream in)
+                throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * The sorted runs of a file: spilled runs and a last run in memory.
+     *
+     * <p>The budget bounds the entries held in memory while sorting, and
+     * the buffers of the runs while merging. The buffers are sized so
+     * that {@code fanIn} of them fit into the budget.</p>
+     */
+    private static final class Runs implements Closeable {
+
+        private final int bufferSize;
+        private final int fanIn;
+        private final Deque<Path> files = new ArrayDeque<>();
+        private final List<SpilledRun> open = new ArrayList<>();
+        private List<Entry> last = new ArrayList<>();
+
+        private Runs(long budget) {
+            this.bufferSize = (int) Math.max(
+                    MIN_BUFFER_SIZE,
+                    Math.min(MAX_BUFFER_SIZE, budget / MAX_FAN_IN));
+            this.fanIn = (int) Math.max(
+                    2, Math.min(MAX_FAN_IN, budget / bufferSize));
+        }
+
+        /**
+         * Flattens a file into sorted runs.
+         */
+        static Runs sort(Path file, long budget) throws IOException {
+            Runs runs = new Runs(budget);
+            try (InputStream in = Files.newInputStream(file);
+                    JsonParser parser = PROVIDER.createParser(
+                            new BufferedInputStream(in, runs.bufferSize))) {
+                runs.flatten(parser, budget);
+            } catch (IOException | RuntimeException e) {
+                runs.close();
+                throw e;
+            }
+            runs.last.sort(ENTRY_ORDER);
+            return runs;
+        }
+
+        private void flatten(JsonParser parser, long budget)
+                throws IOException {
+
+            Deque<Container> containers = new ArrayDeque<>();
+            long size = 0;
+
+            while (parser.hasNext()) {
+                JsonParser.Event event = parser.next();
+                if (event == JsonParser.Event.KEY_NAME) {
+                    containers.peek().key = parser.getString();
+                    continue;
+                }
+                if (event == JsonParser.Event.END_OBJECT
+                        || event == JsonParser.Event.END_ARRAY) {
+                    containers.pop();
+                    continue;
+                }
+
+                Container parent = containers.peek();
+                String pointer = parent == null
+                        ? JsonPointers.ROOT
+                        : parent.key != null
+                                ? JsonPointers.append(
+                                        parent.pointer, parent.key)
+                                : JsonPointers.append(
+                                        parent.pointer, parent.index++);
+
+                Entry entry = new Entry(pointer, canonical(event, parser));
+                if (event == JsonParser.Event.START_OBJECT
+                        || event == JsonParser.Event.START_ARRAY) {
+                    containers.push(new Container(pointer));
+                }
+
+                last.add(entry);
+                size += entry.size();
+                if (size >= budget) {
+                    spill();
+                    size = 0;
+                }
+            }
+        }
+
+        private static String canonical(
+                JsonParser.Event event, JsonParser parser) {
+            switch (event) {
+                case START_OBJECT:
+                    return String.valueOf(OBJECT);
+                case START_ARRAY:
+                    return String.valueOf(ARRAY);
+                case VALUE_STRING:
+                    return STRING + parser.getString();
+                case VALUE_NUMBER:
+                    return NUMBER + parser.getBigDecimal().toString();
+                case VALUE_TRUE:
+                    return String.valueOf(TRUE);
+                case VALUE_FALSE:
+                    return String.valueOf(FALSE);
+                default:
+                    return String.valueOf(NULL);
+            }
+        }
+
+        private void spill() throws IOException {
+            last.sort(ENTRY_ORDER);
+            Path file = Files.createTempFile("json-run-", ".bin");
+            files.add(file);
+            SpilledRun.write(source(last), file, bufferSize);
+            last = new ArrayList<>();
+        }
+
+        /**
+         * Merges the runs into a single sorted source. Runs are merged
+         * into longer ones in passes until at most {@code fanIn} remain,
+         * which are then merged as they are read.
+         */
+        Source merge() throws IOException {
+            if (files.isEmpty()) {
+                return source(last);
+            }
+
+            // the last run is spilled too, so that only buffers are held
+            if (!last.isEmpty()) {
+                spill();
+            }
+
+            while (files.size() > fanIn) {
+                // the inputs stay in files, until they are deleted
+                List<Path> inputs = new ArrayList<>(fanIn);
+                Iterator<Path> it = files.iterator();
+                for (int i = 0; i < fanIn; i++) {
+                    inputs.add(it.next());
+                }
+
+                Path file = Files.createTempFile("json-run-", ".bin");
+                files.add(file);
+                SpilledRun.write(open(inputs), file, bufferSize);
+
+                for (SpilledRun run : open) {
+                    run.close();
+                }
+                open.clear();
+                for (Path input : inputs) {
+                    files.remove(input);
+                    Files.delete(input);
+                }
+            }
+
+            return open(files);
+        }
+
+        /**
+         * Opens spilled runs as a single sorted source.
+         */
+        private Source open(Collection<Path> runs) throws IOException {
+            PriorityQueue<Head> heads = new PriorityQueue<>(
+                    Comparator.comparing(h -> h.entry, ENTRY_ORDER));
+
+            for (Path file : runs) {
+                SpilledRun run = new SpilledRun(file, bufferSize);
+                open.add(run);
+                Head head = new Head(run);
+                if (head.entry != null) {
+                    heads.add(head);
+                }
+            }
+
+            return () -> {
+                Head head = heads.poll();
+                if (head == null) {
+                    return null;
+                }
+                Entry entry = head.entry;
+                head.entry = head.source.next();
+                if (head.entry != null) {
+                    heads.add(head);
+                }
+                return entry;
+            };
+        }
+
+        private static Source source(List<Entry> entries) {
+            Iterator<Entry> it = entries.iterator();
+            return () -> it.hasNext() ? it.next() : null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (SpilledRun run : open) {
+                try {
+                    run.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            for (Path file : files) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * The current entry of a run being merged.
+     */
+    private static final class Head {
+
+        private final Source source;
+        private Entry entry;
+
+        Head(Source source) throws IOException {
+            this.source = source;
+            this.entry = source.next();
+        }
+    }
+
+    /**
+     * An open container of the parsed file.
+     */
+    private static final class Container {
+
+        private final String pointer;
+        private String key;
+        private int index;
+
+        Container(String pointer) {
+            this.pointer = pointer;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonValue;
+import java.util.Map;
+
+/**
+ * An index of elements of an array by their structural hashes.
+ *
+ * <p>Values are deep compared only with elements having the same hash,
+ * so verifying absence of many values from a large array is mostly
+ * a matter of hashing them.</p>
+ */
+final class HashedArrayIndex implements ArrayIndex {
+
+    private final JsonArray array;
+    private final Map<Long, int[]> rows;
+
+    HashedArrayIndex(JsonArray array) {
+        this.array = array;
+
+        long[] hashes = new long[array.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = StructuralHash.of(array.get(i));
+        }
+        this.rows = Postings.of(hashes.length, i -> hashes[i]);
+    }
+
+    @Override
+    public boolean contains(JsonValue value) {
+        int[] candidates = rows.get(StructuralHash.of(value));
+        if (candidates == null) {
+            return false;
+        }
+
+        for (int i = 1; i <= candidates[0]; i++) {
+            if (JsonComparator.DEFAULT.equals(
+                    value, array.get(candidates[i]))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
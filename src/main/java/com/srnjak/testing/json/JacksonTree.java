@@ -0,0 +1,98 @@
+package com.srnjak.testing.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import jakarta.json.JsonValue;
+import jakarta.json.spi.JsonProvider;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.Iterator;
+
+/**
+ * The tree of Jackson {@link JsonNode}s.
+ *
+ * <p>Binary nodes are strings of their base64 encoding, as they are
+ * serialized. Missing nodes are {@code null}. Integral numbers keep
+ * the scale of their serialized form. Floating point numbers do not:
+ * a {@code DoubleNode} holds a binary value, and a {@code DecimalNode}
+ * has its trailing zeros stripped by default, so {@code 1.10} is read
+ * as {@code 1.1} and {@code 1e2} as {@code 100.0}. They are therefore
+ * compared by their numeric values.</p>
+ */
+final class JacksonTree implements JsonTree<JsonNode> {
+
+    static final JacksonTree INSTANCE = new JacksonTree();
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    private JacksonTree() {
+    }
+
+    @Override
+    public JsonValue.ValueType type(JsonNode node) {
+        switch (node.getNodeType()) {
+            case OBJECT:
+                return JsonValue.ValueType.OBJECT;
+            case ARRAY:
+                return JsonValue.ValueType.ARRAY;
+            case STRING:
+            case BINARY:
+                return JsonValue.ValueType.STRING;
+            case NUMBER:
+                return JsonValue.ValueType.NUMBER;
+            case BOOLEAN:
+                return node.booleanValue()
+                        ? JsonValue.ValueType.TRUE
+                        : JsonValue.ValueType.FALSE;
+            case NULL:
+            case MISSING:
+                return JsonValue.ValueType.NULL;
+            default:
+                throw new IllegalArgumentException(
+                        "Unsupported node type: " + node.getNodeType());
+        }
+    }
+
+    @Override
+    public int size(JsonNode node) {
+        return node.size();
+    }
+
+    @Override
+    public Iterator<String> keys(JsonNode object) {
+        return object.fieldNames();
+    }
+
+    @Override
+    public JsonNode member(JsonNode object, String key) {
+        return object.get(key);
+    }
+
+    @Override
+    public JsonNode element(JsonNode array, int index) {
+        return array.get(index);
+    }
+
+    @Override
+    public String string(JsonNode node) {
+        return node.asText();
+    }
+
+    @Override
+    public BigDecimal number(JsonNode node) {
+        return node.isIntegralNumber() && node.canConvertToLong()
+                ? BigDecimal.valueOf(node.longValue())
+                : node.decimalValue();
+    }
+
+    @Override
+    public boolean isFloatingPoint(JsonNode node) {
+        return node.isFloatingPointNumber();
+    }
+
+    @Override
+    public JsonValue toJsonValue(JsonNode node) {
+        return PROVIDER.createReader(new StringReader(node.toString()))
+                .readValue();
+    }
+}
@@ -0,0 +1,464 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+import java.util.function.Supplier;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+
+/**
+ * Assertions on a single actual json, which is parsed once.
+ *
+ * <p>The actual json is parsed lazily, on the first assertion, and
+ * shared by all the following assertions. Structures derived from it
+ * are built on first use and cached as well: a {@link JsonIndex} of
+ * its values for property assertions and an index of its elements for
+ * array assertions. Assertions throw on the first failure, the same
+ * as those of {@link AssertJson}:</p>
+ * <pre>
+ * AssertJson.assertThat(response)
+ *         .assertContainsProperty("\"John Doe\"", "/name")
+ *         .assertContainsProperty("30", "/age")
+ *         .assertShape("{\"name\": \"\", \"age\": 0}");
+ * </pre>
+ *
+ * <p>An instance is not thread-safe and is intended for a single test.</p>
+ *
+ * @see AssertJson#assertThat(String)
+ */
+public final class JsonAssert {
+
+    private Supplier<JsonStructure> parser;
+    private JsonStructure actual;
+    private JsonIndex index;
+    private ArrayIndex arrayIndex;
+    private int probes;
+
+    JsonAssert(Supplier<JsonStructure> parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * The actual json, parsed on the first call.
+     *
+     * @return The actual {@link JsonStructure} or {@code null}
+     */
+    public JsonStructure getActual() {
+        if (parser != null) {
+            actual = parser.get();
+            parser = null;
+        }
+        return actual;
+    }
+
+    /**
+     * The index of values of the actual json, built on the first call.
+     *
+     * @return The {@link JsonIndex}
+     *
+     * @throws NullPointerException If the actual json is null
+     */
+    public JsonIndex getIndex() {
+        if (index == null) {
+            index = JsonIndex.of(getActual());
+        }
+        return index;
+    }
+
+    /**
+     * Verifies if the actual json is semantically equal to an expected
+     * one, which may contain placeholder tokens.
+     *
+     * @param expected The expected json
+     * @return This instance
+     *
+     * @see AssertJson#assertEquals(String, JsonStructure)
+     */
+    public JsonAssert assertEquals(String expected) {
+        AssertJson.assertEquals(expected, getActual());
+        return this;
+    }
+
+    /**
+     * Verifies if the actual json is semantically equal to an expected
+     * one.
+     *
+     * @param expected The expected json
+     * @return This instance
+     *
+     * @see AssertJson#assertEquals(JsonStructure, JsonStructure)
+     */
+    public JsonAssert assertEquals(JsonStructure expected) {
+        AssertJson.assertEquals(expected, getActual());
+        return this;
+    }
+
+    /**
+     * Verifies if the actual json is semantically equal to an expected
+     * one, as compared by a {@link JsonComparator}.
+     *
+     * @param expected The expected json
+     * @param comparator The {@link JsonComparator}
+     * @return This instance
+     *
+     * @see AssertJson#assertEquals(JsonStructure, JsonStructure,
+     *      JsonComparator)
+     */
+    public JsonAssert assertEquals(
+            JsonStructure expected, JsonComparator comparator) {
+        AssertJson.assertEquals(expected, getActual(), comparator);
+        return this;
+    }
+
+    /**
+     * Verifies if the actual json is semantically not equal to
+     * an unexpected one.
+     *
+     * @param unexpected The unexpected json
+     * @return This instance
+     *
+     * @see AssertJson#assertNotEquals(String, JsonStructure)
+     */
+    public JsonAssert assertNotEquals(String unexpected) {
+        AssertJson.assertNotEquals(unexpected, getActual());
+        return this;
+    }
+
+    /**
+     * Verifies if the actual json is semantically not equal to
+     * an unexpected one.
+     *
+     * @param unexpected The unexpected json
+     * @return This instance
+     *
+     * @see AssertJson#assertNotEquals(JsonStructure, JsonStructure)
+     */
+    public JsonAssert assertNotEquals(JsonStructure unexpected) {
+        AssertJson.assertNotEquals(unexpected, getActual());
+        return this;
+    }
+
+    /**
+     * Verifies if the actual json array contains an expected element.
+     *
+     * @param expectedElement The expected element
+     * @return This instance
+     *
+     * @see AssertJson#assertContains(JsonValue, JsonArray)
+     */
+    public JsonAssert assertContains(JsonValue expectedElement) {
+        AssertJson.assertContains(
+                expectedElement, actualArray(), this::arrayIndex);
+        return this;
+    }
+
+    /**
+     * Verifies if the actual json array contains an expected element.
+     *
+     * @param expectedElement The expected element
+     * @return This instance
+     *
+     * @see AssertJson#assertContains(String, JsonArray)
+     */
+    public JsonAssert assertContains(String expectedElement) {
+        return assertContains(AssertJson.parseValue(expectedElement));
+    }
+
+    /**
+     * Verifies if the actual json array does not contain an unexpected
+     * element.
+     *
+     * @param unexpectedElement The unexpected element
+     * @return This instance
+     *
+     * @see AssertJson#assertNotContains(JsonValue, JsonArray)
+     */
+    public JsonAssert assertNotContains(JsonValue unexpectedElement) {
+        AssertJson.assertNotContains(
+                unexpectedElement, actualArray(), this::arrayIndex);
+        return this;
+    }
+
+    /**
+     * Verifies if the actual json array does not contain an unexpected
+     * element.
+     *
+     * @param unexpectedElement The unexpected element
+     * @return This instance
+     *
+     * @see AssertJson#assertNotContains(String, JsonArray)
+     */
+    public JsonAssert assertNotContains(String unexpectedElement) {
+        return assertNotContains(AssertJson.parseValue(unexpectedElement));
+    }
+
+    /**
+     * Verifies if the actual json array contains all expected elements.
+     *
+     * @param expectedElements The expected elements
+     * @return This instance
+     *
+     * @see AssertJson#assertContainsAll(JsonArray, JsonArray)
+     */
+    public JsonAssert assertContainsAll(JsonArray expectedElements) {
+        AssertJson.assertContainsAll(
+                expectedElements, actualArray(), this::arrayIndex);
+        return this;
+    }
+
+    /**
+     * Verifies if the actual json array contains all expected elements.
+     *
+     * @param expectedElements The json array of expected elements
+     * @return This instance
+     *
+     * @see AssertJson#assertContainsAll(String, JsonArray)
+     */
+    public JsonAssert assertContainsAll(String expectedElements) {
+        return assertContainsAll(AssertJson.parseArray(expectedElements));
+    }
+
+    /**
+     * Verifies if the actual json array contains any of expected
+     * elements.
+     *
+     * @param expectedElements The expected elements
+     * @return This instance
+     *
+     * @see AssertJson#assertContainsAny(JsonArray, JsonArray)
+     */
+    public JsonAssert assertContainsAny(JsonArray expectedElements) {
+        AssertJson.assertContainsAny(
+                expectedElements, actualArray(), this::arrayIndex);
+        return this;
+    }
+
+    /**
+     * Verifies if the actual json array contains any of expected
+     * elements.
+     *
+     * @param expectedElements The json array of expected elements
+     * @return This instance
+     *
+     * @see AssertJson#assertContainsAny(String, JsonArray)
+     */
+    public JsonAssert assertContainsAny(String expectedElements) {
+        return assertContainsAny(AssertJson.parseArray(expectedElements));
+    }
+
+    /**
+     * Verifies if the actual json array contains none of unexpected
+     * elements.
+     *
+     * @param unexpectedElements The unexpected elements
+     * @return This instance
+     *
+     * @see AssertJson#assertContainsNone(JsonArray, JsonArray)
+     */
+    public JsonAssert assertContainsNone(JsonArray unexpectedElements) {
+        AssertJson.assertContainsNone(
+                unexpectedElements, actualArray(), this::arrayIndex);
+        return this;
+    }
+
+    /**
+     * Verifies if the actual json array contains none of unexpected
+     * elements.
+     *
+     * @param unexpectedElements The json array of unexpected elements
+     * @return This instance
+     *
+     * @see AssertJson#assertContainsNone(String, JsonArray)
+     */
+    public JsonAssert assertContainsNone(String unexpectedElements) {
+        return assertContainsNone(AssertJson.parseArray(unexpectedElements));
+    }
+
+    /**
+     * Verifies if the actual json contains an expected value on
+     * a path. The value is looked up in the cached index.
+     *
+     * @param expectedValue The expected value
+     * @param path The path
+     * @return This instance
+     *
+     * @throws NullPointerException If path is null
+     *
+     * @see AssertJson#assertContainsProperty(JsonValue, String, JsonIndex)
+     */
+    public JsonAssert assertContainsProperty(
+            JsonValue expectedValue, String path) {
+        if (getActual() == null) {
+            AssertJson.assertContainsProperty(
+                    expectedValue, path, (JsonStructure) null);
+        } else {
+            AssertJson.assertContainsProperty(
+                    expectedValue, path, getIndex());
+        }
+        return this;
+    }
+
+    /**
+     * Verifies if the actual json contains an expected value on
+     * a path. The value is looked up in the cached index.
+     *
+     * @param expectedValue The expected json value
+     * @param path The path
+     * @return This instance
+     *
+     * @throws NullPointerException If path is null
+     *
+     * @see AssertJson#assertContainsProperty(String, String, JsonIndex)
+     */
+    public JsonAssert assertContainsProperty(
+            String expectedValue, String path) {
+        return assertContainsProperty(
+                AssertJson.parseValue(expectedValue), path);
+    }
+
+    /**
+     * Verifies if the actual json contains a value on a path, which
+     * matches a {@link JsonMatcher}. The value is looked up in the cached
+     * index.
+     *
+     * @param matcher The {@link JsonMatcher}
+     * @param path The path
+     * @return This instance
+     *
+     * @throws NullPointerException If matcher or path is null
+     *
+     * @see AssertJson#assertContainsProperty(JsonMatcher, String,
+     *      JsonIndex)
+     */
+    public JsonAssert assertContainsProperty(
+            JsonMatcher matcher, String path) {
+        if (getActual() == null) {
+            AssertJson.assertContainsProperty(
+                    matcher, path, (JsonStructure) null);
+        } else {
+            AssertJson.assertContainsProperty(matcher, path, getIndex());
+        }
+        return this;
+    }
+
+    /**
+     * Verifies if the actual json does not contain an unexpected value
+     * on a path. The value is looked up in the cached index.
+     *
+     * @param unexpectedValue The unexpected value
+     * @param path The path
+     * @return This instance
+     *
+     * @throws NullPointerException If path is null
+     *
+     * @see AssertJson#assertNotContainsProperty(JsonValue, String,
+     *      JsonIndex)
+     */
+    public JsonAssert assertNotContainsProperty(
+            JsonValue unexpectedValue, String path) {
+        if (getActual() == null) {
+            AssertJson.assertNotContainsProperty(
+                    unexpectedValue, path, (JsonStructure) null);
+        } else {
+            AssertJson.assertNotContainsProperty(
+                    unexpectedValue, path, getIndex());
+        }
+        return this;
+    }
+
+    /**
+     * Verifies if the actual json does not contain an unexpected value
+     * on a path. The value is looked up in the cached index.
+     *
+     * @param unexpectedValue The unexpected json value
+     * @param path The path
+     * @return This instance
+     *
+     * @throws NullPointerException If path is null
+     *
+     * @see AssertJson#assertNotContainsProperty(String, String, JsonIndex)
+     */
+    public JsonAssert assertNotContainsProperty(
+            String unexpectedValue, String path) {
+        return assertNotContainsProperty(
+                AssertJson.parseValue(unexpectedValue), path);
+    }
+
+    /**
+     * Verifies if the actual json matches an expected shape.
+     *
+     * @param expectedShape The expected {@link JsonShape}
+     * @return This instance
+     *
+     * @throws NullPointerException If expectedShape is null
+     *
+     * @see AssertJson#assertShape(JsonShape, JsonStructure)
+     */
+    public JsonAssert assertShape(JsonShape expectedShape) {
+        AssertJson.assertShape(expectedShape, getActual());
+        return this;
+    }
+
+    /**
+     * Verifies if the actual json matches the shape of an expected
+     * template.
+     *
+     * @param expectedTemplate The json template of the expected shape
+     * @return This instance
+     *
+     * @throws NullPointerException If expectedTemplate is null
+     *
+     * @see AssertJson#assertShape(String, JsonStructure)
+     */
+    public JsonAssert assertShape(String expectedTemplate) {
+        AssertJson.assertShape(expectedTemplate, getActual());
+        return this;
+    }
+
+    /**
+     * Verifies if the canonical digest of the actual json is equal to
+     * an expected one.
+     *
+     * @param expectedDigest The expected lowercase hexadecimal digest
+     * @return This instance
+     *
+     * @see AssertJson#assertDigestEquals(String, JsonStructure)
+     */
+    public JsonAssert assertDigestEquals(String expectedDigest) {
+        AssertJson.assertDigestEquals(expectedDigest, getActual());
+        return this;
+    }
+
+    /**
+     * The actual json as an array.
+     *
+     * @throws org.opentest4j.AssertionFailedError If the actual json
+     *      is not an array
+     */
+    private JsonArray actualArray() {
+        JsonStructure structure = getActual();
+        if (structure == null) {
+            return null;
+        }
+
+        if (structure.getValueType() != JsonValue.ValueType.ARRAY) {
+            throw INVALID_TYPE.error(
+                    JsonPointers.ROOT,
+                    JsonValue.ValueType.ARRAY,
+                    structure.getValueType());
+        }
+        return structure.asJsonArray();
+    }
+
+    private ArrayIndex arrayIndex(int probes) {
+        if (arrayIndex == null) {
+            this.probes += probes;
+            if (this.probes < ArrayIndex.MIN_PROBES) {
+                return ArrayIndex.of(actualArray(), probes);
+            }
+            arrayIndex = ArrayIndex.of(actualArray());
+        }
+        return arrayIndex;
+    }
+}
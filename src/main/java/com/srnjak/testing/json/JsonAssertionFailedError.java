@@ -0,0 +1,112 @@
+package com.srnjak.testing.json;
+
+import org.opentest4j.AssertionFailedError;
+import org.opentest4j.ValueWrapper;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.function.Supplier;
+
+/**
+ * An {@link AssertionFailedError} with a message and expected and actual
+ * values rendered lazily, when they are first requested.
+ *
+ * <p>Rendering a message may be expensive, since it can contain whole
+ * json documents, while failures caught by a soft assertion collector
+ * may never be rendered at all. For the same reason, the expected and
+ * actual values are wrapped, which renders them, only when requested,
+ * rather than when constructed by {@link AssertionFailedError}.</p>
+ */
+class JsonAssertionFailedError extends AssertionFailedError {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient Supplier<String> messageSupplier;
+
+    private String message;
+
+    private final boolean valuesDefined;
+
+    private transient Object expectedValue;
+
+    private transient Object actualValue;
+
+    private ValueWrapper expected;
+
+    private ValueWrapper actual;
+
+    /**
+     * Constructs an error with a lazily rendered message.
+     *
+     * @param messageSupplier The supplier of the message
+     */
+    JsonAssertionFailedError(Supplier<String> messageSupplier) {
+        super(null);
+        this.messageSupplier = messageSupplier;
+        this.valuesDefined = false;
+    }
+
+    /**
+     * Constructs an error with a lazily rendered message and lazily
+     * rendered expected and actual values.
+     *
+     * @param messageSupplier The supplier of the message
+     * @param expected The expected value
+     * @param actual The actual value
+     */
+    JsonAssertionFailedError(
+            Supplier<String> messageSupplier,
+            Object expected,
+            Object actual) {
+
+        super(null);
+        this.messageSupplier = messageSupplier;
+        this.valuesDefined = true;
+        this.expectedValue = expected;
+        this.actualValue = actual;
+    }
+
+    @Override
+    public synchronized String getMessage() {
+        if (messageSupplier != null) {
+            message = messageSupplier.get();
+            messageSupplier = null;
+        }
+        return message;
+    }
+
+    @Override
+    public boolean isExpectedDefined() {
+        return valuesDefined;
+    }
+
+    @Override
+    public boolean isActualDefined() {
+        return valuesDefined;
+    }
+
+    @Override
+    public synchronized ValueWrapper getExpected() {
+        if (valuesDefined && expected == null) {
+            expected = ValueWrapper.create(expectedValue);
+            expectedValue = null;
+        }
+        return expected;
+    }
+
+    @Override
+    public synchronized ValueWrapper getActual() {
+        if (valuesDefined && actual == null) {
+            actual = ValueWrapper.create(actualValue);
+            actualValue = null;
+        }
+        return actual;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getMessage();
+        getExpected();
+        getActual();
+        out.defaultWriteObject();
+    }
+}
@@ -0,0 +1,499 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.*;
+import jakarta.json.stream.JsonParser;
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Serializes json into the JSON Canonicalization Scheme (RFC 8785) form.
+ *
+ * <p>Canonical form sorts object members by their keys, serializes
+ * numbers as ECMAScript does for double precision values and uses
+ * the minimal string escaping. Two documents have the same canonical form
+ * if they are equal as I-JSON documents, so they can be compared with
+ * a single byte comparison or by their digests.</p>
+ *
+ * <p>Note that numbers are compared as double precision values, so
+ * {@code 1.0} and {@code 1} have the same canonical form.</p>
+ */
+public final class JsonCanonicalizer {
+
+    /**
+     * The default digest algorithm.
+     */
+    public static final String DEFAULT_ALGORITHM = "SHA-256";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private JsonCanonicalizer() {
+    }
+
+    /**
+     * Writes the canonical form of a {@link JsonValue} as UTF-8 bytes
+     * to an {@link OutputStream}. The stream is flushed, but not closed.
+     *
+     * @param value The {@link JsonValue}
+     * @param out The {@link OutputStream}
+     *
+     * @throws IOException If writing fails
+     * @throws IllegalArgumentException If value contains a number which
+     *      can not be represented as a double precision value
+     */
+    public static void write(JsonValue value, OutputStream out)
+            throws IOException {
+
+        Writer writer = writer(out);
+        writeValue(Objects.requireNonNull(value), writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes the canonical form of a json string as UTF-8 bytes
+     * to an {@link OutputStream}. The json string is read as a stream
+     * of events, without building object trees. Members of each object
+     * are buffered in their canonical form to be sorted, so a document,
+     * which is an object, is held in memory as a whole. The stream is
+     * flushed, but not closed.
+     *
+     * @param json The json string
+     * @param out The {@link OutputStream}
+     *
+     * @throws IOException If writing fails
+     * @throws IllegalArgumentException If json contains a number which
+     *      can not be represented as a double precision value
+     *      or duplicate keys
+     */
+    public static void write(String json, OutputStream out)
+            throws IOException {
+
+        Writer writer = writer(out);
+        try (JsonParser parser = Json.createParser(
+                new StringReader(Objects.requireNonNull(json)))) {
+            writeEvents(parser, writer);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Returns the canonical form of a {@link JsonValue} as UTF-8 bytes.
+     *
+     * @param value The {@link JsonValue}
+     * @return The canonical form
+     *
+     * @throws IllegalArgumentException If value contains a number which
+     *      can not be represented as a double precision value
+     */
+    public static byte[] toByteArray(JsonValue value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            write(value, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns the canonical form of a json string as UTF-8 bytes.
+     *
+     * @param json The json string
+     * @return The canonical form
+     *
+     * @throws IllegalArgumentException If json contains a number which
+     *      can not be represented as a double precision value
+     *      or duplicate keys
+     */
+    public static byte[] toByteArray(String json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            write(json, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Computes a digest of the canonical form of a {@link JsonValue}.
+     * The canonical form is streamed into the digest and never
+     * held in memory as a whole.
+     *
+     * @param value The {@link JsonValue}
+     * @param algorithm The name of the digest algorithm
+     * @return The digest
+     *
+     * @throws IllegalArgumentException If algorithm is not available
+     */
+    public static byte[] digest(JsonValue value, String algorithm) {
+        MessageDigest digest = messageDigest(algorithm);
+        try {
+            write(value, new DigestOutputStream(
+                    OutputStream.nullOutputStream(), digest));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Computes a digest of the canonical form of a json string.
+     * The canonical form is streamed into the digest, but members
+     * of each object are buffered to be sorted, so an object is held
+     * in memory in its canonical form.
+     *
+     * @param json The json string
+     * @param algorithm The name of the digest algorithm
+     * @return The digest
+     *
+     * @throws IllegalArgumentException If algorithm is not available
+     */
+    public static byte[] digest(String json, String algorithm) {
+        MessageDigest digest = messageDigest(algorithm);
+        try {
+            write(json, new DigestOutputStream(
+                    OutputStream.nullOutputStream(), digest));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Computes a hexadecimal {@value #DEFAULT_ALGORITHM} digest
+     * of the canonical form of a {@link JsonValue}.
+     *
+     * @param value The {@link JsonValue}
+     * @return The lowercase hexadecimal digest
+     */
+    public static String digest(JsonValue value) {
+        return hex(digest(value, DEFAULT_ALGORITHM));
+    }
+
+    /**
+     * Computes a hexadecimal {@value #DEFAULT_ALGORITHM} digest
+     * of the canonical form of a json string.
+     *
+     * @param json The json string
+     * @return The lowercase hexadecimal digest
+     */
+    public static String digest(String json) {
+        return hex(digest(json, DEFAULT_ALGORITHM));
+    }
+
+    /**
+     * Serializes a number as ECMAScript {@code Number.prototype.toString}
+     * does, with the shortest decimal that rounds to the same double
+     * precision value, independently of the Java version.
+     *
+     * @param number The number
+     * @return The serialized number
+     *
+     * @throws IllegalArgumentException If number can not be represented
+     *      as a double precision value
+     */
+    static String number(BigDecimal number) {
+        double d = number.doubleValue();
+
+        if (Double.isInfinite(d)) {
+            throw new IllegalArgumentException(
+                    "Number out of range: " + number);
+        }
+
+        if (d == 0) {
+            return "0";
+        }
+
+        ShortestDecimal shortest = ShortestDecimal.of(Math.abs(d));
+        String digits = shortest.getDigits();
+        int k = digits.length();
+        int n = k + shortest.getExponent();
+
+        StringBuilder sb = new StringBuilder(k + 8);
+        if (d < 0) {
+            sb.append('-');
+        }
+
+        if (k <= n && n <= 21) {
+            sb.append(digits);
+            for (int i = k; i < n; i++) {
+                sb.append('0');
+            }
+        } else if (0 < n && n <= 21) {
+            sb.append(digits, 0, n).append('.').append(digits, n, k);
+        } else if (-6 < n && n <= 0) {
+            sb.append("0.");
+            for (int i = n; i < 0; i++) {
+                sb.append('0');
+            }
+            sb.append(digits);
+        } else {
+            int e = n - 1;
+            sb.append(digits.charAt(0));
+            if (k > 1) {
+                sb.append('.').append(digits, 1, k);
+            }
+            sb.append('e').append(e < 0 ? '-' : '+').append(Math.abs(e));
+        }
+
+        return sb.toString();
+    }
+
+    static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    private static MessageDigest messageDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(
+                Objects.requireNonNull(out), StandardCharsets.UTF_8));
+    }
+
+    private static void writeValue(JsonValue value, Appendable out)
+            throws IOException {
+
+        // containers are written iteratively, so that the depth
+        // of a document is not limited by the thread stack
+        Deque<Container> stack = new ArrayDeque<>();
+        JsonValue next = value;
+
+        while (true) {
+            if (next != null) {
+                switch (next.getValueType()) {
+                    case OBJECT:
+                        out.append('{');
+                        stack.push(new Container(next.asJsonObject()));
+                        break;
+                    case ARRAY:
+                        out.append('[');
+                        stack.push(new Container(next.asJsonArray()));
+                        break;
+                    case STRING:
+                        writeString(((JsonString) next).getString(), out);
+                        break;
+                    case NUMBER:
+                        out.append(number(
+                                ((JsonNumber) next).bigDecimalValue()));
+                        break;
+                    case TRUE:
+                        out.append("true");
+                        break;
+                    case FALSE:
+                        out.append("false");
+                        break;
+                    default:
+                        out.append("null");
+                }
+                next = null;
+            }
+
+            Container top = stack.peek();
+            if (top == null) {
+                return;
+            }
+
+            if (top.index == top.size) {
+                out.append(top.keys != null ? '}' : ']');
+                stack.pop();
+                continue;
+            }
+
+            if (top.index > 0) {
+                out.append(',');
+            }
+            if (top.keys != null) {
+                String key = top.keys[top.index];
+                writeString(key, out);
+                out.append(':');
+                next = top.object.get(key);
+            } else {
+                next = top.array.get(top.index);
+            }
+            top.index++;
+        }
+    }
+
+    private static void writeEvents(JsonParser parser, Appendable out)
+            throws IOException {
+
+        // containers are written iteratively, so that the depth
+        // of a document is not limited by the thread stack
+        Deque<Events> stack = new ArrayDeque<>();
+
+        do {
+            JsonParser.Event event = parser.next();
+            switch (event) {
+                case KEY_NAME:
+                    stack.element().key(parser.getString());
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    stack.pop().end();
+                    break;
+                case START_OBJECT:
+                    stack.push(new Events(element(stack, out), true));
+                    break;
+                case START_ARRAY:
+                    Appendable target = element(stack, out);
+                    target.append('[');
+                    stack.push(new Events(target, false));
+                    break;
+                case VALUE_STRING:
+                    writeString(parser.getString(), element(stack, out));
+                    break;
+                case VALUE_NUMBER:
+                    element(stack, out).append(number(parser.getBigDecimal()));
+                    break;
+                case VALUE_TRUE:
+                    element(stack, out).append("true");
+                    break;
+                case VALUE_FALSE:
+                    element(stack, out).append("false");
+                    break;
+                default:
+                    element(stack, out).append("null");
+            }
+        } while (!stack.isEmpty());
+    }
+
+    private static Appendable element(Deque<Events> stack, Appendable out)
+            throws IOException {
+        return stack.isEmpty() ? out : stack.element().element();
+    }
+
+    private static void writeString(String s, Appendable out)
+            throws IOException {
+
+        out.append('"');
+        int last = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+
+            out.append(s, last, i);
+            last = i + 1;
+
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\b': out.append("\\b"); break;
+                case '\f': out.append("\\f"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    out.append("\\u00")
+                            .append(HEX[c >> 4])
+                            .append(HEX[c & 0xf]);
+            }
+        }
+        out.append(s, last, s.length());
+        out.append('"');
+    }
+
+    /**
+     * An object or an array of a tree, which is being written.
+     */
+    private static final class Container {
+
+        private final JsonObject object;
+        private final String[] keys;
+        private final JsonArray array;
+        private final int size;
+        private int index;
+
+        Container(JsonObject object) {
+            this.object = object;
+            this.keys = object.keySet().toArray(new String[0]);
+            this.array = null;
+            this.size = keys.length;
+            Arrays.sort(keys);
+        }
+
+        Container(JsonArray array) {
+            this.object = null;
+            this.keys = null;
+            this.array = array;
+            this.size = array.size();
+        }
+    }
+
+    /**
+     * An object or an array of a stream of events, which is being
+     * written. Members of an object are buffered in their canonical form,
+     * to be written sorted by their keys.
+     */
+    private static final class Events {
+
+        private final Appendable out;
+        private final Map<String, CharSequence> members;
+        private StringBuilder member;
+        private boolean first = true;
+
+        Events(Appendable out, boolean object) {
+            this.out = out;
+            this.members = object ? new TreeMap<>() : null;
+        }
+
+        void key(String key) {
+            member = new StringBuilder();
+            if (members.put(key, member) != null) {
+                throw new IllegalArgumentException("Duplicate key: " + key);
+            }
+        }
+
+        /**
+         * Prepares writing of the next member value or element.
+         *
+         * @return The output of the value
+         */
+        Appendable element() throws IOException {
+            if (members != null) {
+                return member;
+            }
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            return out;
+        }
+
+        void end() throws IOException {
+            if (members == null) {
+                out.append(']');
+                return;
+            }
+
+            out.append('{');
+            boolean firstMember = true;
+            for (Map.Entry<String, CharSequence> e : members.entrySet()) {
+                if (!firstMember) {
+                    out.append(',');
+                }
+                firstMember = false;
+                writeString(e.getKey(), out);
+                out.append(':').append(e.getValue());
+            }
+            out.append('}');
+        }
+    }
+}
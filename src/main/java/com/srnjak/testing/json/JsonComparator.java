@@ -0,0 +1,802 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A configurable semantic comparison of json documents.
+ *
+ * <p>Documents are traversed iteratively with an explicit, array-backed
+ * stack, so nesting depth of compared documents is limited only by
+ * the configured maximum depth and not by the size of the thread
+ * stack.</p>
+ *
+ * <p>Numbers are equal if they have the same value and scale, unless
+ * a tolerance applies to them. A tolerance is set for all numbers or
+ * for numbers on a JSON Pointer path, where a token {@code *} matches
+ * any member key or array index. Numbers within a tolerance are
+ * compared as doubles.</p>
+ *
+ * <p>A {@link JsonMatcher} on a path matches the actual value instead
+ * of comparing it with the expected one, which then only needs to be
+ * present as a placeholder.</p>
+ *
+ * <p>If a report directory is set, a failed assertion writes a report
+ * of all differences into it, see {@link Builder#report(Path)}.</p>
+ *
+ * <p>An instance is immutable and thread-safe. It is created with
+ * a {@link Builder}:</p>
+ * <pre>
+ * JsonComparator comparator = JsonComparator.builder()
+ *         .maxDepth(100_000)
+ *         .tolerance("/samples/*&#47;value", 1e-9, 0)
+ *         .matcher("/id", JsonMatcher.regex("[0-9a-f]{32}"))
+ *         .build();
+ *
+ * AssertJson.assertEquals(expected, actual, comparator);
+ * </pre>
+ */
+public final class JsonComparator {
+
+    /**
+     * The default comparator.
+     */
+    public static final JsonComparator DEFAULT = builder().build();
+
+    /**
+     * The system property, which sets the report directory of comparators
+     * without one.
+     *
+     * @see Builder#report(Path)
+     */
+    public static final String REPORT_DIRECTORY_PROPERTY =
+            "srnjak.testing.json.reportDirectory";
+
+    private static final int INITIAL_STACK_CAPACITY = 32;
+
+    private final int maxDepth;
+    private final Tolerance tolerance;
+    private final Map<String, Rule> rulesByPointer;
+    private final Map<String, Rule> exactRulesByPointer;
+    private final PointerTrie<Rule> rules = new PointerTrie<>();
+    private final Path reportDirectory;
+
+    private JsonComparator(Builder builder) {
+        this.maxDepth = builder.maxDepth;
+        this.tolerance = builder.tolerance;
+        this.reportDirectory = builder.reportDirectory;
+        this.rulesByPointer = new LinkedHashMap<>(builder.rules);
+        this.exactRulesByPointer = new LinkedHashMap<>(builder.exactRules);
+        rulesByPointer.forEach(rules::put);
+        exactRulesByPointer.forEach((pointer, rule) -> rules.put(
+                JsonPointers.tokens(pointer), false, rule));
+    }
+
+    /**
+     * Creates a new builder of a comparator.
+     *
+     * @return The builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a new builder, initialized with the settings of this
+     * comparator.
+     *
+     * @return The builder
+     */
+    Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.maxDepth = maxDepth;
+        builder.tolerance = tolerance;
+        builder.rules.putAll(rulesByPointer);
+        builder.exactRules.putAll(exactRulesByPointer);
+        builder.reportDirectory = reportDirectory;
+        return builder;
+    }
+
+    /**
+     * The maximum nesting depth of compared documents.
+     *
+     * @return The maximum depth
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * The directory of reports of failed assertions. If not set,
+     * the directory of the system property
+     * {@value #REPORT_DIRECTORY_PROPERTY} is used.
+     *
+     * @return The directory, or {@code null} if failures are not reported
+     */
+    public Path getReportDirectory() {
+        if (reportDirectory != null) {
+            return reportDirectory;
+        }
+
+        String property = System.getProperty(REPORT_DIRECTORY_PROPERTY);
+        return property == null || property.isEmpty()
+                ? null
+                : Paths.get(property);
+    }
+
+    /**
+     * Whether two json values are semantically equal.
+     *
+     * @param expected The expected value
+     * @param actual The actual value
+     * @return {@code true} if equal
+     *
+     * @throws org.opentest4j.AssertionFailedError If the maximum depth
+     *      is exceeded
+     */
+    public boolean equals(JsonValue expected, JsonValue actual) {
+        return equals(JsonPath.ROOT, expected, actual);
+    }
+
+    /**
+     * Whether two json values on a path are semantically equal.
+     *
+     * @param path The path of the values
+     * @param expected The expected value
+     * @param actual The actual value
+     * @return {@code true} if equal
+     */
+    boolean equals(JsonPath path, JsonValue expected, JsonValue actual) {
+        if (expected == actual) {
+            return true;
+        }
+
+        if (expected == null || actual == null) {
+            return false;
+        }
+
+        Stack stack = new Stack(path);
+        Context context = context(path);
+        if (context.matcher() != null) {
+            return context.matcher().matches(actual);
+        }
+        if (!enter(stack, expected, actual,
+                context.node, context.tolerance)) {
+            return false;
+        }
+
+        while (stack.size > 0) {
+            int top = stack.size - 1;
+
+            JsonValue e;
+            JsonValue a;
+            String token;
+
+            Iterator<Map.Entry<String, JsonValue>> members =
+                    stack.members[top];
+            if (members != null) {
+                if (!members.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+
+                Map.Entry<String, JsonValue> member = members.next();
+                stack.keys[top] = member.getKey();
+
+                e = member.getValue();
+                a = stack.actual[top].asJsonObject().get(member.getKey());
+
+                if (a == null) {
+                    return false;
+                }
+
+                token = member.getKey();
+            } else {
+                JsonArray expectedArray = stack.expected[top].asJsonArray();
+                int index = stack.indexes[top];
+
+                if (index >= expectedArray.size()) {
+                    stack.pop();
+                    continue;
+                }
+
+                stack.indexes[top] = index + 1;
+
+                e = expectedArray.get(index);
+                a = stack.actual[top].asJsonArray().get(index);
+
+                token = null;
+            }
+
+            PointerTrie.Node<Rule> node = stack.nodes[top];
+            Tolerance t = stack.tolerances[top];
+            if (node != null) {
+                node = node.child(token != null
+                        ? token
+                        : String.valueOf(stack.indexes[top] - 1));
+                if (node != null) {
+                    Rule rule = node.value();
+                    if (rule != null && rule.matcher != null) {
+                        if (!rule.matcher.matches(a)) {
+                            return false;
+                        }
+                        continue;
+                    }
+                    t = tolerance(node, t);
+                }
+            }
+
+            if (!enter(stack, e, a, node, t)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Whether two scalars of the same type on a path are equal.
+     *
+     * @param path The path of the values
+     * @param expected The expected scalar
+     * @param actual The actual scalar
+     * @return {@code true} if equal
+     */
+    boolean scalarEquals(JsonPath path, JsonValue expected, JsonValue actual) {
+        return scalarEquals(expected, actual, context(path).tolerance);
+    }
+
+    /**
+     * The matcher of values on a path.
+     *
+     * @param path The path
+     * @return The matcher or {@code null} if values on the path are
+     *      compared
+     */
+    JsonMatcher matcher(JsonPath path) {
+        return context(path).matcher();
+    }
+
+    /**
+     * Extracts the elements of two arrays of the same size on a path,
+     * if they are numbers, which are all compared the same way.
+     *
+     * @param path The path of the arrays
+     * @param expected The expected array
+     * @param actual The actual array
+     * @return The extracted elements or {@code null} if the arrays are
+     *      not suitable
+     */
+    NumericPair numeric(JsonPath path, JsonArray expected, JsonArray actual) {
+        Context context = context(path);
+        return numeric(expected, actual, context.node, context.tolerance);
+    }
+
+    /**
+     * Whether values are compared exactly, so that equal values have
+     * equal structural hashes.
+     *
+     * @return {@code true} if no tolerance or matcher is set
+     */
+    boolean isExact() {
+        return tolerance == null && rules.isEmpty();
+    }
+
+    /**
+     * Verifies if a container on a path is within the maximum depth.
+     * The root container has depth 1, so its path of depth 0 must be
+     * less than the maximum depth. This applies to every container,
+     * including empty ones.
+     *
+     * @param path The path of the container
+     *
+     * @throws org.opentest4j.AssertionFailedError If the maximum depth
+     *      is exceeded
+     */
+    void checkDepth(JsonPath path) {
+        if (path.depth() >= maxDepth) {
+            throw AssertJson.FailureType.MAX_DEPTH_EXCEEDED.error(
+                    maxDepth, path);
+        }
+    }
+
+    /**
+     * Compares two values, pushing them to the stack if they are
+     * non-empty containers.
+     *
+     * @return {@code false} if the values are known to be different
+     */
+    private boolean enter(
+            Stack stack,
+            JsonValue expected,
+            JsonValue actual,
+            PointerTrie.Node<Rule> node,
+            Tolerance tolerance) {
+
+        if (expected == actual) {
+            return true;
+        }
+
+        JsonValue.ValueType type = expected.getValueType();
+        if (type != actual.getValueType()) {
+            return false;
+        }
+
+        switch (type) {
+            case OBJECT:
+                stack.checkDepth(maxDepth);
+                JsonObject expectedObject = expected.asJsonObject();
+                if (expectedObject.size() != actual.asJsonObject().size()) {
+                    return false;
+                }
+                if (!expectedObject.isEmpty()) {
+                    stack.push(
+                            expected,
+                            actual,
+                            expectedObject.entrySet().iterator(),
+                            node,
+                            tolerance);
+                }
+                return true;
+            case ARRAY:
+                stack.checkDepth(maxDepth);
+                JsonArray expectedArray = expected.asJsonArray();
+                JsonArray actualArray = actual.asJsonArray();
+                if (expectedArray.size() != actualArray.size()) {
+                    return false;
+                }
+                NumericPair numeric = numeric(
+                        expectedArray, actualArray, node, tolerance);
+                if (numeric != null) {
+                    return numeric.mismatch(0) < 0;
+                }
+                if (!expectedArray.isEmpty()) {
+                    stack.push(expected, actual, null, node, tolerance);
+                }
+                return true;
+            default:
+                return scalarEquals(expected, actual, tolerance);
+        }
+    }
+
+    private static boolean scalarEquals(
+            JsonValue expected, JsonValue actual, Tolerance tolerance) {
+
+        if (tolerance != null
+                && expected.getValueType() == JsonValue.ValueType.NUMBER) {
+            return tolerance.test(
+                    ((JsonNumber) expected).doubleValue(),
+                    ((JsonNumber) actual).doubleValue());
+        }
+        return expected.equals(actual);
+    }
+
+    private static NumericPair numeric(
+            JsonArray expected,
+            JsonArray actual,
+            PointerTrie.Node<Rule> node,
+            Tolerance tolerance) {
+
+        if (!NumericArrays.isCandidate(expected)
+                || node != null && !node.isUniform()) {
+            return null;
+        }
+
+        // the elements may only have a common rule of their own
+        PointerTrie.Node<Rule> wildcard = node != null
+                ? node.wildcard()
+                : null;
+        Rule elements = wildcard != null ? wildcard.value() : null;
+        if (elements != null && elements.matcher != null) {
+            return null;
+        }
+        if (elements != null && elements.tolerance != null) {
+            tolerance = elements.tolerance;
+        }
+
+        if (tolerance == null) {
+            long[] e = NumericArrays.longs(expected);
+            long[] a = e != null ? NumericArrays.longs(actual) : null;
+            return a != null ? new NumericPair(e, a) : null;
+        }
+
+        double[] e = NumericArrays.doubles(expected);
+        double[] a = e != null ? NumericArrays.doubles(actual) : null;
+        return a != null ? new NumericPair(e, a, tolerance) : null;
+    }
+
+    /**
+     * Resolves the rules of a path, walking it through the trie.
+     */
+    private Context context(JsonPath path) {
+        if (rules.isEmpty()) {
+            return new Context(null, tolerance);
+        }
+
+        PointerTrie.Node<Rule> node = rules.root();
+        Tolerance t = tolerance(node, tolerance);
+        for (String token : path.tokens()) {
+            node = node.child(token);
+            if (node == null) {
+                break;
+            }
+            t = tolerance(node, t);
+        }
+        return new Context(node, t);
+    }
+
+    private static Tolerance tolerance(
+            PointerTrie.Node<Rule> node, Tolerance inherited) {
+        return node.value() != null && node.value().tolerance != null
+                ? node.value().tolerance
+                : inherited;
+    }
+
+    /**
+     * The node of the trie of rules and the tolerance, which apply
+     * to a path.
+     */
+    private static final class Context {
+
+        private final PointerTrie.Node<Rule> node;
+        private final Tolerance tolerance;
+
+        Context(PointerTrie.Node<Rule> node, Tolerance tolerance) {
+            this.node = node;
+            this.tolerance = tolerance;
+        }
+
+        JsonMatcher matcher() {
+            return node != null && node.value() != null
+                    ? node.value().matcher
+                    : null;
+        }
+    }
+
+    /**
+     * The tolerance and the matcher set for a path.
+     */
+    private static final class Rule {
+
+        private final Tolerance tolerance;
+        private final JsonMatcher matcher;
+
+        Rule(Tolerance tolerance, JsonMatcher matcher) {
+            this.tolerance = tolerance;
+            this.matcher = matcher;
+        }
+
+        Rule with(Rule other) {
+            return new Rule(
+                    other.tolerance != null ? other.tolerance : tolerance,
+                    other.matcher != null ? other.matcher : matcher);
+        }
+    }
+
+    /**
+     * An absolute and a relative tolerance of numbers.
+     */
+    private static final class Tolerance {
+
+        private final double absolute;
+        private final double relative;
+
+        Tolerance(double absolute, double relative) {
+            if (!(absolute >= 0) || !(relative >= 0)) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid tolerance: absolute %s, relative %s",
+                        absolute, relative));
+            }
+            this.absolute = absolute;
+            this.relative = relative;
+        }
+
+        /**
+         * Whether two numbers differ by at most the absolute tolerance,
+         * or by at most the relative tolerance of the larger magnitude.
+         */
+        boolean test(double expected, double actual) {
+            if (expected == actual) {
+                return true;
+            }
+            double difference = Math.abs(expected - actual);
+            return difference <= absolute
+                    || difference <= relative
+                            * Math.max(Math.abs(expected), Math.abs(actual));
+        }
+    }
+
+    /**
+     * Elements of two arrays of numbers of the same size, extracted into
+     * primitive arrays and compared in tight loops.
+     */
+    static final class NumericPair {
+
+        private final long[] expectedLongs;
+        private final long[] actualLongs;
+        private final double[] expectedDoubles;
+        private final double[] actualDoubles;
+        private final Tolerance tolerance;
+
+        private NumericPair(long[] expected, long[] actual) {
+            this.expectedLongs = expected;
+            this.actualLongs = actual;
+            this.expectedDoubles = null;
+            this.actualDoubles = null;
+            this.tolerance = null;
+        }
+
+        private NumericPair(
+                double[] expected, double[] actual, Tolerance tolerance) {
+            this.expectedLongs = null;
+            this.actualLongs = null;
+            this.expectedDoubles = expected;
+            this.actualDoubles = actual;
+            this.tolerance = tolerance;
+        }
+
+        /**
+         * Finds the first index, at which the elements differ.
+         *
+         * @param from The index to start at
+         * @return The index or -1 if there is no mismatch
+         */
+        int mismatch(int from) {
+            if (tolerance == null) {
+                return ArrayMismatch.mismatch(
+                        expectedLongs, actualLongs, from);
+            }
+
+            for (int i = from; i < expectedDoubles.length; i++) {
+                if (!tolerance.test(expectedDoubles[i], actualDoubles[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * A stack of compared containers, backed by arrays.
+     */
+    private static final class Stack {
+
+        private final JsonPath base;
+
+        private JsonValue[] expected = new JsonValue[INITIAL_STACK_CAPACITY];
+        private JsonValue[] actual = new JsonValue[INITIAL_STACK_CAPACITY];
+        private int[] indexes = new int[INITIAL_STACK_CAPACITY];
+        private String[] keys = new String[INITIAL_STACK_CAPACITY];
+        private Tolerance[] tolerances = new Tolerance[INITIAL_STACK_CAPACITY];
+
+        // generic arrays are created as wildcard arrays, which hold
+        // only the elements of the declared type
+        @SuppressWarnings("unchecked")
+        private Iterator<Map.Entry<String, JsonValue>>[] members =
+                (Iterator<Map.Entry<String, JsonValue>>[])
+                        new Iterator<?>[INITIAL_STACK_CAPACITY];
+
+        @SuppressWarnings("unchecked")
+        private PointerTrie.Node<Rule>[] nodes = (PointerTrie.Node<Rule>[])
+                new PointerTrie.Node<?>[INITIAL_STACK_CAPACITY];
+
+        private int size;
+
+        Stack(JsonPath base) {
+            this.base = base;
+        }
+
+        void push(
+                JsonValue e,
+                JsonValue a,
+                Iterator<Map.Entry<String, JsonValue>> m,
+                PointerTrie.Node<Rule> node,
+                Tolerance tolerance) {
+
+            if (size == expected.length) {
+                int capacity = size * 2;
+                expected = Arrays.copyOf(expected, capacity);
+                actual = Arrays.copyOf(actual, capacity);
+                indexes = Arrays.copyOf(indexes, capacity);
+                keys = Arrays.copyOf(keys, capacity);
+                tolerances = Arrays.copyOf(tolerances, capacity);
+                members = Arrays.copyOf(members, capacity);
+                nodes = Arrays.copyOf(nodes, capacity);
+            }
+
+            expected[size] = e;
+            actual[size] = a;
+            indexes[size] = 0;
+            keys[size] = null;
+            tolerances[size] = tolerance;
+            members[size] = m;
+            nodes[size] = node;
+            size++;
+        }
+
+        /**
+         * Verifies if the container, which is currently compared, is
+         * within the maximum depth, the same as
+         * {@link JsonComparator#checkDepth(JsonPath)}.
+         */
+        void checkDepth(int maxDepth) {
+            if (base.depth() + size >= maxDepth) {
+                throw AssertJson.FailureType.MAX_DEPTH_EXCEEDED.error(
+                        maxDepth, path());
+            }
+        }
+
+        void pop() {
+            size--;
+            expected[size] = null;
+            actual[size] = null;
+            members[size] = null;
+            nodes[size] = null;
+        }
+
+        /**
+         * Returns the path of the value, which is currently compared.
+         */
+        JsonPath path() {
+            JsonPath path = base;
+            for (int i = 0; i < size; i++) {
+                path = members[i] != null
+                        ? path.child(keys[i])
+                        : path.child(indexes[i] - 1);
+            }
+            return path;
+        }
+    }
+
+    /**
+     * A builder of a {@link JsonComparator}.
+     */
+    public static final class Builder {
+
+        private int maxDepth = Integer.MAX_VALUE;
+        private Tolerance tolerance;
+        private final Map<String, Rule> rules = new LinkedHashMap<>();
+        private final Map<String, Rule> exactRules = new LinkedHashMap<>();
+        private Path reportDirectory;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum nesting depth of compared documents, which is
+         * the number of nested objects and arrays, including empty ones.
+         * The root object or array has depth 1, so no document is within
+         * depth 0. Comparison of deeper documents fails. Unlimited by
+         * default.
+         *
+         * @param maxDepth The maximum depth
+         * @return This builder
+         *
+         * @throws IllegalArgumentException If maxDepth is negative
+         */
+        public Builder maxDepth(int maxDepth) {
+            if (maxDepth < 0) {
+                throw new IllegalArgumentException(
+                        "Negative max depth: " + maxDepth);
+            }
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * Sets the tolerance of all numbers. Two numbers are equal if
+         * they differ by at most the absolute tolerance, or by at most
+         * the relative tolerance of the larger magnitude. Numbers are
+         * compared exactly by default.
+         *
+         * @param absolute The absolute tolerance
+         * @param relative The relative tolerance
+         * @return This builder
+         *
+         * @throws IllegalArgumentException If a tolerance is negative
+         */
+        public Builder tolerance(double absolute, double relative) {
+            this.tolerance = new Tolerance(absolute, relative);
+            return this;
+        }
+
+        /**
+         * Sets the tolerance of numbers on a path and nested in it,
+         * overriding the tolerance of enclosing paths. A token {@code *}
+         * matches any member key or array index, unless another token
+         * matches exactly.
+         *
+         * @param pointer The JSON Pointer of the path
+         * @param absolute The absolute tolerance
+         * @param relative The relative tolerance
+         * @return This builder
+         *
+         * @throws IllegalArgumentException If the pointer is not valid
+         *      or a tolerance is negative
+         *
+         * @see #tolerance(double, double)
+         */
+        public Builder tolerance(
+                String pointer, double absolute, double relative) {
+            return rule(pointer, new Rule(
+                    new Tolerance(absolute, relative), null));
+        }
+
+        /**
+         * Sets the matcher of values on a path. An actual value on
+         * the path is matched instead of being compared with the expected
+         * value, which must still be present. A token {@code *} matches
+         * any member key or array index, unless another token matches
+         * exactly.
+         *
+         * @param pointer The JSON Pointer of the path
+         * @param matcher The matcher
+         * @return This builder
+         *
+         * @throws IllegalArgumentException If the pointer is not valid
+         * @throws NullPointerException If matcher is null
+         */
+        public Builder matcher(String pointer, JsonMatcher matcher) {
+            return rule(pointer, new Rule(
+                    null, Objects.requireNonNull(matcher)));
+        }
+
+        /**
+         * Sets the matcher of values on an exact path, where a token
+         * {@code *} is a member key rather than the wildcard.
+         *
+         * @param path The path
+         * @param matcher The matcher
+         * @return This builder
+         *
+         * @throws NullPointerException If matcher is null
+         */
+        Builder matcher(JsonPath path, JsonMatcher matcher) {
+            exactRules.merge(
+                    path.toString(),
+                    new Rule(null, Objects.requireNonNull(matcher)),
+                    Rule::with);
+            return this;
+        }
+
+        /**
+         * Sets the directory of reports of failed assertions, such as
+         * {@code target/json-diff}. A failed assertion then writes all
+         * differences into the directory, as a JSON Patch file and as
+         * an HTML file, which shows expected and actual values side by
+         * side. Differences are written as they are found, so memory
+         * stays bounded. The failure contains only a summary and
+         * the paths of the files.
+         *
+         * @param directory The directory, created if it does not exist
+         * @return This builder
+         *
+         * @throws NullPointerException If directory is null
+         */
+        public Builder report(Path directory) {
+            this.reportDirectory = Objects.requireNonNull(directory);
+            return this;
+        }
+
+        private Builder rule(String pointer, Rule rule) {
+            JsonPointers.tokens(pointer);
+            rules.merge(pointer, rule, Rule::with);
+            return this;
+        }
+
+        /**
+         * Builds the comparator.
+         *
+         * @return The comparator
+         */
+        public JsonComparator build() {
+            return new JsonComparator(this);
+        }
+    }
+}
@@ -0,0 +1,555 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Computes differences between two json documents as JSON Patch
+ * (RFC 6902) operations, which transform the expected document into
+ * the actual one when applied in the given order.
+ *
+ * <p>Arrays are compared with the Myers O(ND) difference algorithm on
+ * structural hashes of their elements, so an inserted or a removed
+ * element is reported as a single operation. Removed and inserted
+ * elements at the same position are compared recursively. Arrays of
+ * integral numbers, or of numbers within a tolerance, of the same size
+ * are compared by indexes.</p>
+ *
+ * <p>With an exact comparator, the subtrees of the documents are
+ * compared by their structural hashes first. A subtree with an equal
+ * hash is only confirmed to be equal, without being diffed, so only
+ * subtrees with different hashes are descended into. Hashes of
+ * containers are kept for a single diff, so each is computed once.</p>
+ *
+ * <p>Documents are traversed iteratively, so deeply nested documents
+ * are compared in constant thread stack space.</p>
+ *
+ * <p>Operations are passed to a consumer as soon as they are found.
+ * Besides standard members, a {@code replace} and a {@code remove}
+ * operation contain the replaced or removed expected value as
+ * {@value DiffParser#EXPECTED}, since its path in the expected document
+ * may have shifted by preceding operations. Rules of the comparator are
+ * looked up on the paths in the expected document, not on the shifted
+ * paths of the operations.</p>
+ */
+class JsonDiff {
+
+    /**
+     * Edit distance, beyond which the elements of an array are
+     * compared by their indexes instead.
+     */
+    static final int MAX_EDIT_DISTANCE = 1024;
+
+    private final JsonComparator comparator;
+    private final Consumer<JsonObject> sink;
+    private final Deque<Task> tasks = new ArrayDeque<>();
+    private final Map<JsonValue, Long> hashes = new IdentityHashMap<>();
+
+    private JsonDiff(JsonComparator comparator, Consumer<JsonObject> sink) {
+        this.comparator = comparator;
+        this.sink = sink;
+    }
+
+    /**
+     * Computes differences between two documents.
+     *
+     * @param expected The expected document
+     * @param actual The actual document
+     * @param sink The consumer of the operations
+     */
+    static void diff(
+            JsonValue expected,
+            JsonValue actual,
+            Consumer<JsonObject> sink) {
+        diff(expected, actual, JsonComparator.DEFAULT, sink);
+    }
+
+    /**
+     * Computes differences between two documents.
+     *
+     * @param expected The expected document
+     * @param actual The actual document
+     * @param comparator The comparator of values
+     * @param sink The consumer of the operations
+     */
+    static void diff(
+            JsonValue expected,
+            JsonValue actual,
+            JsonComparator comparator,
+            Consumer<JsonObject> sink) {
+        new JsonDiff(comparator, sink).run(expected, actual);
+    }
+
+    private void run(JsonValue expected, JsonValue actual) {
+        tasks.push(new Task(
+                null, JsonPath.ROOT, JsonPath.ROOT, expected, actual));
+
+        while (!tasks.isEmpty()) {
+            Task task = tasks.pop();
+
+            if (task.operation == null) {
+                diff(task.path, task.expectedPath,
+                        task.expected, task.actual);
+            } else if (task.operation == JsonPatch.Operation.REMOVE) {
+                remove(task.path, task.expected);
+            } else {
+                add(task.path, task.actual);
+            }
+        }
+    }
+
+    /**
+     * Compares two values. Operations are reported on the path, while
+     * rules are looked up on the path of the expected value.
+     */
+    private void diff(
+            JsonPath path,
+            JsonPath expectedPath,
+            JsonValue expected,
+            JsonValue actual) {
+
+        if (expected == actual) {
+            return;
+        }
+
+        JsonMatcher matcher = comparator.isExact()
+                ? null
+                : comparator.matcher(expectedPath);
+        if (matcher != null) {
+            if (!matcher.matches(actual)) {
+                replace(path, expected, actual);
+            }
+            return;
+        }
+
+        JsonValue.ValueType type = expected.getValueType();
+
+        if (type != actual.getValueType()) {
+            replace(path, expected, actual);
+        } else if (isContainer(type)
+                && comparator.isExact()
+                && equals(expectedPath, expected, actual)) {
+            return;
+        } else if (type == JsonValue.ValueType.OBJECT) {
+            comparator.checkDepth(expectedPath);
+            diffObject(path, expectedPath,
+                    expected.asJsonObject(), actual.asJsonObject());
+        } else if (type == JsonValue.ValueType.ARRAY) {
+            comparator.checkDepth(expectedPath);
+            diffArray(path, expectedPath,
+                    expected.asJsonArray(), actual.asJsonArray());
+        } else if (!comparator.scalarEquals(expectedPath, expected, actual)) {
+            replace(path, expected, actual);
+        }
+    }
+
+    private void diffObject(
+            JsonPath path,
+            JsonPath expectedPath,
+            JsonObject expected,
+            JsonObject actual) {
+
+        List<Task> children = new ArrayList<>();
+
+        for (Map.Entry<String, JsonValue> e : expected.entrySet()) {
+            JsonValue actualValue = actual.get(e.getKey());
+            JsonPath memberPath = path.child(e.getKey());
+            JsonPath expectedMemberPath = expectedPath.child(e.getKey());
+
+            children.add(actualValue == null
+                    ? new Task(JsonPatch.Operation.REMOVE,
+                            memberPath, expectedMemberPath,
+                            e.getValue(), null)
+                    : new Task(null,
+                            memberPath, expectedMemberPath,
+                            e.getValue(), actualValue));
+        }
+
+        for (Map.Entry<String, JsonValue> e : actual.entrySet()) {
+            if (!expected.containsKey(e.getKey())) {
+                JsonPath memberPath = path.child(e.getKey());
+                children.add(new Task(
+                        JsonPatch.Operation.ADD,
+                        memberPath, memberPath, null, e.getValue()));
+            }
+        }
+
+        schedule(children);
+    }
+
+    private void diffArray(
+            JsonPath path,
+            JsonPath expectedPath,
+            JsonArray expected,
+            JsonArray actual) {
+
+        int n = expected.size();
+        int m = actual.size();
+
+        if (n == m) {
+            JsonComparator.NumericPair numeric =
+                    comparator.numeric(expectedPath, expected, actual);
+            if (numeric != null) {
+                diffNumbers(path, expected, actual, numeric);
+                return;
+            }
+        }
+
+        int start = 0;
+        while (start < n && start < m
+                && equals(expectedPath.child(start),
+                        expected.get(start), actual.get(start))) {
+            start++;
+        }
+
+        int endE = n;
+        int endA = m;
+        while (endE > start && endA > start
+                && equals(expectedPath.child(endE - 1),
+                        expected.get(endE - 1), actual.get(endA - 1))) {
+            endE--;
+            endA--;
+        }
+
+        Hunks hunks = new Hunks();
+
+        if (endE - start > 0 && endA - start > 0) {
+            List<JsonValue> e = expected.subList(start, endE);
+            List<JsonValue> a = actual.subList(start, endA);
+
+            int offset = start;
+            boolean found = Myers.script(
+                    hashes(e),
+                    hashes(a),
+                    (x, y) -> equals(
+                            expectedPath.child(offset + x),
+                            e.get(x), a.get(y)),
+                    hunks);
+
+            if (!found) {
+                hunks = new Hunks();
+                hunks.change(0, e.size(), 0, a.size());
+            }
+        } else {
+            hunks.change(0, endE - start, 0, endA - start);
+        }
+
+        List<Task> children = new ArrayList<>();
+
+        int index = start;
+        for (int[] hunk : hunks.list) {
+            index += hunk[0];
+
+            int deleted = hunk[2] - hunk[1];
+            int inserted = hunk[4] - hunk[3];
+            int paired = Math.min(deleted, inserted);
+
+            for (int p = 0; p < paired; p++) {
+                int e = start + hunk[1] + p;
+                children.add(new Task(
+                        null,
+                        path.child(index),
+                        expectedPath.child(e),
+                        expected.get(e),
+                        actual.get(start + hunk[3] + p)));
+                index++;
+            }
+
+            for (int p = paired; p < deleted; p++) {
+                int e = start + hunk[1] + p;
+                children.add(new Task(
+                        JsonPatch.Operation.REMOVE,
+                        path.child(index),
+                        expectedPath.child(e),
+                        expected.get(e),
+                        null));
+            }
+
+            for (int p = paired; p < inserted; p++) {
+                children.add(new Task(
+                        JsonPatch.Operation.ADD,
+                        path.child(index),
+                        path.child(index),
+                        null,
+                        actual.get(start + hunk[3] + p)));
+                index++;
+            }
+        }
+
+        schedule(children);
+    }
+
+    /**
+     * Compares arrays of numbers of the same size by indexes, so each
+     * differing element is reported as a replacement.
+     */
+    private void diffNumbers(
+            JsonPath path,
+            JsonArray expected,
+            JsonArray actual,
+            JsonComparator.NumericPair numeric) {
+
+        for (int i = numeric.mismatch(0);
+                i >= 0;
+                i = numeric.mismatch(i + 1)) {
+            replace(path.child(i), expected.get(i), actual.get(i));
+        }
+    }
+
+    /**
+     * Whether two values on a path are equal. Structural hashes are
+     * compared first, so a different value is mostly rejected without
+     * being traversed, while equal values are not diffed any further.
+     */
+    private boolean equals(
+            JsonPath path, JsonValue expected, JsonValue actual) {
+        return hash(expected) == hash(actual)
+                && comparator.equals(path, expected, actual);
+    }
+
+    /**
+     * The structural hash of a value. Hashes of containers are cached,
+     * so each nested container is hashed once per diff. Numbers within
+     * a tolerance may have different hashes, so values are not hashed
+     * unless the comparator is exact.
+     */
+    private long hash(JsonValue value) {
+        return comparator.isExact() ? StructuralHash.of(value, hashes) : 0;
+    }
+
+    private long[] hashes(List<JsonValue> values) {
+        long[] result = new long[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = hash(values.get(i));
+        }
+        return result;
+    }
+
+    private static boolean isContainer(JsonValue.ValueType type) {
+        return type == JsonValue.ValueType.OBJECT
+                || type == JsonValue.ValueType.ARRAY;
+    }
+
+    /**
+     * Schedules tasks to run next, in the given order.
+     */
+    private void schedule(List<Task> children) {
+        for (int i = children.size() - 1; i >= 0; i--) {
+            tasks.push(children.get(i));
+        }
+    }
+
+    private void replace(
+            JsonPath path, JsonValue expected, JsonValue actual) {
+        sink.accept(Json.createObjectBuilder()
+                .add(DiffParser.OPERATION,
+                        JsonPatch.Operation.REPLACE.operationName())
+                .add(DiffParser.PATH, path.toString())
+                .add(DiffParser.VALUE, actual)
+                .add(DiffParser.EXPECTED, expected)
+                .build());
+    }
+
+    private void remove(JsonPath path, JsonValue expected) {
+        sink.accept(Json.createObjectBuilder()
+                .add(DiffParser.OPERATION,
+                        JsonPatch.Operation.REMOVE.operationName())
+                .add(DiffParser.PATH, path.toString())
+                .add(DiffParser.EXPECTED, expected)
+                .build());
+    }
+
+    private void add(JsonPath path, JsonValue actual) {
+        sink.accept(Json.createObjectBuilder()
+                .add(DiffParser.OPERATION,
+                        JsonPatch.Operation.ADD.operationName())
+                .add(DiffParser.PATH, path.toString())
+                .add(DiffParser.VALUE, actual)
+                .build());
+    }
+
+    /**
+     * A pending comparison of two values, or a pending operation.
+     */
+    private static final class Task {
+
+        private final JsonPatch.Operation operation;
+        private final JsonPath path;
+        private final JsonPath expectedPath;
+        private final JsonValue expected;
+        private final JsonValue actual;
+
+        Task(
+                JsonPatch.Operation operation,
+                JsonPath path,
+                JsonPath expectedPath,
+                JsonValue expected,
+                JsonValue actual) {
+            this.operation = operation;
+            this.path = path;
+            this.expectedPath = expectedPath;
+            this.expected = expected;
+            this.actual = actual;
+        }
+    }
+
+    /**
+     * Regions of differences between two sequences, in order.
+     *
+     * <p>A hunk is {@code {equalBefore, deleteFrom, deleteTo, insertFrom,
+     * insertTo}}, where {@code equalBefore} is the number of equal
+     * elements preceding the hunk, relative to the previous hunk.</p>
+     */
+    static final class Hunks {
+
+        private final List<int[]> list = new ArrayList<>();
+        private int lastE;
+
+        void change(
+                int deleteFrom, int deleteTo, int insertFrom, int insertTo) {
+            if (deleteFrom == deleteTo && insertFrom == insertTo) {
+                return;
+            }
+
+            list.add(new int[] {
+                    deleteFrom - lastE,
+                    deleteFrom, deleteTo,
+                    insertFrom, insertTo});
+            lastE = deleteTo;
+        }
+    }
+
+    /**
+     * The Myers O(ND) difference algorithm.
+     */
+    static final class Myers {
+
+        private Myers() {
+        }
+
+        /**
+         * Computes the shortest edit script between two sequences.
+         *
+         * @param he The hashes of the expected sequence
+         * @param ha The hashes of the actual sequence
+         * @param equality The confirmation of elements with equal hashes,
+         *      by their indexes
+         * @param hunks The hunks to fill
+         * @return {@code false} if the edit distance exceeds
+         *      {@link JsonDiff#MAX_EDIT_DISTANCE}
+         */
+        static boolean script(
+                long[] he,
+                long[] ha,
+                Equality equality,
+                Hunks hunks) {
+
+            int n = he.length;
+            int m = ha.length;
+
+            int max = Math.min(n + m, MAX_EDIT_DISTANCE);
+            int offset = max + 1;
+            int[] v = new int[2 * max + 3];
+            List<int[]> trace = new ArrayList<>();
+
+            int d = 0;
+            found:
+            for (; d <= max; d++) {
+                int[] snapshot = new int[2 * d + 3];
+                System.arraycopy(v, offset - d - 1, snapshot, 0, 2 * d + 3);
+                trace.add(snapshot);
+
+                for (int k = -d; k <= d; k += 2) {
+                    int x = k == -d || k != d
+                            && v[offset + k - 1] < v[offset + k + 1]
+                            ? v[offset + k + 1]
+                            : v[offset + k - 1] + 1;
+                    int y = x - k;
+
+                    while (x < n && y < m && he[x] == ha[y]
+                            && equality.test(x, y)) {
+                        x++;
+                        y++;
+                    }
+
+                    v[offset + k] = x;
+
+                    if (x >= n && y >= m) {
+                        break found;
+                    }
+                }
+            }
+
+            if (d > max) {
+                return false;
+            }
+
+            // backtrack, collecting edits from the end
+            List<int[]> reversed = new ArrayList<>();
+            int x = n;
+            int y = m;
+            for (; d > 0; d--) {
+                int[] w = trace.get(d);
+                int k = x - y;
+                int prevK = k == -d || k != d
+                        && w[k - 1 + d + 1] < w[k + 1 + d + 1]
+                        ? k + 1
+                        : k - 1;
+                int prevX = w[prevK + d + 1];
+                int prevY = prevX - prevK;
+
+                while (x > prevX && y > prevY) {
+                    x--;
+                    y--;
+                }
+
+                if (x == prevX) {
+                    reversed.add(new int[] {x, x, prevY, y});
+                } else {
+                    reversed.add(new int[] {prevX, x, y, y});
+                }
+
+                x = prevX;
+                y = prevY;
+            }
+
+            // merge adjacent edits into hunks
+            int[] current = null;
+            for (int i = reversed.size() - 1; i >= 0; i--) {
+                int[] edit = reversed.get(i);
+                if (current != null
+                        && current[1] == edit[0] && current[3] == edit[2]) {
+                    current[1] = edit[1];
+                    current[3] = edit[3];
+                } else {
+                    if (current != null) {
+                        hunks.change(
+                                current[0], current[1],
+                                current[2], current[3]);
+                    }
+                    current = edit.clone();
+                }
+            }
+            if (current != null) {
+                hunks.change(current[0], current[1], current[2], current[3]);
+            }
+
+            return true;
+        }
+
+        /**
+         * The equality of two elements, identified by their indexes.
+         */
+        @FunctionalInterface
+        interface Equality {
+
+            boolean test(int expected, int actual);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A flattened index of a document, which maps the JSON Pointer of each
+ * value in the document to the value.
+ *
+ * <p>The index is built once, by a single iterative traversal, so that
+ * any number of property assertions on the same document look up their
+ * values in constant time instead of walking the document again:</p>
+ * <pre>
+ * JsonIndex index = AssertJson.index(actual);
+ *
+ * AssertJson.assertContainsProperty("\"John Doe\"", "/name", index);
+ * AssertJson.assertContainsProperty("30", "/age", index);
+ * </pre>
+ *
+ * <p>Documents are immutable, so an index is immutable and
+ * thread-safe as well.</p>
+ */
+public final class JsonIndex {
+
+    private final JsonStructure document;
+    private final Map<String, JsonValue> values;
+
+    private JsonIndex(JsonStructure document) {
+        this.document = document;
+        this.values = new HashMap<>();
+        index();
+    }
+
+    /**
+     * Builds the index of a document.
+     *
+     * @param document The document
+     * @return The index
+     *
+     * @throws NullPointerException If document is null
+     */
+    static JsonIndex of(JsonStructure document) {
+        return new JsonIndex(Objects.requireNonNull(document));
+    }
+
+    private void index() {
+        Deque<String> pointers = new ArrayDeque<>();
+        Deque<JsonValue> pending = new ArrayDeque<>();
+        pointers.push(JsonPointers.ROOT);
+        pending.push(document);
+
+        while (!pending.isEmpty()) {
+            String pointer = pointers.pop();
+            JsonValue value = pending.pop();
+            values.put(pointer, value);
+
+            if (value.getValueType() == JsonValue.ValueType.OBJECT) {
+                for (Map.Entry<String, JsonValue> e
+                        : value.asJsonObject().entrySet()) {
+                    pointers.push(JsonPointers.append(pointer, e.getKey()));
+                    pending.push(e.getValue());
+                }
+            } else if (value.getValueType() == JsonValue.ValueType.ARRAY) {
+                JsonArray array = value.asJsonArray();
+                for (int i = 0; i < array.size(); i++) {
+                    pointers.push(JsonPointers.append(pointer, i));
+                    pending.push(array.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * The indexed document.
+     *
+     * @return The document
+     */
+    public JsonStructure getDocument() {
+        return document;
+    }
+
+    /**
+     * The number of indexed values, including the document itself.
+     *
+     * @return The number of values
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Whether the document contains a value on a path.
+     *
+     * @param pointer The JSON Pointer of the path
+     * @return {@code true} if the value exists
+     *
+     * @throws JsonException If pointer is not a valid pointer
+     */
+    public boolean contains(String pointer) {
+        return get(pointer) != null;
+    }
+
+    /**
+     * Gets the value on a path.
+     *
+     * @param pointer The JSON Pointer of the path
+     * @return The value or {@code null} if there is no value on the path
+     *
+     * @throws JsonException If pointer is not a valid pointer
+     */
+    public JsonValue get(String pointer) {
+        return values.get(validate(pointer));
+    }
+
+    /**
+     * Finds the values on paths matching a pattern, which is a JSON
+     * Pointer, where a token {@code *} matches any member key or array
+     * index. The values are looked up token by token, so only the
+     * matching paths are visited.
+     *
+     * @param pattern The pattern
+     * @return The values by their JSON Pointers
+     *
+     * @throws JsonException If pattern is not a valid pointer
+     */
+    public Map<String, JsonValue> find(String pattern) {
+        List<String> matched = new ArrayList<>();
+        matched.add(JsonPointers.ROOT);
+
+        for (String token : JsonPointers.tokens(validate(pattern))) {
+            List<String> next = new ArrayList<>();
+            for (String pointer : matched) {
+                if (!PointerTrie.WILDCARD.equals(token)) {
+                    String child = JsonPointers.append(pointer, token);
+                    if (values.containsKey(child)) {
+                        next.add(child);
+                    }
+                    continue;
+                }
+
+                JsonValue value = values.get(pointer);
+                if (value instanceof JsonObject) {
+                    for (String key : ((JsonObject) value).keySet()) {
+                        next.add(JsonPointers.append(pointer, key));
+                    }
+                } else if (value instanceof JsonArray) {
+                    int size = ((JsonArray) value).size();
+                    for (int i = 0; i < size; i++) {
+                        next.add(JsonPointers.append(pointer, i));
+                    }
+                }
+            }
+            matched = next;
+        }
+
+        Map<String, JsonValue> result = new LinkedHashMap<>();
+        for (String pointer : matched) {
+            result.put(pointer, values.get(pointer));
+        }
+        return result;
+    }
+
+    private static String validate(String pointer) {
+        if (!pointer.isEmpty() && pointer.charAt(0) != '/') {
+            throw new JsonException("Invalid JSON pointer: " + pointer);
+        }
+        return pointer;
+    }
+}
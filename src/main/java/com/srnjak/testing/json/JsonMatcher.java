@@ -0,0 +1,119 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A matcher of an actual json value, used instead of a literal expected
+ * value, such as of a generated id or a timestamp.
+ *
+ * <p>Matchers are attached to paths of a {@link JsonComparator}
+ * or passed to
+ * {@link AssertJson#assertContainsProperty(JsonMatcher, String,
+ * jakarta.json.JsonStructure)}. A matcher is created once per
+ * expectation and can be reused by any number of comparisons.</p>
+ */
+@FunctionalInterface
+public interface JsonMatcher {
+
+    /**
+     * Whether an actual value matches.
+     *
+     * @param actual The actual value
+     * @return {@code true} if it matches
+     */
+    boolean matches(JsonValue actual);
+
+    /**
+     * Creates a matcher of strings, which entirely match a regular
+     * expression. The expression is compiled once.
+     *
+     * @param regex The regular expression
+     * @return The matcher
+     *
+     * @throws java.util.regex.PatternSyntaxException If the expression
+     *      is not valid
+     */
+    static JsonMatcher regex(String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        return describe(
+                v -> v.getValueType() == JsonValue.ValueType.STRING
+                        && pattern.matcher(((JsonString) v).getString())
+                                .matches(),
+                "string matching " + pattern);
+    }
+
+    /**
+     * Creates a matcher of numbers within an inclusive range.
+     *
+     * @param min The minimum or {@code null} if unbounded
+     * @param max The maximum or {@code null} if unbounded
+     * @return The matcher
+     */
+    static JsonMatcher range(BigDecimal min, BigDecimal max) {
+        return describe(
+                v -> {
+                    if (v.getValueType() != JsonValue.ValueType.NUMBER) {
+                        return false;
+                    }
+                    BigDecimal n = ((JsonNumber) v).bigDecimalValue();
+                    return (min == null || n.compareTo(min) >= 0)
+                            && (max == null || n.compareTo(max) <= 0);
+                },
+                String.format("number in [%s, %s]",
+                        min != null ? min : "-inf",
+                        max != null ? max : "inf"));
+    }
+
+    /**
+     * Creates a matcher of numbers within an inclusive range.
+     *
+     * @param min The minimum
+     * @param max The maximum
+     * @return The matcher
+     */
+    static JsonMatcher range(long min, long max) {
+        return range(BigDecimal.valueOf(min), BigDecimal.valueOf(max));
+    }
+
+    /**
+     * Creates a matcher of values satisfying a predicate. Its description
+     * is the neutral {@code "a predicate"}, since a lambda has no readable
+     * text; use {@link #describe(JsonMatcher, String)} for a meaningful
+     * one.
+     *
+     * @param predicate The predicate
+     * @return The matcher
+     */
+    static JsonMatcher of(Predicate<JsonValue> predicate) {
+        Objects.requireNonNull(predicate);
+        return describe(predicate::test, "a predicate");
+    }
+
+    /**
+     * Gives a matcher a description, used in failure messages.
+     *
+     * @param matcher The matcher
+     * @param description The description
+     * @return The described matcher
+     */
+    static JsonMatcher describe(JsonMatcher matcher, String description) {
+        Objects.requireNonNull(matcher);
+        return new JsonMatcher() {
+            @Override
+            public boolean matches(JsonValue actual) {
+                return matcher.matches(actual);
+            }
+
+            @Override
+            public String toString() {
+                return description;
+            }
+        };
+    }
+}
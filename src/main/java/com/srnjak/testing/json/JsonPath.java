@@ -0,0 +1,118 @@
+package com.srnjak.testing.json;
+
+/**
+ * An immutable path to a value within a json document, linked to
+ * the path of its parent. Creating a child path is cheap, while
+ * the JSON Pointer string is built only when requested.
+ */
+final class JsonPath {
+
+    static final JsonPath ROOT = new JsonPath(null, null, -1);
+
+    private final JsonPath parent;
+    private final String key;
+    private final int index;
+    private final int depth;
+
+    private JsonPath(JsonPath parent, String key, int index) {
+        this.parent = parent;
+        this.key = key;
+        this.index = index;
+        this.depth = parent == null ? 0 : parent.depth + 1;
+    }
+
+    /**
+     * Creates a path of an object member.
+     *
+     * @param key The key of the member
+     * @return The path of the member
+     */
+    JsonPath child(String key) {
+        return new JsonPath(this, key, -1);
+    }
+
+    /**
+     * Creates a path of an array element.
+     *
+     * @param index The index of the element
+     * @return The path of the element
+     */
+    JsonPath child(int index) {
+        return new JsonPath(this, null, index);
+    }
+
+    /**
+     * The number of tokens of this path.
+     *
+     * @return The depth
+     */
+    int depth() {
+        return depth;
+    }
+
+    /**
+     * The parent path.
+     *
+     * @return The parent path or {@code null} for the root
+     */
+    JsonPath parent() {
+        return parent;
+    }
+
+    /**
+     * The last token of this path, unescaped.
+     *
+     * @return The last token or {@code null} for the root
+     */
+    String token() {
+        return parent == null
+                ? null
+                : key != null ? key : String.valueOf(index);
+    }
+
+    /**
+     * Whether the last token of this path is an array index.
+     *
+     * @return {@code true} if it is an array index
+     */
+    boolean isIndex() {
+        return parent != null && key == null;
+    }
+
+    /**
+     * The unescaped tokens of this path, from the root.
+     *
+     * @return The tokens
+     */
+    String[] tokens() {
+        String[] tokens = new String[depth];
+        for (JsonPath p = this; p.parent != null; p = p.parent) {
+            tokens[p.depth - 1] = p.token();
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the JSON Pointer of this path.
+     *
+     * @return The JSON Pointer
+     */
+    @Override
+    public String toString() {
+        JsonPath[] tokens = new JsonPath[depth];
+        for (JsonPath p = this; p.parent != null; p = p.parent) {
+            tokens[p.depth - 1] = p;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (JsonPath p : tokens) {
+            sb.append('/');
+            if (p.key != null) {
+                sb.append(JsonPointers.escape(p.key));
+            } else {
+                sb.append(p.index);
+            }
+        }
+        return sb.toString();
+    }
+}
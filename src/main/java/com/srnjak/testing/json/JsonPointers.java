@@ -0,0 +1,88 @@
+package com.srnjak.testing.json;
+
+/**
+ * Helpers for building JSON Pointer (RFC 6901) strings.
+ */
+class JsonPointers {
+
+    static final String ROOT = "";
+
+    private JsonPointers() {
+    }
+
+    /**
+     * Escapes a reference token.
+     *
+     * @param token The unescaped token
+     * @return The escaped token
+     */
+    static String escape(String token) {
+        if (token.indexOf('~') < 0 && token.indexOf('/') < 0) {
+            return token;
+        }
+
+        return token.replace("~", "~0").replace("/", "~1");
+    }
+
+    /**
+     * Unescapes a reference token.
+     *
+     * @param token The escaped token
+     * @return The unescaped token
+     */
+    static String unescape(String token) {
+        if (token.indexOf('~') < 0) {
+            return token;
+        }
+
+        return token.replace("~1", "/").replace("~0", "~");
+    }
+
+    /**
+     * Appends an object key to a pointer.
+     *
+     * @param pointer The parent pointer
+     * @param key The unescaped object key
+     * @return The child pointer
+     */
+    static String append(String pointer, String key) {
+        return pointer + "/" + escape(key);
+    }
+
+    /**
+     * Appends an array index to a pointer.
+     *
+     * @param pointer The parent pointer
+     * @param index The array index
+     * @return The child pointer
+     */
+    static String append(String pointer, int index) {
+        return pointer + "/" + index;
+    }
+
+    /**
+     * Splits a pointer into its unescaped reference tokens.
+     *
+     * @param pointer The pointer
+     * @return The unescaped tokens
+     *
+     * @throws IllegalArgumentException If pointer is not a valid pointer
+     */
+    static String[] tokens(String pointer) {
+        if (pointer.isEmpty()) {
+            return new String[0];
+        }
+
+        if (pointer.charAt(0) != '/') {
+            throw new IllegalArgumentException(
+                    "Invalid JSON pointer: " + pointer);
+        }
+
+        String[] tokens = pointer.substring(1).split("/", -1);
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = unescape(tokens[i]);
+        }
+
+        return tokens;
+    }
+}
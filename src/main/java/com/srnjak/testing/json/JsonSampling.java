@@ -0,0 +1,223 @@
+package com.srnjak.testing.json;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A stratified sampling of array elements, which verifies only a part
+ * of large arrays.
+ *
+ * <p>The first {@link #getHead()} and the last {@link #getTail()}
+ * elements of an array are always sampled. The elements in between are
+ * divided into equal strata, one for each sampled element, so that
+ * the sampled elements are spread evenly over the array. An element
+ * of each stratum is chosen randomly.</p>
+ *
+ * <p>The choice is determined by the seed and by the path of the array,
+ * so a failed verification is reproduced with the same seed, which
+ * is included in its message. Arrays no larger than the head and
+ * the tail together are verified entirely.</p>
+ *
+ * <p>An instance is immutable and thread-safe. It is created with
+ * a {@link Builder}:</p>
+ * <pre>
+ * JsonSampling sampling = JsonSampling.builder()
+ *         .rate(0.01)
+ *         .seed(42)
+ *         .build();
+ *
+ * AssertJson.assertEquals(expected, actual, sampling);
+ * </pre>
+ */
+public final class JsonSampling {
+
+    private final double rate;
+    private final long seed;
+    private final int head;
+    private final int tail;
+
+    private JsonSampling(Builder builder) {
+        this.rate = builder.rate;
+        this.seed = builder.seed != null
+                ? builder.seed
+                : ThreadLocalRandom.current().nextLong();
+        this.head = builder.head;
+        this.tail = builder.tail;
+    }
+
+    /**
+     * Creates a new builder of a sampling.
+     *
+     * @return The builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The rate of sampled elements between the head and the tail.
+     *
+     * @return The rate
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * The seed of the random choice of sampled elements.
+     *
+     * @return The seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * The number of first elements, which are always sampled.
+     *
+     * @return The number of elements
+     */
+    public int getHead() {
+        return head;
+    }
+
+    /**
+     * The number of last elements, which are always sampled.
+     *
+     * @return The number of elements
+     */
+    public int getTail() {
+        return tail;
+    }
+
+    /**
+     * Chooses the sampled indexes of an array.
+     *
+     * @param path The path of the array
+     * @param size The size of the array
+     * @return The sampled indexes in ascending order
+     */
+    int[] indexes(JsonPath path, int size) {
+        long remaining = (long) size - head - tail;
+        if (remaining <= 0) {
+            int[] all = new int[size];
+            for (int i = 0; i < size; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int middle = (int) remaining;
+        int strata = (int) Math.min(middle, Math.ceil(middle * rate));
+        int[] result = new int[head + strata + tail];
+        int n = 0;
+
+        for (int i = 0; i < head; i++) {
+            result[n++] = i;
+        }
+
+        SplittableRandom random = new SplittableRandom(
+                seed ^ StructuralHash.of(path.toString()));
+        for (int s = 0; s < strata; s++) {
+            long from = head + (long) middle * s / strata;
+            long to = head + (long) middle * (s + 1) / strata;
+            result[n++] = (int) from + random.nextInt((int) (to - from));
+        }
+
+        for (int i = size - tail; i < size; i++) {
+            result[n++] = i;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "rate " + rate + " and seed " + seed;
+    }
+
+    /**
+     * A builder of a {@link JsonSampling}.
+     */
+    public static final class Builder {
+
+        private double rate = 0.01;
+        private Long seed;
+        private int head = 10;
+        private int tail = 10;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the rate of sampled elements between the head and
+         * the tail of an array. 0.01 by default.
+         *
+         * @param rate The rate, greater than 0 and at most 1
+         * @return This builder
+         *
+         * @throws IllegalArgumentException If the rate is out of range
+         */
+        public Builder rate(double rate) {
+            if (!(rate > 0 && rate <= 1)) {
+                throw new IllegalArgumentException("Invalid rate: " + rate);
+            }
+            this.rate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the seed of the random choice of sampled elements.
+         * A random seed by default.
+         *
+         * @param seed The seed
+         * @return This builder
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Sets the number of first elements of an array, which are always
+         * sampled. 10 by default.
+         *
+         * @param head The number of elements
+         * @return This builder
+         *
+         * @throws IllegalArgumentException If head is negative
+         */
+        public Builder head(int head) {
+            if (head < 0) {
+                throw new IllegalArgumentException("Negative head: " + head);
+            }
+            this.head = head;
+            return this;
+        }
+
+        /**
+         * Sets the number of last elements of an array, which are always
+         * sampled. 10 by default.
+         *
+         * @param tail The number of elements
+         * @return This builder
+         *
+         * @throws IllegalArgumentException If tail is negative
+         */
+        public Builder tail(int tail) {
+            if (tail < 0) {
+                throw new IllegalArgumentException("Negative tail: " + tail);
+            }
+            this.tail = tail;
+            return this;
+        }
+
+        /**
+         * Builds the sampling.
+         *
+         * @return The sampling
+         */
+        public JsonSampling build() {
+            return new JsonSampling(this);
+        }
+    }
+}
@@ -0,0 +1,532 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.*;
+import java.io.StringReader;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * A shape of a json document compiled into a reusable validator tree.
+ *
+ * <p>A shape verifies only the structure of a document: presence of
+ * properties and their {@link JsonValue.ValueType}. The values themselves
+ * are not compared. A shape is immutable and can be used to verify any
+ * number of documents.</p>
+ *
+ * <p>A shape can be compiled from a template document, where every
+ * property of an object is required and its value determines the
+ * expected type:</p>
+ * <ul>
+ *     <li>a string, a number or {@code null} require the same type,</li>
+ *     <li>{@code true} or {@code false} require a boolean,</li>
+ *     <li>an object requires an object of the template's shape,</li>
+ *     <li>an empty array requires any array, while a non-empty array
+ *     requires that every element matches the shape of its first
+ *     element.</li>
+ * </ul>
+ *
+ * <p>Alternatively, it can be compiled from a small subset of JSON Schema,
+ * supporting keywords {@code type} (a name or an array of names of
+ * {@code object}, {@code array}, {@code string}, {@code number},
+ * {@code integer}, {@code boolean} and {@code null}), {@code properties},
+ * {@code required} and {@code items} (a single schema of all elements).
+ * Annotation keywords {@code $schema}, {@code $id}, {@code $comment},
+ * {@code title}, {@code description}, {@code default} and
+ * {@code examples} are ignored. Any other keyword or form, such as
+ * a boolean schema or a tuple {@code items} array, is rejected when
+ * compiled, rather than silently not validated.</p>
+ *
+ * <p>Documents are verified iteratively, but a document is verified only
+ * as deep as its shape, which is compiled recursively, so the depth
+ * of a template or a schema is limited by the thread stack.</p>
+ */
+public final class JsonShape {
+
+    private static final Set<String> SCHEMA_KEYWORDS =
+            Set.of("type", "properties", "required", "items");
+
+    private static final Set<String> ANNOTATION_KEYWORDS = Set.of(
+            "$schema", "$id", "$comment",
+            "title", "description", "default", "examples");
+
+    private final Node root;
+
+    private JsonShape(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Compiles a shape from a template document.
+     *
+     * @param template The template document
+     * @return The compiled shape
+     *
+     * @throws NullPointerException If template is null
+     */
+    public static JsonShape of(JsonValue template) {
+        return new JsonShape(compileTemplate(Objects.requireNonNull(template)));
+    }
+
+    /**
+     * Compiles a shape from a template json string.
+     *
+     * @param template The template json string
+     * @return The compiled shape
+     *
+     * @throws NullPointerException If template is null
+     */
+    public static JsonShape of(String template) {
+        return of(read(template));
+    }
+
+    /**
+     * Compiles a shape from a JSON Schema subset.
+     *
+     * @param schema The schema
+     * @return The compiled shape
+     *
+     * @throws NullPointerException If schema is null
+     * @throws IllegalArgumentException If schema contains unknown type
+     *         or unsupported keyword
+     */
+    public static JsonShape ofSchema(JsonObject schema) {
+        return new JsonShape(compileSchema(Objects.requireNonNull(schema)));
+    }
+
+    /**
+     * Compiles a shape from a JSON Schema subset json string.
+     *
+     * @param schema The schema json string
+     * @return The compiled shape
+     *
+     * @throws NullPointerException If schema is null
+     * @throws IllegalArgumentException If schema contains unknown type
+     *         or unsupported keyword
+     */
+    public static JsonShape ofSchema(String schema) {
+        return ofSchema(schemaObject(read(schema), ""));
+    }
+
+    /**
+     * Whether a {@link JsonValue} matches this shape.
+     *
+     * @param value The {@link JsonValue}
+     * @return {@code true} if matches
+     */
+    public boolean matches(JsonValue value) {
+        return mismatch(value) == null;
+    }
+
+    /**
+     * Finds the first mismatch of a {@link JsonValue} against this shape.
+     *
+     * @param value The {@link JsonValue}
+     * @return The first mismatch or {@code null} if matches
+     */
+    Mismatch mismatch(JsonValue value) {
+        // nested values are verified iteratively, so that the depth
+        // of a document is not limited by the thread stack
+        Deque<Check> stack = new ArrayDeque<>();
+        Mismatch mismatch = Check.enter(
+                stack,
+                root,
+                Optional.ofNullable(value).orElse(JsonValue.NULL),
+                JsonPointers.ROOT);
+
+        while (mismatch == null && !stack.isEmpty()) {
+            Check top = stack.element();
+
+            if (top.properties != null && top.properties.hasNext()) {
+                Map.Entry<String, Node> e = top.properties.next();
+                JsonValue property = top.object.get(e.getKey());
+                String path = JsonPointers.append(top.path, e.getKey());
+
+                if (property != null) {
+                    mismatch = Check.enter(
+                            stack, e.getValue(), property, path);
+                } else if (top.node.required.contains(e.getKey())) {
+                    mismatch = new Mismatch(
+                            path, e.getValue().describe(), null);
+                }
+            } else if (top.array != null && top.index < top.array.size()) {
+                int i = top.index++;
+                mismatch = Check.enter(
+                        stack,
+                        top.node.items,
+                        top.array.get(i),
+                        JsonPointers.append(top.path, i));
+            } else {
+                stack.pop();
+            }
+        }
+
+        return mismatch;
+    }
+
+    @Override
+    public String toString() {
+        return root.describe();
+    }
+
+    private static JsonValue read(String json) {
+        Objects.requireNonNull(json);
+
+        try(JsonReader jsonReader = Json.createReader(new StringReader(json))) {
+            return jsonReader.readValue();
+        }
+    }
+
+    private static Node compileTemplate(JsonValue template) {
+        switch (template.getValueType()) {
+            case OBJECT:
+                Map<String, Node> properties = new LinkedHashMap<>();
+                template.asJsonObject().forEach(
+                        (k, v) -> properties.put(k, compileTemplate(v)));
+                return new Node(
+                        EnumSet.of(JsonValue.ValueType.OBJECT),
+                        false,
+                        properties,
+                        properties.keySet(),
+                        null);
+            case ARRAY:
+                JsonArray array = template.asJsonArray();
+                return new Node(
+                        EnumSet.of(JsonValue.ValueType.ARRAY),
+                        false,
+                        null,
+                        null,
+                        array.isEmpty()
+                                ? null
+                                : compileTemplate(array.get(0)));
+            case TRUE:
+            case FALSE:
+                return new Node(
+                        EnumSet.of(
+                                JsonValue.ValueType.TRUE,
+                                JsonValue.ValueType.FALSE),
+                        false,
+                        null,
+                        null,
+                        null);
+            default:
+                return new Node(
+                        EnumSet.of(template.getValueType()),
+                        false,
+                        null,
+                        null,
+                        null);
+        }
+    }
+
+    private static Node compileSchema(JsonObject schema) {
+        return compileSchema(schema, JsonPointers.ROOT);
+    }
+
+    private static Node compileSchema(JsonObject schema, String path) {
+        for (String keyword : schema.keySet()) {
+            if (!SCHEMA_KEYWORDS.contains(keyword)
+                    && !ANNOTATION_KEYWORDS.contains(keyword)) {
+                throw unsupported(
+                        "keyword " + keyword,
+                        JsonPointers.append(path, keyword));
+            }
+        }
+
+        EnumSet<JsonValue.ValueType> types = null;
+        boolean integral = false;
+
+        JsonValue type = schema.get("type");
+        if (type != null) {
+            String typePath = JsonPointers.append(path, "type");
+            List<String> names = new ArrayList<>();
+            if (type.getValueType() == JsonValue.ValueType.ARRAY) {
+                for (JsonValue name : type.asJsonArray()) {
+                    names.add(typeName(name, typePath));
+                }
+            } else {
+                names.add(typeName(type, typePath));
+            }
+
+            types = EnumSet.noneOf(JsonValue.ValueType.class);
+            for (String name : names) {
+                types.addAll(typesOf(name));
+            }
+
+            integral = names.contains("integer") && !names.contains("number");
+        }
+
+        Map<String, Node> properties = null;
+        if (schema.containsKey("properties")) {
+            String propertiesPath = JsonPointers.append(path, "properties");
+            JsonValue value = schema.get("properties");
+            if (value.getValueType() != JsonValue.ValueType.OBJECT) {
+                throw unsupported("properties " + value, propertiesPath);
+            }
+
+            properties = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonValue> e
+                    : value.asJsonObject().entrySet()) {
+                String propertyPath =
+                        JsonPointers.append(propertiesPath, e.getKey());
+                properties.put(
+                        e.getKey(),
+                        compileSchema(
+                                schemaObject(e.getValue(), propertyPath),
+                                propertyPath));
+            }
+        }
+
+        Set<String> required = null;
+        if (schema.containsKey("required")) {
+            String requiredPath = JsonPointers.append(path, "required");
+            JsonValue value = schema.get("required");
+            if (value.getValueType() != JsonValue.ValueType.ARRAY) {
+                throw unsupported("required " + value, requiredPath);
+            }
+
+            required = new LinkedHashSet<>();
+            for (JsonValue name : value.asJsonArray()) {
+                if (name.getValueType() != JsonValue.ValueType.STRING) {
+                    throw unsupported("required " + name, requiredPath);
+                }
+                required.add(((JsonString) name).getString());
+            }
+        }
+
+        if (required != null && properties == null) {
+            properties = new LinkedHashMap<>();
+        }
+
+        if (required != null) {
+            for (String name : required) {
+                properties.putIfAbsent(name, new Node(
+                        null, false, null, null, null));
+            }
+        }
+
+        Node items = null;
+        if (schema.containsKey("items")) {
+            String itemsPath = JsonPointers.append(path, "items");
+            items = compileSchema(
+                    schemaObject(schema.get("items"), itemsPath), itemsPath);
+        }
+
+        return new Node(types, integral, properties, required, items);
+    }
+
+    private static JsonObject schemaObject(JsonValue schema, String path) {
+        if (schema.getValueType() != JsonValue.ValueType.OBJECT) {
+            throw unsupported(
+                    schema.getValueType() == JsonValue.ValueType.ARRAY
+                            ? "tuple schema " + schema
+                            : "schema " + schema,
+                    path);
+        }
+        return schema.asJsonObject();
+    }
+
+    private static String typeName(JsonValue name, String path) {
+        if (name.getValueType() != JsonValue.ValueType.STRING) {
+            throw unsupported("type " + name, path);
+        }
+        return ((JsonString) name).getString();
+    }
+
+    private static IllegalArgumentException unsupported(
+            String what, String path) {
+        return new IllegalArgumentException(
+                "Unsupported " + what + " on schema path " + path);
+    }
+
+    private static EnumSet<JsonValue.ValueType> typesOf(String name) {
+        switch (name) {
+            case "object":
+                return EnumSet.of(JsonValue.ValueType.OBJECT);
+            case "array":
+                return EnumSet.of(JsonValue.ValueType.ARRAY);
+            case "string":
+                return EnumSet.of(JsonValue.ValueType.STRING);
+            case "number":
+            case "integer":
+                return EnumSet.of(JsonValue.ValueType.NUMBER);
+            case "boolean":
+                return EnumSet.of(
+                        JsonValue.ValueType.TRUE, JsonValue.ValueType.FALSE);
+            case "null":
+                return EnumSet.of(JsonValue.ValueType.NULL);
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown schema type: " + name);
+        }
+    }
+
+    /**
+     * A node of the validator tree.
+     */
+    private static final class Node {
+
+        private final EnumSet<JsonValue.ValueType> types;
+        private final boolean integral;
+        private final Map<String, Node> properties;
+        private final Set<String> required;
+        private final Node items;
+        private final String description;
+
+        Node(
+                EnumSet<JsonValue.ValueType> types,
+                boolean integral,
+                Map<String, Node> properties,
+                Set<String> required,
+                Node items) {
+
+            this.types = types;
+            this.integral = integral;
+            this.properties = properties;
+            this.required = Optional.ofNullable(required)
+                    .orElse(Collections.emptySet());
+            this.items = items;
+            this.description = describe(types, integral);
+        }
+
+        private static String describe(
+                EnumSet<JsonValue.ValueType> types, boolean integral) {
+
+            if (types == null) {
+                return "ANY";
+            }
+
+            String description = types.stream()
+                    .map(Enum::name)
+                    .collect(Collectors.joining(" or "));
+
+            return integral ? description + " (integral)" : description;
+        }
+
+        String describe() {
+            return description;
+        }
+
+        /**
+         * Verifies a value on a path against this node, without its
+         * properties and items.
+         *
+         * @return The mismatch or {@code null} if matches
+         */
+        Mismatch checkType(JsonValue value, String path) {
+            JsonValue.ValueType type = value.getValueType();
+
+            if (types != null && !types.contains(type)) {
+                return new Mismatch(path, description, type.name());
+            }
+
+            if (integral && type == JsonValue.ValueType.NUMBER
+                    && !((JsonNumber) value).isIntegral()) {
+                return new Mismatch(
+                        path, description, type.name() + " (non-integral)");
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * A value being verified against a node, with its properties
+     * or items still to be verified.
+     */
+    private static final class Check {
+
+        private final Node node;
+        private final String path;
+        private final JsonObject object;
+        private final Iterator<Map.Entry<String, Node>> properties;
+        private final JsonArray array;
+        private int index;
+
+        private Check(Node node, JsonValue value, String path) {
+            this.node = node;
+            this.path = path;
+
+            boolean object = node.properties != null
+                    && value.getValueType() == JsonValue.ValueType.OBJECT;
+            this.object = object ? value.asJsonObject() : null;
+            this.properties = object
+                    ? node.properties.entrySet().iterator()
+                    : null;
+
+            this.array = node.items != null
+                    && value.getValueType() == JsonValue.ValueType.ARRAY
+                    ? value.asJsonArray()
+                    : null;
+        }
+
+        /**
+         * Verifies a value against a node and, if it has properties
+         * or items to verify, pushes it to the stack.
+         */
+        static Mismatch enter(
+                Deque<Check> stack, Node node, JsonValue value, String path) {
+
+            Mismatch mismatch = node.checkType(value, path);
+            if (mismatch == null) {
+                Check check = new Check(node, value, path);
+                if (check.object != null || check.array != null) {
+                    stack.push(check);
+                }
+            }
+            return mismatch;
+        }
+    }
+
+    /**
+     * A mismatch of a value against a shape.
+     */
+    static final class Mismatch {
+
+        private final String path;
+        private final String expected;
+        private final String actual;
+
+        Mismatch(String path, String expected, String actual) {
+            this.path = path;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        /**
+         * The path of the mismatch.
+         *
+         * @return The path
+         */
+        String getPath() {
+            return path;
+        }
+
+        /**
+         * The description of the expected shape.
+         *
+         * @return The description
+         */
+        String getExpected() {
+            return expected;
+        }
+
+        /**
+         * The description of the actual type or {@code null} if the value
+         * is missing.
+         *
+         * @return The description
+         */
+        String getActual() {
+            return actual;
+        }
+
+        /**
+         * Whether the value is missing.
+         *
+         * @return {@code true} if missing
+         */
+        boolean isMissing() {
+            return actual == null;
+        }
+    }
+}
@@ -0,0 +1,672 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.function.Executable;
+import org.opentest4j.MultipleFailuresError;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A collector of soft json assertions.
+ *
+ * <p>Failures of assertions are recorded instead of thrown, and are
+ * reported together by {@link #assertAll()}, which throws one
+ * {@link MultipleFailuresError} containing all of them. Messages of
+ * the recorded failures are rendered only when the aggregated error
+ * is reported.</p>
+ *
+ * <p>An instance is not thread-safe and is intended for a single test.</p>
+ *
+ * @see AssertJson#softly(java.util.function.Consumer)
+ */
+public final class JsonSoftAssertions {
+
+    private static final String HEADING = "Json soft assertions";
+
+    private final List<Throwable> failures = new ArrayList<>();
+
+    /**
+     * Executes an assertion and records its failure, if any.
+     *
+     * @param assertion The assertion
+     * @return This collector
+     *
+     * @throws RuntimeException Any runtime exception of the assertion;
+     *      checked exceptions are wrapped into an
+     *      {@link IllegalStateException}
+     * @throws Error Any error of the assertion other than an
+     *      {@link AssertionError}
+     */
+    public JsonSoftAssertions check(Executable assertion) {
+        try {
+            assertion.execute();
+        } catch (AssertionError e) {
+            failures.add(e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the recorded failures.
+     *
+     * @return The unmodifiable list of failures
+     */
+    public List<Throwable> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * Throws all recorded failures as one {@link MultipleFailuresError},
+     * if there are any.
+     *
+     * @throws MultipleFailuresError If any assertion has failed
+     */
+    public void assertAll() throws MultipleFailuresError {
+        if (!failures.isEmpty()) {
+            throw new MultipleFailuresError(HEADING, failures);
+        }
+    }
+
+    /**
+     * Softly verifies if an actual json is semantically equal to an expected
+     * one.
+     *
+     * @param expected The expected json
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertEquals(JsonStructure, JsonStructure)
+     */
+    public JsonSoftAssertions assertEquals(
+            JsonStructure expected, JsonStructure actual) {
+        return check(() -> AssertJson.assertEquals(expected, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json is semantically equal to an expected
+     * one.
+     *
+     * @param expected The expected json
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertEquals(String, String)
+     */
+    public JsonSoftAssertions assertEquals(String expected, String actual) {
+        return check(() -> AssertJson.assertEquals(expected, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json is semantically equal to an expected
+     * one.
+     *
+     * @param expected The expected json
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertEquals(JsonStructure, String)
+     */
+    public JsonSoftAssertions assertEquals(
+            JsonStructure expected, String actual) {
+        return check(() -> AssertJson.assertEquals(expected, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json is semantically equal to an expected
+     * one.
+     *
+     * @param expected The expected json
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertEquals(String, JsonStructure)
+     */
+    public JsonSoftAssertions assertEquals(
+            String expected, JsonStructure actual) {
+        return check(() -> AssertJson.assertEquals(expected, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json is semantically not equal to an
+     * unexpected one.
+     *
+     * @param unexpected The unexpected json
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertNotEquals(JsonStructure, JsonStructure)
+     */
+    public JsonSoftAssertions assertNotEquals(
+            JsonStructure unexpected, JsonStructure actual) {
+        return check(() -> AssertJson.assertNotEquals(unexpected, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json is semantically not equal to an
+     * unexpected one.
+     *
+     * @param unexpected The unexpected json
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertNotEquals(String, String)
+     */
+    public JsonSoftAssertions assertNotEquals(
+            String unexpected, String actual) {
+        return check(() -> AssertJson.assertNotEquals(unexpected, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json is semantically not equal to an
+     * unexpected one.
+     *
+     * @param unexpected The unexpected json
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertNotEquals(JsonStructure, String)
+     */
+    public JsonSoftAssertions assertNotEquals(
+            JsonStructure unexpected, String actual) {
+        return check(() -> AssertJson.assertNotEquals(unexpected, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json is semantically not equal to an
+     * unexpected one.
+     *
+     * @param unexpected The unexpected json
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertNotEquals(String, JsonStructure)
+     */
+    public JsonSoftAssertions assertNotEquals(
+            String unexpected, JsonStructure actual) {
+        return check(() -> AssertJson.assertNotEquals(unexpected, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains an expected element.
+     *
+     * @param expectedElement The expected element
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContains(JsonValue, JsonArray)
+     */
+    public JsonSoftAssertions assertContains(
+            JsonValue expectedElement, JsonArray actualArray) {
+        return check(() -> AssertJson.assertContains(
+                expectedElement, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains an expected element.
+     *
+     * @param expectedElement The expected element
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContains(String, String)
+     */
+    public JsonSoftAssertions assertContains(
+            String expectedElement, String actualArray) {
+        return check(() -> AssertJson.assertContains(
+                expectedElement, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains an expected element.
+     *
+     * @param expectedElement The expected element
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContains(String, JsonArray)
+     */
+    public JsonSoftAssertions assertContains(
+            String expectedElement, JsonArray actualArray) {
+        return check(() -> AssertJson.assertContains(
+                expectedElement, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains an expected element.
+     *
+     * @param expectedElement The expected element
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContains(JsonValue, String)
+     */
+    public JsonSoftAssertions assertContains(
+            JsonValue expectedElement, String actualArray) {
+        return check(() -> AssertJson.assertContains(
+                expectedElement, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array does not contain an unexpected
+     * element.
+     *
+     * @param unexpectedElement The unexpected element
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertNotContains(JsonValue, JsonArray)
+     */
+    public JsonSoftAssertions assertNotContains(
+            JsonValue unexpectedElement, JsonArray actualArray) {
+        return check(() -> AssertJson.assertNotContains(
+                unexpectedElement, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array does not contain an unexpected
+     * element.
+     *
+     * @param unexpectedElement The unexpected element
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertNotContains(String, String)
+     */
+    public JsonSoftAssertions assertNotContains(
+            String unexpectedElement, String actualArray) {
+        return check(() -> AssertJson.assertNotContains(
+                unexpectedElement, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array does not contain an unexpected
+     * element.
+     *
+     * @param unexpectedElement The unexpected element
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertNotContains(String, JsonArray)
+     */
+    public JsonSoftAssertions assertNotContains(
+            String unexpectedElement, JsonArray actualArray) {
+        return check(() -> AssertJson.assertNotContains(
+                unexpectedElement, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array does not contain an unexpected
+     * element.
+     *
+     * @param unexpectedElement The unexpected element
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertNotContains(JsonValue, String)
+     */
+    public JsonSoftAssertions assertNotContains(
+            JsonValue unexpectedElement, String actualArray) {
+        return check(() -> AssertJson.assertNotContains(
+                unexpectedElement, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains all expected elements.
+     *
+     * @param expectedElements The expected elements
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsAll(JsonArray, JsonArray)
+     */
+    public JsonSoftAssertions assertContainsAll(
+            JsonArray expectedElements, JsonArray actualArray) {
+        return check(() -> AssertJson.assertContainsAll(
+                expectedElements, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains all expected elements.
+     *
+     * @param expectedElements The expected elements
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsAll(String, String)
+     */
+    public JsonSoftAssertions assertContainsAll(
+            String expectedElements, String actualArray) {
+        return check(() -> AssertJson.assertContainsAll(
+                expectedElements, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains all expected elements.
+     *
+     * @param expectedElements The expected elements
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsAll(String, JsonArray)
+     */
+    public JsonSoftAssertions assertContainsAll(
+            String expectedElements, JsonArray actualArray) {
+        return check(() -> AssertJson.assertContainsAll(
+                expectedElements, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains all expected elements.
+     *
+     * @param expectedElements The expected elements
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsAll(JsonArray, String)
+     */
+    public JsonSoftAssertions assertContainsAll(
+            JsonArray expectedElements, String actualArray) {
+        return check(() -> AssertJson.assertContainsAll(
+                expectedElements, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains any of expected
+     * elements.
+     *
+     * @param expectedElements The expected elements
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsAny(JsonArray, JsonArray)
+     */
+    public JsonSoftAssertions assertContainsAny(
+            JsonArray expectedElements, JsonArray actualArray) {
+        return check(() -> AssertJson.assertContainsAny(
+                expectedElements, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains any of expected
+     * elements.
+     *
+     * @param expectedElements The expected elements
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsAny(String, String)
+     */
+    public JsonSoftAssertions assertContainsAny(
+            String expectedElements, String actualArray) {
+        return check(() -> AssertJson.assertContainsAny(
+                expectedElements, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains any of expected
+     * elements.
+     *
+     * @param expectedElements The expected elements
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsAny(String, JsonArray)
+     */
+    public JsonSoftAssertions assertContainsAny(
+            String expectedElements, JsonArray actualArray) {
+        return check(() -> AssertJson.assertContainsAny(
+                expectedElements, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains any of expected
+     * elements.
+     *
+     * @param expectedElements The expected elements
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsAny(JsonArray, String)
+     */
+    public JsonSoftAssertions assertContainsAny(
+            JsonArray expectedElements, String actualArray) {
+        return check(() -> AssertJson.assertContainsAny(
+                expectedElements, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains none of unexpected
+     * elements.
+     *
+     * @param unexpectedElements The unexpected elements
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsNone(JsonArray, JsonArray)
+     */
+    public JsonSoftAssertions assertContainsNone(
+            JsonArray unexpectedElements, JsonArray actualArray) {
+        return check(() -> AssertJson.assertContainsNone(
+                unexpectedElements, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains none of unexpected
+     * elements.
+     *
+     * @param unexpectedElements The unexpected elements
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsNone(String, String)
+     */
+    public JsonSoftAssertions assertContainsNone(
+            String unexpectedElements, String actualArray) {
+        return check(() -> AssertJson.assertContainsNone(
+                unexpectedElements, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains none of unexpected
+     * elements.
+     *
+     * @param unexpectedElements The unexpected elements
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsNone(String, JsonArray)
+     */
+    public JsonSoftAssertions assertContainsNone(
+            String unexpectedElements, JsonArray actualArray) {
+        return check(() -> AssertJson.assertContainsNone(
+                unexpectedElements, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json array contains none of unexpected
+     * elements.
+     *
+     * @param unexpectedElements The unexpected elements
+     * @param actualArray The actual json array
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsNone(JsonArray, String)
+     */
+    public JsonSoftAssertions assertContainsNone(
+            JsonArray unexpectedElements, String actualArray) {
+        return check(() -> AssertJson.assertContainsNone(
+                unexpectedElements, actualArray));
+    }
+
+    /**
+     * Softly verifies if an actual json contains an expected value on
+     * specified path.
+     *
+     * @param expectedValue The expected value
+     * @param path The path
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsProperty(JsonValue, String, JsonStructure)
+     */
+    public JsonSoftAssertions assertContainsProperty(
+            JsonValue expectedValue, String path, JsonStructure actual) {
+        return check(() -> AssertJson.assertContainsProperty(
+                expectedValue, path, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json contains an expected value on
+     * specified path.
+     *
+     * @param expectedValue The expected value
+     * @param path The path
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsProperty(String, String, String)
+     */
+    public JsonSoftAssertions assertContainsProperty(
+            String expectedValue, String path, String actual) {
+        return check(() -> AssertJson.assertContainsProperty(
+                expectedValue, path, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json contains an expected value on
+     * specified path.
+     *
+     * @param expectedValue The expected value
+     * @param path The path
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsProperty(String, String, JsonStructure)
+     */
+    public JsonSoftAssertions assertContainsProperty(
+            String expectedValue, String path, JsonStructure actual) {
+        return check(() -> AssertJson.assertContainsProperty(
+                expectedValue, path, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json contains an expected value on
+     * specified path.
+     *
+     * @param expectedValue The expected value
+     * @param path The path
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertContainsProperty(JsonValue, String, String)
+     */
+    public JsonSoftAssertions assertContainsProperty(
+            JsonValue expectedValue, String path, String actual) {
+        return check(() -> AssertJson.assertContainsProperty(
+                expectedValue, path, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json does not contain an unexpected value
+     * on specified path.
+     *
+     * @param unexpectedValue The unexpected value
+     * @param path The path
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertNotContainsProperty(JsonValue, String, JsonStructure)
+     */
+    public JsonSoftAssertions assertNotContainsProperty(
+            JsonValue unexpectedValue, String path, JsonStructure actual) {
+        return check(() -> AssertJson.assertNotContainsProperty(
+                unexpectedValue, path, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json does not contain an unexpected value
+     * on specified path.
+     *
+     * @param unexpectedValue The unexpected value
+     * @param path The path
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertNotContainsProperty(String, String, String)
+     */
+    public JsonSoftAssertions assertNotContainsProperty(
+            String unexpectedValue, String path, String actual) {
+        return check(() -> AssertJson.assertNotContainsProperty(
+                unexpectedValue, path, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json does not contain an unexpected value
+     * on specified path.
+     *
+     * @param unexpectedValue The unexpected value
+     * @param path The path
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertNotContainsProperty(String, String, JsonStructure)
+     */
+    public JsonSoftAssertions assertNotContainsProperty(
+            String unexpectedValue, String path, JsonStructure actual) {
+        return check(() -> AssertJson.assertNotContainsProperty(
+                unexpectedValue, path, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json does not contain an unexpected value
+     * on specified path.
+     *
+     * @param unexpectedValue The unexpected value
+     * @param path The path
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertNotContainsProperty(JsonValue, String, String)
+     */
+    public JsonSoftAssertions assertNotContainsProperty(
+            JsonValue unexpectedValue, String path, String actual) {
+        return check(() -> AssertJson.assertNotContainsProperty(
+                unexpectedValue, path, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json matches an expected shape.
+     *
+     * @param expectedShape The expected shape
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertShape(JsonShape, JsonStructure)
+     */
+    public JsonSoftAssertions assertShape(
+            JsonShape expectedShape, JsonStructure actual) {
+        return check(() -> AssertJson.assertShape(expectedShape, actual));
+    }
+
+    /**
+     * Softly verifies if an actual json matches an expected shape.
+     *
+     * @param expectedShape The expected shape
+     * @param actual The actual json
+     * @return This collector
+     *
+     * @see AssertJson#assertShape(JsonShape, String)
+     */
+    public JsonSoftAssertions assertShape(
+            JsonShape expectedShape, String actual) {
+        return check(() -> AssertJson.assertShape(expectedShape, actual));
+    }
+}
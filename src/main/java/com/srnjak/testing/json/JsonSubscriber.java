@@ -0,0 +1,277 @@
+package com.srnjak.testing.json;
+
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonValue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+
+/**
+ * A subscriber, which verifies json values emitted by a publisher
+ * as they arrive.
+ *
+ * <p>Elements are requested in batches of {@value #BATCH}, so that
+ * the publisher is never asked for more than a bounded number of
+ * elements ahead. Emitted elements are not retained. On the first
+ * mismatch, the subscription is cancelled and the verification fails
+ * without waiting for the rest of the stream.</p>
+ */
+abstract class JsonSubscriber implements Flow.Subscriber<JsonValue> {
+
+    /**
+     * The number of elements requested at once.
+     */
+    static final int BATCH = 64;
+
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+    private Flow.Subscription subscription;
+    private long index;
+    private int pending;
+
+    /**
+     * Creates a subscriber, which verifies that the elements are equal
+     * to the expected ones, in order.
+     *
+     * @param expected The expected elements
+     * @return The subscriber
+     */
+    static JsonSubscriber ordered(JsonArray expected) {
+        return new Ordered(expected);
+    }
+
+    /**
+     * Creates a subscriber, which verifies that all of the expected
+     * elements are emitted, in any order. It completes as soon as all of
+     * them are found.
+     *
+     * @param expected The expected elements
+     * @return The subscriber
+     */
+    static JsonSubscriber containsAll(JsonArray expected) {
+        return new ContainsAll(expected);
+    }
+
+    /**
+     * Creates a subscriber, which verifies that none of the unexpected
+     * elements are emitted.
+     *
+     * @param unexpected The unexpected elements
+     * @return The subscriber
+     */
+    static JsonSubscriber containsNone(JsonArray unexpected) {
+        return new ContainsNone(unexpected);
+    }
+
+    /**
+     * The result of the verification.
+     *
+     * @return The future, which completes when the verification passes,
+     *      or completes exceptionally with an {@link AssertionFailedError}
+     */
+    CompletableFuture<Void> result() {
+        return result;
+    }
+
+    @Override
+    public final void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null || result.isDone()) {
+            subscription.cancel();
+            return;
+        }
+
+        this.subscription = subscription;
+        pending = BATCH;
+        subscription.request(BATCH);
+    }
+
+    @Override
+    public final void onNext(JsonValue item) {
+        if (result.isDone()) {
+            return;
+        }
+
+        try {
+            if (verify(index++, item)) {
+                pass();
+                return;
+            }
+        } catch (Throwable t) {
+            fail(t);
+            return;
+        }
+
+        // request the next batch when half of the current one arrived
+        if (--pending == BATCH / 2) {
+            pending += BATCH;
+            subscription.request(BATCH);
+        }
+    }
+
+    @Override
+    public final void onError(Throwable throwable) {
+        if (!result.isDone()) {
+            result.completeExceptionally(new AssertionFailedError(
+                    PUBLISHER_FAILED.message(index), throwable));
+        }
+    }
+
+    @Override
+    public final void onComplete() {
+        if (result.isDone()) {
+            return;
+        }
+
+        try {
+            complete(index);
+            result.complete(null);
+        } catch (Throwable t) {
+            result.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Verifies an emitted element.
+     *
+     * @param index The index of the element
+     * @param value The element
+     * @return {@code true} if the verification already passed, so that
+     *      no more elements are needed
+     *
+     * @throws AssertionFailedError If the verification fails
+     */
+    abstract boolean verify(long index, JsonValue value);
+
+    /**
+     * Verifies the end of the stream.
+     *
+     * @param count The number of emitted elements
+     *
+     * @throws AssertionFailedError If the verification fails
+     */
+    abstract void complete(long count);
+
+    /**
+     * The path of an emitted element, as if the elements were an array.
+     */
+    private static String path(long index) {
+        return JsonPointers.ROOT + "/" + index;
+    }
+
+    private void pass() {
+        subscription.cancel();
+        result.complete(null);
+    }
+
+    private void fail(Throwable t) {
+        subscription.cancel();
+        result.completeExceptionally(t);
+    }
+
+    /**
+     * Elements equal to the expected ones, in order.
+     */
+    private static final class Ordered extends JsonSubscriber {
+
+        private final JsonArray expected;
+
+        Ordered(JsonArray expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        boolean verify(long index, JsonValue value) {
+            String path = path(index);
+            if (index >= expected.size()) {
+                throw UNEXPECTED.error(path);
+            }
+
+            JsonValue e = expected.get((int) index);
+            if (!JsonComparator.DEFAULT.equals(e, value)) {
+                throw new JsonAssertionFailedError(
+                        () -> INVALID.message(path), e, value);
+            }
+            return false;
+        }
+
+        @Override
+        void complete(long count) {
+            if (count < expected.size()) {
+                throw MISSING.error(path(count));
+            }
+        }
+    }
+
+    /**
+     * All of the expected elements, in any order. Expected elements are
+     * grouped by their structural hashes, so each emitted element is
+     * compared only with the expected ones of the same hash.
+     */
+    private static final class ContainsAll extends JsonSubscriber {
+
+        private final Map<Long, List<JsonValue>> missing = new HashMap<>();
+        private int remaining;
+
+        ContainsAll(JsonArray expected) {
+            for (JsonValue value : expected) {
+                missing.computeIfAbsent(
+                        StructuralHash.of(value), h -> new ArrayList<>())
+                        .add(value);
+                remaining++;
+            }
+        }
+
+        @Override
+        boolean verify(long index, JsonValue value) {
+            List<JsonValue> candidates = missing.get(StructuralHash.of(value));
+            if (candidates != null) {
+                int before = candidates.size();
+                candidates.removeIf(
+                        e -> JsonComparator.DEFAULT.equals(e, value));
+                remaining -= before - candidates.size();
+            }
+            return remaining == 0;
+        }
+
+        @Override
+        void complete(long count) {
+            if (remaining > 0) {
+                List<JsonValue> values = new ArrayList<>();
+                missing.values().forEach(values::addAll);
+                throw NOT_EMITTED.error(values);
+            }
+        }
+    }
+
+    /**
+     * None of the unexpected elements.
+     */
+    private static final class ContainsNone extends JsonSubscriber {
+
+        private final ArrayIndex unexpected;
+
+        ContainsNone(JsonArray unexpected) {
+            this.unexpected = ArrayIndex.of(unexpected);
+        }
+
+        @Override
+        boolean verify(long index, JsonValue value) {
+            if (unexpected.contains(value)) {
+                throw EMITTED.error(
+                        value, path(index));
+            }
+            return false;
+        }
+
+        @Override
+        void complete(long count) {
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.*;
+import java.math.BigDecimal;
+import java.util.Iterator;
+
+/**
+ * Read access to nodes of a json tree of some library, so that trees
+ * of different libraries can be compared without conversion.
+ *
+ * @param <N> The type of nodes
+ */
+interface JsonTree<N> {
+
+    /**
+     * The tree of {@link JsonValue} nodes.
+     */
+    JsonTree<JsonValue> JAKARTA = new JsonTree<>() {
+        @Override
+        public JsonValue.ValueType type(JsonValue node) {
+            return node.getValueType();
+        }
+
+        @Override
+        public int size(JsonValue node) {
+            return node.getValueType() == JsonValue.ValueType.OBJECT
+                    ? node.asJsonObject().size()
+                    : node.asJsonArray().size();
+        }
+
+        @Override
+        public Iterator<String> keys(JsonValue object) {
+            return object.asJsonObject().keySet().iterator();
+        }
+
+        @Override
+        public JsonValue member(JsonValue object, String key) {
+            return object.asJsonObject().get(key);
+        }
+
+        @Override
+        public JsonValue element(JsonValue array, int index) {
+            return array.asJsonArray().get(index);
+        }
+
+        @Override
+        public String string(JsonValue node) {
+            return ((JsonString) node).getString();
+        }
+
+        @Override
+        public BigDecimal number(JsonValue node) {
+            return ((JsonNumber) node).bigDecimalValue();
+        }
+
+        @Override
+        public JsonValue toJsonValue(JsonValue node) {
+            return node;
+        }
+    };
+
+    /**
+     * The type of a node.
+     *
+     * @param node The node
+     * @return The type
+     */
+    JsonValue.ValueType type(N node);
+
+    /**
+     * The number of members of an object or elements of an array.
+     *
+     * @param node The object or the array
+     * @return The size
+     */
+    int size(N node);
+
+    /**
+     * The keys of an object.
+     *
+     * @param object The object
+     * @return The keys
+     */
+    Iterator<String> keys(N object);
+
+    /**
+     * A member of an object.
+     *
+     * @param object The object
+     * @param key The key
+     * @return The member or {@code null} if there is none
+     */
+    N member(N object, String key);
+
+    /**
+     * An element of an array.
+     *
+     * @param array The array
+     * @param index The index
+     * @return The element
+     */
+    N element(N array, int index);
+
+    /**
+     * The value of a string.
+     *
+     * @param node The string
+     * @return The value
+     */
+    String string(N node);
+
+    /**
+     * The value of a number, with the scale of its json representation,
+     * unless it is a floating point number.
+     *
+     * @param node The number
+     * @return The value
+     */
+    BigDecimal number(N node);
+
+    /**
+     * Whether a number is held as a floating point value, which does not
+     * keep the scale of its json representation.
+     *
+     * @param node The number
+     * @return {@code true} if a floating point number
+     */
+    default boolean isFloatingPoint(N node) {
+        return false;
+    }
+
+    /**
+     * Converts a node to a {@link JsonValue}, for reporting failures.
+     *
+     * @param node The node
+     * @return The {@link JsonValue}
+     */
+    JsonValue toJsonValue(N node);
+}
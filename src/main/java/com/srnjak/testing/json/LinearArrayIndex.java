@@ -0,0 +1,26 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonValue;
+
+/**
+ * An index, which compares a value with each element of an array.
+ */
+class LinearArrayIndex implements ArrayIndex {
+
+    private final JsonArray array;
+
+    LinearArrayIndex(JsonArray array) {
+        this.array = array;
+    }
+
+    @Override
+    public boolean contains(JsonValue value) {
+        for (JsonValue element : array) {
+            if (JsonComparator.DEFAULT.equals(value, element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
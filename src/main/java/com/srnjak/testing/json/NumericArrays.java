@@ -0,0 +1,91 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonValue;
+import java.math.BigDecimal;
+
+/**
+ * Primitive views of arrays of numbers.
+ *
+ * <p>Integral numbers, which fit into a long, are equal if and only if
+ * their long values are equal, so arrays of such numbers are compared
+ * as {@code long[]} in tight loops. Other numbers are extracted as
+ * {@code double[]} only for comparison within a tolerance, because
+ * their exact equality depends on the scale, which a {@code double}
+ * does not preserve.</p>
+ */
+final class NumericArrays {
+
+    /**
+     * Minimal size of an array, for which extraction of the values pays
+     * off compared to generic comparison.
+     */
+    static final int MIN_SIZE = 16;
+
+    private NumericArrays() {
+    }
+
+    /**
+     * Whether a value is an integral number, which fits into a long.
+     *
+     * @param value The value
+     * @return {@code true} if it is
+     */
+    static boolean isLong(JsonValue value) {
+        if (value.getValueType() != JsonValue.ValueType.NUMBER) {
+            return false;
+        }
+        BigDecimal number = ((JsonNumber) value).bigDecimalValue();
+        return number.scale() == 0 && number.unscaledValue().bitLength() < 64;
+    }
+
+    /**
+     * Extracts the values of an array of integral numbers.
+     *
+     * @param array The {@link JsonArray}
+     * @return The values or {@code null} if any element is not
+     *      an integral number fitting into a long
+     */
+    static long[] longs(JsonArray array) {
+        long[] values = new long[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            JsonValue value = array.get(i);
+            if (!isLong(value)) {
+                return null;
+            }
+            values[i] = ((JsonNumber) value).longValue();
+        }
+        return values;
+    }
+
+    /**
+     * Extracts the values of an array of numbers as doubles.
+     *
+     * @param array The {@link JsonArray}
+     * @return The values or {@code null} if any element is not a number
+     */
+    static double[] doubles(JsonArray array) {
+        double[] values = new double[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            JsonValue value = array.get(i);
+            if (value.getValueType() != JsonValue.ValueType.NUMBER) {
+                return null;
+            }
+            values[i] = ((JsonNumber) value).doubleValue();
+        }
+        return values;
+    }
+
+    /**
+     * Whether an array is a candidate for extraction of its values.
+     *
+     * @param array The {@link JsonArray}
+     * @return {@code true} if it is large enough and starts with
+     *      a number
+     */
+    static boolean isCandidate(JsonArray array) {
+        return array.size() >= MIN_SIZE
+                && array.get(0).getValueType() == JsonValue.ValueType.NUMBER;
+    }
+}
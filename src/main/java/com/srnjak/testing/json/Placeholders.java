@@ -0,0 +1,162 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.*;
+import jakarta.json.spi.JsonProvider;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Placeholder tokens in string values of expected json documents.
+ *
+ * <p>A string value, which consists of a single token, matches actual
+ * values instead of being compared with them:</p>
+ * <ul>
+ *     <li>{@code ${any-string}} matches any string,</li>
+ *     <li>{@code ${any-number}} matches any number,</li>
+ *     <li>{@code ${ignore}} matches any value, including a whole
+ *     subtree,</li>
+ *     <li>{@code ${regex:expression}} matches a string, which entirely
+ *     matches the regular expression.</li>
+ * </ul>
+ *
+ * <p>A token is escaped by doubling the dollar sign, so that
+ * {@code $${ignore}} matches the literal string {@code ${ignore}}. Only
+ * tokens are escaped; other strings, such as {@code $${foo}}, are
+ * compared as they are.</p>
+ *
+ * <p>Tokens are recognized once per expected document, when it is
+ * parsed, and compiled into matchers of a {@link JsonComparator} on
+ * their exact paths, so a member key {@code *} is not a wildcard.
+ * The comparison itself does not scan strings for tokens.</p>
+ */
+final class Placeholders {
+
+    static final String ANY_STRING = "${any-string}";
+    static final String ANY_NUMBER = "${any-number}";
+    static final String IGNORE = "${ignore}";
+    static final String REGEX_PREFIX = "${regex:";
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    private static final JsonMatcher ANY_STRING_MATCHER =
+            JsonMatcher.describe(
+                    v -> v.getValueType() == JsonValue.ValueType.STRING,
+                    ANY_STRING);
+
+    private static final JsonMatcher ANY_NUMBER_MATCHER =
+            JsonMatcher.describe(
+                    v -> v.getValueType() == JsonValue.ValueType.NUMBER,
+                    ANY_NUMBER);
+
+    private static final JsonMatcher IGNORE_MATCHER =
+            JsonMatcher.describe(v -> true, IGNORE);
+
+    private Placeholders() {
+    }
+
+    /**
+     * Compiles placeholder tokens of an expected document into matchers
+     * on their paths.
+     *
+     * @param expected The expected document
+     * @param comparator The comparator of the document
+     * @return The comparator extended with the matchers, or the given
+     *      comparator if the document has no tokens
+     *
+     * @throws java.util.regex.PatternSyntaxException If a regular
+     *      expression is not valid
+     */
+    static JsonComparator compile(
+            JsonValue expected, JsonComparator comparator) {
+
+        if (expected == null) {
+            return comparator;
+        }
+
+        JsonComparator.Builder builder = null;
+
+        Deque<JsonValue> values = new ArrayDeque<>();
+        Deque<JsonPath> paths = new ArrayDeque<>();
+        values.push(expected);
+        paths.push(JsonPath.ROOT);
+
+        while (!values.isEmpty()) {
+            JsonValue value = values.pop();
+            JsonPath path = paths.pop();
+
+            switch (value.getValueType()) {
+                case OBJECT:
+                    for (Map.Entry<String, JsonValue> member
+                            : value.asJsonObject().entrySet()) {
+                        values.push(member.getValue());
+                        paths.push(path.child(member.getKey()));
+                    }
+                    break;
+                case ARRAY:
+                    JsonArray array = value.asJsonArray();
+                    for (int i = 0; i < array.size(); i++) {
+                        values.push(array.get(i));
+                        paths.push(path.child(i));
+                    }
+                    break;
+                case STRING:
+                    JsonMatcher matcher =
+                            matcher(((JsonString) value).getString());
+                    if (matcher != null) {
+                        if (builder == null) {
+                            builder = comparator.toBuilder();
+                        }
+                        builder.matcher(path, matcher);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return builder != null ? builder.build() : comparator;
+    }
+
+    /**
+     * Compiles a string value into a matcher.
+     *
+     * @param s The string value
+     * @return The matcher or {@code null} if the value is not a token
+     */
+    static JsonMatcher matcher(String s) {
+        if (!s.endsWith("}")) {
+            return null;
+        }
+
+        if (s.startsWith("$$")) {
+            String token = s.substring(1);
+            if (!isToken(token)) {
+                return null;
+            }
+            JsonString literal = PROVIDER.createValue(token);
+            return JsonMatcher.describe(literal::equals, literal.toString());
+        }
+
+        switch (s) {
+            case ANY_STRING:
+                return ANY_STRING_MATCHER;
+            case ANY_NUMBER:
+                return ANY_NUMBER_MATCHER;
+            case IGNORE:
+                return IGNORE_MATCHER;
+            default:
+                return s.startsWith(REGEX_PREFIX)
+                        ? JsonMatcher.regex(s.substring(
+                                REGEX_PREFIX.length(), s.length() - 1))
+                        : null;
+        }
+    }
+
+    private static boolean isToken(String s) {
+        return ANY_STRING.equals(s)
+                || ANY_NUMBER.equals(s)
+                || IGNORE.equals(s)
+                || s.startsWith(REGEX_PREFIX) && s.endsWith("}");
+    }
+}
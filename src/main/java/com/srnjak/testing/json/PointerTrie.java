@@ -0,0 +1,141 @@
+package com.srnjak.testing.json;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Values assigned to JSON Pointer paths, organized as a tree of tokens.
+ *
+ * <p>A token {@code *} matches any member key or array index. While
+ * walking a document, a path is resolved token by token, so each value
+ * is matched in constant time. A token matches an exact child first
+ * and the wildcard child only if there is no exact one.</p>
+ *
+ * @param <T> The type of values
+ */
+final class PointerTrie<T> {
+
+    /**
+     * The token, which matches any member key or array index.
+     */
+    static final String WILDCARD = "*";
+
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    /**
+     * Assigns a value to a path, replacing a previous value.
+     *
+     * @param pointer The JSON Pointer of the path
+     * @param value The value
+     *
+     * @throws IllegalArgumentException If pointer is not a valid pointer
+     */
+    void put(String pointer, T value) {
+        put(JsonPointers.tokens(pointer), true, value);
+    }
+
+    /**
+     * Assigns a value to a path of unescaped tokens, replacing a previous
+     * value.
+     *
+     * @param tokens The tokens of the path
+     * @param wildcards Whether a token {@code *} is the wildcard rather
+     *      than a member key
+     * @param value The value
+     */
+    void put(String[] tokens, boolean wildcards, T value) {
+        Node<T> node = root;
+        for (String token : tokens) {
+            if (wildcards && WILDCARD.equals(token)) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node<>();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.children.computeIfAbsent(
+                        token, t -> new Node<>());
+            }
+        }
+        if (node.value == null) {
+            size++;
+        }
+        node.value = value;
+    }
+
+    /**
+     * The root node.
+     *
+     * @return The root node
+     */
+    Node<T> root() {
+        return root;
+    }
+
+    /**
+     * Whether no value is assigned.
+     *
+     * @return {@code true} if empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * A node of the tree.
+     *
+     * @param <T> The type of values
+     */
+    static final class Node<T> {
+
+        private final Map<String, Node<T>> children = new HashMap<>();
+        private Node<T> wildcard;
+        private T value;
+
+        /**
+         * The child node of a token.
+         *
+         * @param token The unescaped token
+         * @return The exact or the wildcard child or {@code null}
+         */
+        Node<T> child(String token) {
+            if (children.isEmpty()) {
+                return wildcard;
+            }
+            Node<T> child = children.get(token);
+            return child != null ? child : wildcard;
+        }
+
+        /**
+         * The wildcard child node.
+         *
+         * @return The wildcard child or {@code null}
+         */
+        Node<T> wildcard() {
+            return wildcard;
+        }
+
+        /**
+         * Whether all children match any token, so that they are the same
+         * for all elements of an array.
+         *
+         * @return {@code true} if there are no children other than
+         *      a wildcard leaf
+         */
+        boolean isUniform() {
+            return children.isEmpty()
+                    && (wildcard == null
+                            || wildcard.children.isEmpty()
+                                    && wildcard.wildcard == null);
+        }
+
+        /**
+         * The value assigned to this node.
+         *
+         * @return The value or {@code null}
+         */
+        T value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.srnjak.testing.json;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * The executor of polls of {@link AssertJson#assertEventually}.
+ *
+ * <p>This is the portable implementation, which runs polls on a shared
+ * pool of daemon threads. The multi-release jar contains another
+ * implementation for Java 21 and later, which runs each poll on
+ * a virtual thread.</p>
+ */
+final class PollingExecutor {
+
+    private static final Executor EXECUTOR = Executors.newCachedThreadPool(
+            r -> {
+                Thread thread = new Thread(r, "assert-json-poll");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private PollingExecutor() {
+    }
+
+    /**
+     * Runs a poll asynchronously.
+     *
+     * @param poll The poll
+     */
+    static void execute(Runnable poll) {
+        EXECUTOR.execute(poll);
+    }
+}
@@ -0,0 +1,41 @@
+package com.srnjak.testing.json;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Rows grouped by their long keys. Rows of a key are stored in an array
+ * after their count, so the rows of a key {@code k} are
+ * {@code get(k)[1]} to {@code get(k)[get(k)[0]]}.
+ */
+final class Postings {
+
+    private Postings() {
+    }
+
+    /**
+     * Groups rows by their keys.
+     *
+     * @param size The number of rows
+     * @param key The key of a row
+     * @return The rows by keys
+     */
+    static Map<Long, int[]> of(int size, IntToLongFunction key) {
+        Map<Long, int[]> postings = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            long k = key.applyAsLong(row);
+            int[] rows = postings.get(k);
+            if (rows == null) {
+                rows = new int[2];
+                postings.put(k, rows);
+            } else if (rows[0] + 1 == rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+                postings.put(k, rows);
+            }
+            rows[++rows[0]] = row;
+        }
+        return postings;
+    }
+}
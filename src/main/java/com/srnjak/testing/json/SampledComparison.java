@@ -0,0 +1,136 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+
+/**
+ * A comparison of two documents, which compares only sampled elements
+ * of arrays, as chosen by a {@link JsonSampling}.
+ *
+ * <p>Objects are compared entirely and sizes of arrays are always
+ * compared, so only a difference of an element, which is not sampled,
+ * goes unnoticed. Nested arrays of sampled elements are sampled
+ * as well. Documents are traversed iteratively.</p>
+ */
+final class SampledComparison {
+
+    private SampledComparison() {
+    }
+
+    /**
+     * Finds a difference between two documents.
+     *
+     * @param expected The expected document
+     * @param actual The actual document
+     * @param comparator The comparator of values
+     * @param sampling The sampling of arrays
+     * @return The message of a difference, or {@code null} if sampled
+     *      values are equal
+     *
+     * @throws org.opentest4j.AssertionFailedError If the maximum depth
+     *      of the comparator is exceeded
+     */
+    static String mismatch(
+            JsonValue expected,
+            JsonValue actual,
+            JsonComparator comparator,
+            JsonSampling sampling) {
+
+        Deque<Pair> pairs = new ArrayDeque<>();
+        pairs.push(new Pair(JsonPath.ROOT, expected, actual));
+
+        while (!pairs.isEmpty()) {
+            Pair pair = pairs.pop();
+            JsonPath path = pair.path;
+            JsonValue e = pair.expected;
+            JsonValue a = pair.actual;
+
+            if (e == a) {
+                continue;
+            }
+
+            JsonMatcher matcher = comparator.isExact()
+                    ? null
+                    : comparator.matcher(path);
+            if (matcher != null) {
+                if (!matcher.matches(a)) {
+                    return NOT_MATCHING.message(path, matcher);
+                }
+                continue;
+            }
+
+            JsonValue.ValueType type = e.getValueType();
+            if (type != a.getValueType()) {
+                return INVALID.message(path);
+            }
+
+            switch (type) {
+                case OBJECT:
+                    comparator.checkDepth(path);
+                    JsonObject eo = e.asJsonObject();
+                    JsonObject ao = a.asJsonObject();
+                    for (Map.Entry<String, JsonValue> m : eo.entrySet()) {
+                        JsonValue member = ao.get(m.getKey());
+                        if (member == null) {
+                            return MISSING.message(path.child(m.getKey()));
+                        }
+                        pairs.push(new Pair(
+                                path.child(m.getKey()), m.getValue(), member));
+                    }
+                    if (ao.size() != eo.size()) {
+                        for (String key : ao.keySet()) {
+                            if (!eo.containsKey(key)) {
+                                return UNEXPECTED.message(path.child(key));
+                            }
+                        }
+                    }
+                    break;
+                case ARRAY:
+                    comparator.checkDepth(path);
+                    JsonArray ea = e.asJsonArray();
+                    JsonArray aa = a.asJsonArray();
+                    if (ea.size() != aa.size()) {
+                        return INVALID_SIZE.message(
+                                path, ea.size(), aa.size());
+                    }
+                    int[] indexes = sampling.indexes(path, ea.size());
+                    for (int i = indexes.length - 1; i >= 0; i--) {
+                        int index = indexes[i];
+                        pairs.push(new Pair(
+                                path.child(index),
+                                ea.get(index),
+                                aa.get(index)));
+                    }
+                    break;
+                default:
+                    if (!comparator.scalarEquals(path, e, a)) {
+                        return INVALID.message(path);
+                    }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * A pending comparison of two values on a path.
+     */
+    private static final class Pair {
+
+        private final JsonPath path;
+        private final JsonValue expected;
+        private final JsonValue actual;
+
+        Pair(JsonPath path, JsonValue expected, JsonValue actual) {
+            this.path = path;
+            this.expected = expected;
+            this.actual = actual;
+        }
+    }
+}
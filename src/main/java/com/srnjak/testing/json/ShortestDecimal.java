@@ -0,0 +1,221 @@
+package com.srnjak.testing.json;
+
+import java.math.BigInteger;
+
+/**
+ * The shortest decimal, which rounds to a double precision value.
+ *
+ * <p>This is the Schubfach algorithm by Raffaello Giulietti, which
+ * {@link Double#toString(double)} uses since Java 19. Earlier versions
+ * of {@code Double.toString} do not always produce the shortest decimal,
+ * e.g. {@code 2e23} is rendered as {@code 1.9999999999999998E23}, so they
+ * can not be used for a serialization, which must not depend on the Java
+ * version.</p>
+ *
+ * <p>Among the shortest decimals, which round to the value, the one
+ * closest to the value is chosen, ties to an even significand, as
+ * required by ECMAScript {@code Number.prototype.toString}.</p>
+ */
+final class ShortestDecimal {
+
+    private static final int P = 53;
+    private static final int W = 11;
+    private static final int Q_MIN = -1074;
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final long C_MIN = 1L << P - 1;
+    private static final int BQ_MASK = (1 << W) - 1;
+    private static final long T_MASK = (1L << P - 1) - 1;
+    private static final long MASK_63 = (1L << 63) - 1;
+
+    private final long significand;
+    private final int exponent;
+
+    private ShortestDecimal(long significand, int exponent) {
+        // trailing zeros are not significant
+        while (significand % 10 == 0) {
+            significand /= 10;
+            exponent++;
+        }
+        this.significand = significand;
+        this.exponent = exponent;
+    }
+
+    /**
+     * Finds the shortest decimal of a positive finite value.
+     *
+     * @param v The value
+     * @return The decimal
+     *
+     * @throws IllegalArgumentException If v is not positive and finite
+     */
+    static ShortestDecimal of(double v) {
+        if (!(v > 0) || Double.isInfinite(v)) {
+            throw new IllegalArgumentException("Not positive: " + v);
+        }
+
+        long bits = Double.doubleToRawLongBits(v);
+        long t = bits & T_MASK;
+        int bq = (int) (bits >>> P - 1) & BQ_MASK;
+
+        if (bq == 0) {
+            // subnormal value
+            return toDecimal(Q_MIN, t);
+        }
+
+        int mq = -Q_MIN + 1 - bq;
+        long c = C_MIN | t;
+
+        // an integer of at most 53 bits is its own shortest decimal
+        if (0 < mq && mq < P) {
+            long f = c >> mq;
+            if (f << mq == c) {
+                return new ShortestDecimal(f, 0);
+            }
+        }
+        return toDecimal(-mq, c);
+    }
+
+    /**
+     * The decimal digits of the significand, without trailing zeros.
+     *
+     * @return The digits
+     */
+    String getDigits() {
+        return Long.toString(significand);
+    }
+
+    /**
+     * The decimal exponent of the value {@code significand * 10^exponent}.
+     *
+     * @return The exponent
+     */
+    int getExponent() {
+        return exponent;
+    }
+
+    /**
+     * Finds the decimal of {@code c * 2^q}.
+     */
+    private static ShortestDecimal toDecimal(int q, long c) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+
+        if (c != C_MIN || q == Q_MIN) {
+            // regular spacing
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            // irregular spacing, at a power of two
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        long g1 = Powers.g1(k);
+        long g0 = Powers.g0(k);
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 10) {
+            // a decimal of one digit less, s' = floor(s / 10), which
+            // Double.toString does not consider below two digits
+            long sp10 = 10 * Math.multiplyHigh(
+                    s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return new ShortestDecimal(upin ? sp10 : tp10, k);
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return new ShortestDecimal(uin ? s : t, k);
+        }
+
+        // both lie in the rounding interval, the closest is chosen
+        long cmp = vb - (s + t << 1);
+        return new ShortestDecimal(
+                cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k);
+    }
+
+    /**
+     * Rounds {@code g * cp / 2^127} to odd.
+     */
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L - 274_743_187_321L >> 41);
+    }
+
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    /**
+     * The 126-bit approximations {@code g} of powers of ten, where
+     * {@code 10^-k = b 2^r}, {@code 2^125 <= b < 2^126} and
+     * {@code g = floor(b) + 1}, split into the higher and the lower
+     * 63 bits. They are computed once, on first use.
+     */
+    private static final class Powers {
+
+        private static final long[] G = table();
+
+        private Powers() {
+        }
+
+        static long g1(int k) {
+            return G[(k - K_MIN) << 1];
+        }
+
+        static long g0(int k) {
+            return G[(k - K_MIN) << 1 | 1];
+        }
+
+        private static long[] table() {
+            long[] g = new long[(K_MAX - K_MIN + 1) << 1];
+            BigInteger mask = BigInteger.ONE.shiftLeft(63)
+                    .subtract(BigInteger.ONE);
+
+            for (int k = K_MIN; k <= K_MAX; k++) {
+                int r = flog2pow10(-k) - 125;
+
+                BigInteger b;
+                if (k <= 0) {
+                    BigInteger pow = BigInteger.TEN.pow(-k);
+                    b = r <= 0 ? pow.shiftLeft(-r) : pow.shiftRight(r);
+                } else {
+                    b = BigInteger.ONE.shiftLeft(-r)
+                            .divide(BigInteger.TEN.pow(k));
+                }
+                b = b.add(BigInteger.ONE);
+
+                g[(k - K_MIN) << 1] = b.shiftRight(63).longValueExact();
+                g[(k - K_MIN) << 1 | 1] = b.and(mask).longValueExact();
+            }
+            return g;
+        }
+    }
+}
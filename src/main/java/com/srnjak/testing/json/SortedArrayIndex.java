@@ -0,0 +1,170 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.*;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * An index of an array of scalars of a single type, sorted in ascending
+ * order, such as a list of ids or timestamps. Values are extracted into
+ * a primitive array once and looked up by binary search.
+ */
+abstract class SortedArrayIndex implements ArrayIndex {
+
+    /**
+     * Creates an index of an array, if all of its elements are numbers
+     * or all of them are strings, in ascending order.
+     *
+     * @param array The non-empty {@link JsonArray}
+     * @return The index or empty if the array is not suitable
+     */
+    static Optional<ArrayIndex> of(JsonArray array) {
+        switch (array.get(0).getValueType()) {
+            case NUMBER:
+                return numbers(array);
+            case STRING:
+                return strings(array);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static Optional<ArrayIndex> numbers(JsonArray array) {
+        int n = array.size();
+
+        long[] longs = new long[n];
+        int i = 0;
+        for (; i < n; i++) {
+            JsonValue value = array.get(i);
+            if (!NumericArrays.isLong(value)) {
+                break;
+            }
+            longs[i] = ((JsonNumber) value).longValue();
+            if (i > 0 && longs[i] < longs[i - 1]) {
+                return Optional.empty();
+            }
+        }
+
+        if (i == n) {
+            return Optional.of(new Longs(longs));
+        }
+
+        double[] doubles = new double[n];
+        BigDecimal previous = null;
+        for (int j = 0; j < n; j++) {
+            JsonValue value = array.get(j);
+            if (value.getValueType() != JsonValue.ValueType.NUMBER) {
+                return Optional.empty();
+            }
+
+            BigDecimal number = ((JsonNumber) value).bigDecimalValue();
+            if (previous != null && number.compareTo(previous) < 0) {
+                return Optional.empty();
+            }
+            doubles[j] = number.doubleValue();
+            previous = number;
+        }
+
+        return Optional.of(new Decimals(array, doubles));
+    }
+
+    private static Optional<ArrayIndex> strings(JsonArray array) {
+        int n = array.size();
+
+        String[] strings = new String[n];
+        for (int i = 0; i < n; i++) {
+            JsonValue value = array.get(i);
+            if (value.getValueType() != JsonValue.ValueType.STRING) {
+                return Optional.empty();
+            }
+            strings[i] = ((JsonString) value).getString();
+            if (i > 0 && strings[i].compareTo(strings[i - 1]) < 0) {
+                return Optional.empty();
+            }
+        }
+
+        return Optional.of(new Strings(strings));
+    }
+
+    /**
+     * Sorted integral numbers, which fit into a long.
+     */
+    private static final class Longs extends SortedArrayIndex {
+
+        private final long[] values;
+
+        Longs(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean contains(JsonValue value) {
+            return NumericArrays.isLong(value)
+                    && Arrays.binarySearch(
+                            values, ((JsonNumber) value).longValue()) >= 0;
+        }
+    }
+
+    /**
+     * Sorted numbers of any scale. They are searched by their double
+     * values, which are in the same order, and numbers with the same
+     * double value are then compared exactly.
+     */
+    private static final class Decimals extends SortedArrayIndex {
+
+        private final JsonArray array;
+        private final double[] values;
+
+        Decimals(JsonArray array, double[] values) {
+            this.array = array;
+            this.values = values;
+        }
+
+        @Override
+        public boolean contains(JsonValue value) {
+            if (value.getValueType() != JsonValue.ValueType.NUMBER) {
+                return false;
+            }
+
+            double key =
+                    ((JsonNumber) value).bigDecimalValue().doubleValue();
+            int found = Arrays.binarySearch(values, key);
+            if (found < 0) {
+                return false;
+            }
+
+            for (int i = found; i >= 0 && values[i] == key; i--) {
+                if (JsonComparator.DEFAULT.equals(value, array.get(i))) {
+                    return true;
+                }
+            }
+            for (int i = found + 1; i < values.length && values[i] == key;
+                    i++) {
+                if (JsonComparator.DEFAULT.equals(value, array.get(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Sorted strings.
+     */
+    private static final class Strings extends SortedArrayIndex {
+
+        private final String[] values;
+
+        Strings(String[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean contains(JsonValue value) {
+            return value.getValueType() == JsonValue.ValueType.STRING
+                    && Arrays.binarySearch(
+                            values, ((JsonString) value).getString()) >= 0;
+        }
+    }
+}
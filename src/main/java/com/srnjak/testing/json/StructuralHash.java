@@ -0,0 +1,235 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.*;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A 64-bit structural hash of a {@link JsonValue}.
+ *
+ * <p>Semantically equal values have equal hashes: the hash of an object
+ * does not depend on the order of its members and the hash of a number
+ * is consistent with {@link JsonNumber#equals(Object)}. Different values
+ * may collide, so equal hashes must be confirmed by a deep comparison.</p>
+ *
+ * <p>Values are traversed iteratively, so the hash of a deeply nested
+ * value is computed in constant thread stack space.</p>
+ */
+class StructuralHash {
+
+    private static final long NULL = 0x5bd1e9955bd1e995L;
+    private static final long TRUE = 0x2127599bf4325c37L;
+    private static final long FALSE = 0x880355f21e6d1965L;
+    private static final long OBJECT = 0x9e3779b97f4a7c15L;
+    private static final long ARRAY = 0xc2b2ae3d27d4eb4fL;
+
+    private static final int INITIAL_STACK_CAPACITY = 32;
+
+    private StructuralHash() {
+    }
+
+    /**
+     * Computes the hash of a {@link JsonValue}.
+     *
+     * @param value The {@link JsonValue}
+     * @return The hash
+     */
+    static long of(JsonValue value) {
+        return of(value, null);
+    }
+
+    /**
+     * Computes the hash of a {@link JsonValue}, reusing and recording
+     * hashes of containers in a cache. Containers are cached by
+     * identity, so the hash of a shared subtree is computed once.
+     *
+     * @param value The {@link JsonValue}
+     * @param cache The cache of container hashes or {@code null}
+     * @return The hash
+     */
+    static long of(JsonValue value, Map<JsonValue, Long> cache) {
+        if (!isContainer(value)) {
+            return scalar(value);
+        }
+
+        Long cached = cache != null ? cache.get(value) : null;
+        if (cached != null) {
+            return cached;
+        }
+
+        JsonValue[] containers = new JsonValue[INITIAL_STACK_CAPACITY];
+        // a generic array is created as a wildcard array, which holds
+        // only the iterators of members
+        @SuppressWarnings("unchecked")
+        Iterator<Map.Entry<String, JsonValue>>[] members =
+                (Iterator<Map.Entry<String, JsonValue>>[])
+                        new Iterator<?>[INITIAL_STACK_CAPACITY];
+        int[] indexes = new int[INITIAL_STACK_CAPACITY];
+        long[] hashes = new long[INITIAL_STACK_CAPACITY];
+        long[] keyHashes = new long[INITIAL_STACK_CAPACITY];
+
+        int size = 0;
+        JsonValue next = value;
+
+        while (true) {
+            if (next != null) {
+                if (size == containers.length) {
+                    int capacity = size * 2;
+                    containers = Arrays.copyOf(containers, capacity);
+                    members = Arrays.copyOf(members, capacity);
+                    indexes = Arrays.copyOf(indexes, capacity);
+                    hashes = Arrays.copyOf(hashes, capacity);
+                    keyHashes = Arrays.copyOf(keyHashes, capacity);
+                }
+
+                boolean object =
+                        next.getValueType() == JsonValue.ValueType.OBJECT;
+                containers[size] = next;
+                members[size] = object
+                        ? next.asJsonObject().entrySet().iterator()
+                        : null;
+                indexes[size] = 0;
+                hashes[size] = object ? OBJECT : ARRAY;
+                size++;
+                next = null;
+            }
+
+            int top = size - 1;
+            long completed;
+
+            if (members[top] != null) {
+                if (members[top].hasNext()) {
+                    Map.Entry<String, JsonValue> e = members[top].next();
+                    long keyHash = of(e.getKey());
+                    Long hash = cache != null ? cache.get(e.getValue()) : null;
+
+                    if (hash != null) {
+                        hashes[top] += member(keyHash, hash);
+                    } else if (isContainer(e.getValue())) {
+                        keyHashes[top] = keyHash;
+                        next = e.getValue();
+                    } else {
+                        hashes[top] +=
+                                member(keyHash, scalar(e.getValue()));
+                    }
+                    continue;
+                }
+            } else {
+                JsonArray array = containers[top].asJsonArray();
+                if (indexes[top] < array.size()) {
+                    JsonValue e = array.get(indexes[top]++);
+                    Long hash = cache != null ? cache.get(e) : null;
+
+                    if (hash != null) {
+                        hashes[top] = element(hashes[top], hash);
+                    } else if (isContainer(e)) {
+                        next = e;
+                    } else {
+                        hashes[top] = element(hashes[top], scalar(e));
+                    }
+                    continue;
+                }
+            }
+
+            completed = mix(hashes[top]);
+            if (cache != null) {
+                cache.put(containers[top], completed);
+            }
+            containers[top] = null;
+            members[top] = null;
+            size--;
+
+            if (size == 0) {
+                return completed;
+            }
+
+            int parent = size - 1;
+            if (members[parent] != null) {
+                hashes[parent] += member(keyHashes[parent], completed);
+            } else {
+                hashes[parent] = element(hashes[parent], completed);
+            }
+        }
+    }
+
+    /**
+     * Computes the hash of a scalar {@link JsonValue}.
+     *
+     * @param value The scalar {@link JsonValue}
+     * @return The hash
+     */
+    static long scalar(JsonValue value) {
+        switch (value.getValueType()) {
+            case STRING:
+                return of(((JsonString) value).getString());
+            case NUMBER:
+                return mix(((JsonNumber) value).bigDecimalValue().hashCode());
+            case TRUE:
+                return TRUE;
+            case FALSE:
+                return FALSE;
+            default:
+                return NULL;
+        }
+    }
+
+    /**
+     * Computes the hash of a string.
+     *
+     * @param s The string
+     * @return The hash
+     */
+    static long of(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h = (h ^ s.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * Combines the hashes of an object member. Member hashes
+     * of an object are summed, so their order does not matter.
+     *
+     * @param keyHash The hash of the key
+     * @param valueHash The hash of the value
+     * @return The member hash
+     */
+    static long member(long keyHash, long valueHash) {
+        return mix(keyHash * 31 + valueHash);
+    }
+
+    /**
+     * Appends the hash of an array element to the hash of preceding
+     * elements.
+     *
+     * @param hash The hash of the preceding elements
+     * @param elementHash The hash of the element
+     * @return The combined hash
+     */
+    static long element(long hash, long elementHash) {
+        return hash * 0x100000001b3L + elementHash;
+    }
+
+    /**
+     * Finalizes a hash.
+     *
+     * @param h The hash
+     * @return The finalized hash
+     */
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static boolean isContainer(JsonValue value) {
+        JsonValue.ValueType type = value.getValueType();
+        return type == JsonValue.ValueType.OBJECT
+                || type == JsonValue.ValueType.ARRAY;
+    }
+}
@@ -0,0 +1,108 @@
+package com.srnjak.testing.json;
+
+import jakarta.json.JsonValue;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Semantic equality of two json trees, which may be of different
+ * libraries.
+ *
+ * <p>Trees are walked natively through their {@link JsonTree}s, without
+ * being converted or serialized. The equality is the same as of
+ * {@link JsonComparator#DEFAULT}: numbers are equal if they have the same
+ * value and scale. A floating point number, which does not keep its
+ * scale, is equal to a number of the same value. Trees are traversed
+ * iteratively, so deeply nested trees are compared in constant thread
+ * stack space.</p>
+ *
+ * @param <A> The type of nodes of the expected tree
+ * @param <B> The type of nodes of the actual tree
+ */
+final class TreeComparator<A, B> {
+
+    private final JsonTree<A> expectedTree;
+    private final JsonTree<B> actualTree;
+
+    TreeComparator(JsonTree<A> expectedTree, JsonTree<B> actualTree) {
+        this.expectedTree = expectedTree;
+        this.actualTree = actualTree;
+    }
+
+    /**
+     * Whether two trees are semantically equal.
+     *
+     * @param expected The root of the expected tree
+     * @param actual The root of the actual tree
+     * @return {@code true} if equal
+     */
+    boolean equals(A expected, B actual) {
+        Deque<A> expectedNodes = new ArrayDeque<>();
+        Deque<B> actualNodes = new ArrayDeque<>();
+        expectedNodes.push(expected);
+        actualNodes.push(actual);
+
+        while (!expectedNodes.isEmpty()) {
+            A e = expectedNodes.pop();
+            B a = actualNodes.pop();
+
+            JsonValue.ValueType type = expectedTree.type(e);
+            if (type != actualTree.type(a)) {
+                return false;
+            }
+
+            switch (type) {
+                case OBJECT:
+                    if (expectedTree.size(e) != actualTree.size(a)) {
+                        return false;
+                    }
+                    for (Iterator<String> keys = expectedTree.keys(e);
+                            keys.hasNext();) {
+                        String key = keys.next();
+                        B member = actualTree.member(a, key);
+                        if (member == null) {
+                            return false;
+                        }
+                        expectedNodes.push(expectedTree.member(e, key));
+                        actualNodes.push(member);
+                    }
+                    break;
+                case ARRAY:
+                    int size = expectedTree.size(e);
+                    if (size != actualTree.size(a)) {
+                        return false;
+                    }
+                    for (int i = size - 1; i >= 0; i--) {
+                        expectedNodes.push(expectedTree.element(e, i));
+                        actualNodes.push(actualTree.element(a, i));
+                    }
+                    break;
+                case STRING:
+                    if (!expectedTree.string(e).equals(actualTree.string(a))) {
+                        return false;
+                    }
+                    break;
+                case NUMBER:
+                    if (!numberEquals(e, a)) {
+                        return false;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean numberEquals(A expected, B actual) {
+        BigDecimal e = expectedTree.number(expected);
+        BigDecimal a = actualTree.number(actual);
+        return expectedTree.isFloatingPoint(expected)
+                || actualTree.isFloatingPoint(actual)
+                ? e.compareTo(a) == 0
+                : e.equals(a);
+    }
+}
@@ -0,0 +1,666 @@
+package com.srnjak.testing.json;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares two UTF-8 encoded json documents directly from their bytes,
+ * without building object trees.
+ *
+ * <p>Scalar tokens are compared in place. Object members are compared
+ * pairwise as long as both objects list their keys in the same order;
+ * only when the order differs, the remaining members of the actual object
+ * are indexed by key.</p>
+ *
+ * <p>A difference is reported only after both documents have been
+ * scanned to their ends and found well-formed and free of duplicate
+ * keys, which a tree comparison would resolve by the last member.</p>
+ */
+class Utf8JsonComparator {
+
+    /**
+     * The result of a comparison.
+     */
+    enum Result {
+
+        /**
+         * The documents are semantically equal.
+         */
+        EQUAL,
+
+        /**
+         * The documents are not semantically equal. Both are well-formed
+         * and have no duplicate keys.
+         */
+        NOT_EQUAL,
+
+        /**
+         * The documents could not be compared on byte level, e.g. because
+         * of malformed input, an unsupported encoding or duplicate keys.
+         */
+        UNKNOWN
+    }
+
+    private static final int MAX_DEPTH = 1000;
+
+    private static final Malformed MALFORMED = new Malformed();
+
+    private Utf8JsonComparator() {
+    }
+
+    /**
+     * Compares two documents.
+     *
+     * @param expected The expected document
+     * @param actual The actual document
+     * @return The result of the comparison
+     */
+    static Result compare(byte[] expected, byte[] actual) {
+        return compare(
+                new Cursor(expected, 0, expected.length),
+                new Cursor(actual, 0, actual.length));
+    }
+
+    /**
+     * Compares two documents. Positions of the buffers are not changed.
+     *
+     * @param expected The expected document
+     * @param actual The actual document
+     * @return The result of the comparison
+     */
+    static Result compare(ByteBuffer expected, ByteBuffer actual) {
+        return compare(Cursor.of(expected), Cursor.of(actual));
+    }
+
+    private static Result compare(Cursor a, Cursor b) {
+        int aStart = a.pos;
+        int bStart = b.pos;
+
+        try {
+            if (compareValue(a, b, 0)) {
+                a.skipWhitespace();
+                b.skipWhitespace();
+                return a.atEnd() && b.atEnd()
+                        ? Result.EQUAL
+                        : Result.UNKNOWN;
+            }
+
+            // the rest of the documents is not scanned by the comparison
+            a.pos = aStart;
+            b.pos = bStart;
+            return a.isValidDocument() && b.isValidDocument()
+                    ? Result.NOT_EQUAL
+                    : Result.UNKNOWN;
+        } catch (Malformed e) {
+            return Result.UNKNOWN;
+        }
+    }
+
+    private static boolean compareValue(Cursor a, Cursor b, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw MALFORMED;
+        }
+
+        a.skipWhitespace();
+        b.skipWhitespace();
+
+        byte ca = a.peek();
+        byte cb = b.peek();
+
+        switch (ca) {
+            case '{':
+                return cb == '{' && compareObject(a, b, depth);
+            case '[':
+                return cb == '[' && compareArray(a, b, depth);
+            case '"':
+                return cb == '"' && compareString(a, b);
+            case 't':
+                return cb == 't' && a.literal(Cursor.TRUE)
+                        && b.literal(Cursor.TRUE);
+            case 'f':
+                return cb == 'f' && a.literal(Cursor.FALSE)
+                        && b.literal(Cursor.FALSE);
+            case 'n':
+                return cb == 'n' && a.literal(Cursor.NULL)
+                        && b.literal(Cursor.NULL);
+            default:
+                if (!Cursor.isNumberStart(ca)) {
+                    throw MALFORMED;
+                }
+                return Cursor.isNumberStart(cb) && compareNumber(a, b);
+        }
+    }
+
+    private static boolean compareArray(Cursor a, Cursor b, int depth) {
+        a.next();
+        b.next();
+
+        a.skipWhitespace();
+        b.skipWhitespace();
+        if (a.peek() == ']' || b.peek() == ']') {
+            if (a.peek() != b.peek()) {
+                return false;
+            }
+            a.next();
+            b.next();
+            return true;
+        }
+
+        while (true) {
+            if (!compareValue(a, b, depth + 1)) {
+                return false;
+            }
+
+            a.skipWhitespace();
+            b.skipWhitespace();
+
+            byte ca = a.next();
+            byte cb = b.next();
+            if (ca != ',' && ca != ']' || cb != ',' && cb != ']') {
+                throw MALFORMED;
+            }
+            if (ca != cb) {
+                return false;
+            }
+            if (ca == ']') {
+                return true;
+            }
+        }
+    }
+
+    private static boolean compareObject(Cursor a, Cursor b, int depth) {
+        a.next();
+        b.next();
+
+        a.skipWhitespace();
+        b.skipWhitespace();
+        if (a.peek() == '}' || b.peek() == '}') {
+            if (a.peek() != b.peek()) {
+                return false;
+            }
+            a.next();
+            b.next();
+            return true;
+        }
+
+        // members in the same order
+        while (true) {
+            int aMember = a.pos;
+            int bMember = b.pos;
+
+            int aKeyEnd = a.skipString();
+            int bKeyEnd = b.skipString();
+
+            if (!Cursor.stringEquals(
+                    a, aMember, aKeyEnd, b, bMember, bKeyEnd)) {
+                a.pos = aMember;
+                b.pos = bMember;
+                return compareMembersByKey(a, b, depth);
+            }
+
+            a.skipWhitespace();
+            b.skipWhitespace();
+            a.expect((byte) ':');
+            b.expect((byte) ':');
+
+            if (!compareValue(a, b, depth + 1)) {
+                return false;
+            }
+
+            a.skipWhitespace();
+            b.skipWhitespace();
+
+            byte ca = a.next();
+            byte cb = b.next();
+            if (ca != ',' && ca != '}' || cb != ',' && cb != '}') {
+                throw MALFORMED;
+            }
+            if (ca != cb) {
+                return false;
+            }
+            if (ca == '}') {
+                return true;
+            }
+
+            a.skipWhitespace();
+            b.skipWhitespace();
+        }
+    }
+
+    private static boolean compareMembersByKey(
+            Cursor a, Cursor b, int depth) {
+
+        // index the remaining members of the actual object
+        Map<String, Integer> offsets = new HashMap<>();
+        while (true) {
+            b.skipWhitespace();
+            int keyStart = b.pos;
+            int keyEnd = b.skipString();
+            String key = b.decodeString(keyStart, keyEnd);
+
+            b.skipWhitespace();
+            b.expect((byte) ':');
+            b.skipWhitespace();
+
+            if (offsets.put(key, b.pos) != null) {
+                throw MALFORMED;
+            }
+
+            b.skipValue(depth + 1, false);
+            b.skipWhitespace();
+
+            byte cb = b.next();
+            if (cb == '}') {
+                break;
+            }
+            if (cb != ',') {
+                throw MALFORMED;
+            }
+        }
+        int end = b.pos;
+
+        Map<String, Boolean> seen = new HashMap<>();
+        while (true) {
+            a.skipWhitespace();
+            int keyStart = a.pos;
+            int keyEnd = a.skipString();
+            String key = a.decodeString(keyStart, keyEnd);
+
+            a.skipWhitespace();
+            a.expect((byte) ':');
+
+            if (seen.put(key, Boolean.TRUE) != null) {
+                throw MALFORMED;
+            }
+
+            Integer offset = offsets.get(key);
+            if (offset == null) {
+                return false;
+            }
+
+            b.pos = offset;
+            if (!compareValue(a, b, depth + 1)) {
+                return false;
+            }
+
+            a.skipWhitespace();
+            byte ca = a.next();
+            if (ca == '}') {
+                break;
+            }
+            if (ca != ',') {
+                throw MALFORMED;
+            }
+        }
+
+        b.pos = end;
+        return seen.size() == offsets.size();
+    }
+
+    private static boolean compareString(Cursor a, Cursor b) {
+        int aStart = a.pos;
+        int bStart = b.pos;
+        int aEnd = a.skipString();
+        int bEnd = b.skipString();
+
+        return Cursor.stringEquals(a, aStart, aEnd, b, bStart, bEnd);
+    }
+
+    private static boolean compareNumber(Cursor a, Cursor b) {
+        int aStart = a.pos;
+        int bStart = b.pos;
+        int aEnd = a.skipNumber();
+        int bEnd = b.skipNumber();
+
+        if (Cursor.rangeEquals(a.buf, aStart, aEnd, b.buf, bStart, bEnd)) {
+            return true;
+        }
+
+        try {
+            return a.decodeNumber(aStart, aEnd)
+                    .equals(b.decodeNumber(bStart, bEnd));
+        } catch (NumberFormatException e) {
+            throw MALFORMED;
+        }
+    }
+
+    /**
+     * A position within a buffer of UTF-8 encoded json.
+     */
+    private static final class Cursor {
+
+        static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+        static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+        static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+        final byte[] buf;
+        final int limit;
+        int pos;
+
+        Cursor(byte[] buf, int pos, int limit) {
+            this.buf = buf;
+            this.pos = pos;
+            this.limit = limit;
+        }
+
+        static Cursor of(ByteBuffer buffer) {
+            if (buffer.hasArray()) {
+                int offset = buffer.arrayOffset();
+                return new Cursor(
+                        buffer.array(),
+                        offset + buffer.position(),
+                        offset + buffer.limit());
+            }
+
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            return new Cursor(bytes, 0, bytes.length);
+        }
+
+        static boolean isNumberStart(byte c) {
+            return c == '-' || c >= '0' && c <= '9';
+        }
+
+        static boolean rangeEquals(
+                byte[] a, int aFrom, int aTo, byte[] b, int bFrom, int bTo) {
+            return ArrayMismatch.equals(a, aFrom, aTo, b, bFrom, bTo);
+        }
+
+        /**
+         * Compares two string tokens, including their quotes.
+         */
+        static boolean stringEquals(
+                Cursor a, int aStart, int aEnd,
+                Cursor b, int bStart, int bEnd) {
+
+            if (rangeEquals(a.buf, aStart, aEnd, b.buf, bStart, bEnd)) {
+                return true;
+            }
+
+            if (!a.hasEscape(aStart, aEnd) && !b.hasEscape(bStart, bEnd)) {
+                return false;
+            }
+
+            return a.decodeString(aStart, aEnd)
+                    .equals(b.decodeString(bStart, bEnd));
+        }
+
+        boolean atEnd() {
+            return pos >= limit;
+        }
+
+        byte peek() {
+            if (pos >= limit) {
+                throw MALFORMED;
+            }
+            return buf[pos];
+        }
+
+        byte next() {
+            byte c = peek();
+            pos++;
+            return c;
+        }
+
+        void expect(byte c) {
+            if (next() != c) {
+                throw MALFORMED;
+            }
+        }
+
+        void skipWhitespace() {
+            while (pos < limit) {
+                byte c = buf[pos];
+                if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                    return;
+                }
+                pos++;
+            }
+        }
+
+        boolean literal(byte[] literal) {
+            if (limit - pos < literal.length || !rangeEquals(
+                    buf, pos, pos + literal.length,
+                    literal, 0, literal.length)) {
+                throw MALFORMED;
+            }
+            pos += literal.length;
+            return true;
+        }
+
+        /**
+         * Skips a string token.
+         *
+         * @return The position after the closing quote
+         */
+        int skipString() {
+            expect((byte) '"');
+            while (true) {
+                byte c = next();
+                if (c == '"') {
+                    return pos;
+                }
+                if (c == '\\') {
+                    next();
+                } else if (c >= 0 && c < 0x20) {
+                    throw MALFORMED;
+                }
+            }
+        }
+
+        /**
+         * Skips a number token.
+         *
+         * @return The position after the number
+         */
+        int skipNumber() {
+            if (at('-')) {
+                pos++;
+            }
+
+            if (at('0')) {
+                pos++;
+            } else {
+                skipDigits();
+            }
+
+            if (at('.')) {
+                pos++;
+                skipDigits();
+            }
+
+            if (at('e') || at('E')) {
+                pos++;
+                if (at('+') || at('-')) {
+                    pos++;
+                }
+                skipDigits();
+            }
+
+            return pos;
+        }
+
+        private boolean at(char c) {
+            return pos < limit && buf[pos] == c;
+        }
+
+        private void skipDigits() {
+            int start = pos;
+            while (pos < limit && buf[pos] >= '0' && buf[pos] <= '9') {
+                pos++;
+            }
+            if (pos == start) {
+                throw MALFORMED;
+            }
+        }
+
+        /**
+         * Whether the rest of the buffer is a single well-formed document
+         * without duplicate keys.
+         *
+         * @return {@code true} if valid
+         */
+        boolean isValidDocument() {
+            try {
+                skipValue(0, true);
+                skipWhitespace();
+                return atEnd();
+            } catch (Malformed e) {
+                return false;
+            }
+        }
+
+        /**
+         * Skips a value.
+         *
+         * @param depth The depth of the value
+         * @param unique Whether to verify that keys of objects are unique
+         */
+        void skipValue(int depth, boolean unique) {
+            if (depth > MAX_DEPTH) {
+                throw MALFORMED;
+            }
+
+            skipWhitespace();
+            byte c = peek();
+            switch (c) {
+                case '{':
+                case '[':
+                    byte close = c == '{' ? (byte) '}' : (byte) ']';
+                    next();
+                    skipWhitespace();
+                    if (peek() == close) {
+                        next();
+                        return;
+                    }
+                    Set<String> keys = unique && c == '{'
+                            ? new HashSet<>()
+                            : null;
+                    while (true) {
+                        if (c == '{') {
+                            skipWhitespace();
+                            int keyStart = pos;
+                            int keyEnd = skipString();
+                            if (keys != null && !keys.add(
+                                    decodeString(keyStart, keyEnd))) {
+                                throw MALFORMED;
+                            }
+                            skipWhitespace();
+                            expect((byte) ':');
+                        }
+                        skipValue(depth + 1, unique);
+                        skipWhitespace();
+                        byte n = next();
+                        if (n == close) {
+                            return;
+                        }
+                        if (n != ',') {
+                            throw MALFORMED;
+                        }
+                    }
+                case '"':
+                    skipString();
+                    return;
+                case 't':
+                    literal(TRUE);
+                    return;
+                case 'f':
+                    literal(FALSE);
+                    return;
+                case 'n':
+                    literal(NULL);
+                    return;
+                default:
+                    if (!isNumberStart(c)) {
+                        throw MALFORMED;
+                    }
+                    skipNumber();
+            }
+        }
+
+        private boolean hasEscape(int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (buf[i] == '\\') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Decodes a string token, including its quotes.
+         */
+        String decodeString(int start, int end) {
+            if (!hasEscape(start, end)) {
+                return new String(
+                        buf, start + 1, end - start - 2,
+                        StandardCharsets.UTF_8);
+            }
+
+            StringBuilder sb = new StringBuilder(end - start);
+            int i = start + 1;
+            int last = end - 1;
+            while (i < last) {
+                int from = i;
+                while (i < last && buf[i] != '\\') {
+                    i++;
+                }
+                sb.append(new String(
+                        buf, from, i - from, StandardCharsets.UTF_8));
+
+                if (i < last) {
+                    byte e = buf[i + 1];
+                    i += 2;
+                    switch (e) {
+                        case '"': sb.append('"'); break;
+                        case '\\': sb.append('\\'); break;
+                        case '/': sb.append('/'); break;
+                        case 'b': sb.append('\b'); break;
+                        case 'f': sb.append('\f'); break;
+                        case 'n': sb.append('\n'); break;
+                        case 'r': sb.append('\r'); break;
+                        case 't': sb.append('\t'); break;
+                        case 'u':
+                            if (last - i < 4) {
+                                throw MALFORMED;
+                            }
+                            try {
+                                sb.append((char) Integer.parseInt(new String(
+                                        buf, i, 4,
+                                        StandardCharsets.US_ASCII), 16));
+                            } catch (NumberFormatException ex) {
+                                throw MALFORMED;
+                            }
+                            i += 4;
+                            break;
+                        default:
+                            throw MALFORMED;
+                    }
+                }
+            }
+            return sb.toString();
+        }
+
+        BigDecimal decodeNumber(int start, int end) {
+            return new BigDecimal(new String(
+                    buf, start, end - start, StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * Signals input, which can not be compared on byte level.
+     */
+    private static final class Malformed extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        Malformed() {
+            super(null, null, false, false);
+        }
+    }
+}
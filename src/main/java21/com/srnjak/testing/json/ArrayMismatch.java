@@ -0,0 +1,59 @@
+package com.srnjak.testing.json;
+
+import java.util.Arrays;
+
+/**
+ * Bulk comparison of primitive arrays.
+ *
+ * <p>This implementation is used on Java 21 and later. It compares
+ * arrays with the Vector API, if the {@code jdk.incubator.vector} module
+ * is added to the runtime with {@code --add-modules}, and falls back
+ * to the portable implementation otherwise.</p>
+ */
+final class ArrayMismatch {
+
+    private static final boolean VECTORIZED = ModuleLayer.boot()
+            .findModule("jdk.incubator.vector")
+            .isPresent();
+
+    private ArrayMismatch() {
+    }
+
+    /**
+     * Finds the first index, at which two arrays of the same length
+     * differ.
+     *
+     * @param a The first array
+     * @param b The second array of the same length
+     * @param from The index to start at
+     * @return The index or -1 if there is no mismatch
+     */
+    static int mismatch(long[] a, long[] b, int from) {
+        if (VECTORIZED) {
+            return VectorMismatch.mismatch(a, b, from);
+        }
+
+        int mismatch = Arrays.mismatch(a, from, a.length, b, from, b.length);
+        return mismatch < 0 ? -1 : from + mismatch;
+    }
+
+    /**
+     * Whether two ranges of bytes are equal.
+     *
+     * @param a The first array
+     * @param aFrom The start of the first range, inclusive
+     * @param aTo The end of the first range, exclusive
+     * @param b The second array
+     * @param bFrom The start of the second range, inclusive
+     * @param bTo The end of the second range, exclusive
+     * @return {@code true} if equal
+     */
+    static boolean equals(
+            byte[] a, int aFrom, int aTo, byte[] b, int bFrom, int bTo) {
+        if (VECTORIZED) {
+            return VectorMismatch.equals(a, aFrom, aTo, b, bFrom, bTo);
+        }
+
+        return Arrays.equals(a, aFrom, aTo, b, bFrom, bTo);
+    }
+}
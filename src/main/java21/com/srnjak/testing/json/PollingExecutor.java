@@ -0,0 +1,29 @@
+package com.srnjak.testing.json;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * The executor of polls of {@link AssertJson#assertEventually}.
+ *
+ * <p>This implementation is used on Java 21 and later. It runs each poll
+ * on a virtual thread, so a poll blocked on I/O does not hold a platform
+ * thread.</p>
+ */
+final class PollingExecutor {
+
+    private static final Executor EXECUTOR =
+            Executors.newVirtualThreadPerTaskExecutor();
+
+    private PollingExecutor() {
+    }
+
+    /**
+     * Runs a poll asynchronously.
+     *
+     * @param poll The poll
+     */
+    static void execute(Runnable poll) {
+        EXECUTOR.execute(poll);
+    }
+}
@@ -0,0 +1,71 @@
+package com.srnjak.testing.json;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Comparison of primitive arrays with the Vector API. It is loaded only
+ * if the {@code jdk.incubator.vector} module is available.
+ */
+final class VectorMismatch {
+
+    private static final VectorSpecies<Long> LONGS =
+            LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES =
+            ByteVector.SPECIES_PREFERRED;
+
+    private VectorMismatch() {
+    }
+
+    static int mismatch(long[] a, long[] b, int from) {
+        int i = from;
+        int bound = from + LONGS.loopBound(a.length - from);
+
+        for (; i < bound; i += LONGS.length()) {
+            VectorMask<Long> different = LongVector.fromArray(LONGS, a, i)
+                    .compare(VectorOperators.NE,
+                            LongVector.fromArray(LONGS, b, i));
+            if (different.anyTrue()) {
+                return i + different.firstTrue();
+            }
+        }
+
+        for (; i < a.length; i++) {
+            if (a[i] != b[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static boolean equals(
+            byte[] a, int aFrom, int aTo, byte[] b, int bFrom, int bTo) {
+        int length = aTo - aFrom;
+        if (length != bTo - bFrom) {
+            return false;
+        }
+
+        int i = 0;
+        int bound = BYTES.loopBound(length);
+
+        for (; i < bound; i += BYTES.length()) {
+            boolean different = ByteVector.fromArray(BYTES, a, aFrom + i)
+                    .compare(VectorOperators.NE,
+                            ByteVector.fromArray(BYTES, b, bFrom + i))
+                    .anyTrue();
+            if (different) {
+                return false;
+            }
+        }
+
+        for (; i < length; i++) {
+            if (a[aFrom + i] != b[bFrom + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,211 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.*;
+import jakarta.json.spi.JsonProvider;
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrayIndexTest {
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    private static final JsonBuilderFactory JSON =
+            PROVIDER.createBuilderFactory(null);
+
+    @Test
+    public void contains_WhenColumnar() {
+        Random random = new Random(7);
+        JsonArray array = table(random, 2_000);
+
+        ArrayIndex index = ArrayIndex.of(array);
+        assertTrue(index instanceof ColumnarArrayIndex);
+
+        ArrayIndex linear = new LinearArrayIndex(array);
+
+        for (int i = 0; i < 500; i++) {
+            JsonValue probe = i % 2 == 0
+                    ? array.get(random.nextInt(array.size()))
+                    : row(random);
+            assertEquals(linear.contains(probe), index.contains(probe));
+        }
+
+        assertTrue(index.contains(array.get(0)));
+        assertFalse(index.contains(PROVIDER.createValue(1)));
+        assertFalse(index.contains(JSON.createObjectBuilder().build()));
+        assertFalse(index.contains(
+                JSON.createObjectBuilder(array.getJsonObject(0))
+                        .add("id", new BigDecimal("0.0"))
+                        .build()));
+    }
+
+    @Test
+    public void contains_WhenNotColumnar() {
+        JsonArray mixed = JSON.createArrayBuilder(table(new Random(1), 100))
+                .add(JSON.createObjectBuilder().add("other", 1))
+                .build();
+
+        assertTrue(ArrayIndex.of(mixed) instanceof HashedArrayIndex);
+        assertTrue(ArrayIndex.of(mixed).contains(mixed.get(100)));
+        assertFalse(ArrayIndex.of(null).contains(JsonValue.NULL));
+    }
+
+    @Test
+    public void assertContainsAll_WhenLarge() {
+        JsonArray array = table(new Random(3), 100_000);
+
+        JsonArrayBuilder expected = JSON.createArrayBuilder();
+        for (int i = 0; i < array.size(); i += 10) {
+            expected.add(array.get(i));
+        }
+
+        AssertJson.assertContainsAll(expected.build(), array);
+
+        JsonArray missing = JSON.createArrayBuilder()
+                .add(JSON.createObjectBuilder(array.getJsonObject(5))
+                        .add("name", "missing"))
+                .build();
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertContainsAll(missing, array));
+        assertTrue(e.getMessage().contains("missing"));
+    }
+
+    @Test
+    public void contains_WhenHashed() {
+        Random random = new Random(11);
+
+        JsonArrayBuilder builder = JSON.createArrayBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            builder.add(i % 3 == 0 ? row(random) : value(random));
+        }
+        JsonArray array = builder.build();
+
+        ArrayIndex index = ArrayIndex.of(array);
+        assertTrue(index instanceof HashedArrayIndex);
+
+        ArrayIndex linear = new LinearArrayIndex(array);
+        for (int i = 0; i < 2_000; i++) {
+            JsonValue probe = i % 4 == 0
+                    ? array.get(random.nextInt(array.size()))
+                    : i % 2 == 0 ? row(random) : value(random);
+            assertEquals(linear.contains(probe), index.contains(probe));
+        }
+    }
+
+    @Test
+    public void contains_WhenSorted() {
+        Random random = new Random(13);
+
+        JsonArrayBuilder longs = JSON.createArrayBuilder();
+        JsonArrayBuilder decimals = JSON.createArrayBuilder();
+        JsonArrayBuilder strings = JSON.createArrayBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            int value = i * 3 + random.nextInt(3);
+            longs.add(value);
+            decimals.add(new BigDecimal(value).setScale(i % 3));
+            strings.add(String.format("id-%06d", value));
+        }
+
+        for (JsonArray array : new JsonArray[] {
+                longs.build(), decimals.build(), strings.build()}) {
+
+            ArrayIndex index = ArrayIndex.of(array);
+            assertTrue(index instanceof SortedArrayIndex);
+
+            ArrayIndex linear = new LinearArrayIndex(array);
+            for (int i = 0; i < 500; i++) {
+                int value = random.nextInt(3_100) - 50;
+                JsonValue[] probes = {
+                        PROVIDER.createValue(value),
+                        PROVIDER.createValue(new BigDecimal(value).setScale(1)),
+                        PROVIDER.createValue(new BigDecimal(value).setScale(2)),
+                        PROVIDER.createValue(String.format("id-%06d", value))};
+                for (JsonValue probe : probes) {
+                    assertEquals(
+                            linear.contains(probe), index.contains(probe));
+                }
+            }
+        }
+
+        JsonArray unsorted = JSON.createArrayBuilder(longs.build())
+                .add(0)
+                .build();
+        assertFalse(ArrayIndex.of(unsorted) instanceof SortedArrayIndex);
+    }
+
+    @Test
+    public void index_ForProbes() {
+        JsonArray array = table(new Random(4), 1_000);
+
+        assertTrue(ArrayIndex.of(array, 1) instanceof LinearArrayIndex);
+        assertTrue(ArrayIndex.of(array, ArrayIndex.MIN_PROBES - 1)
+                instanceof LinearArrayIndex);
+        assertFalse(ArrayIndex.of(array, ArrayIndex.MIN_PROBES)
+                instanceof LinearArrayIndex);
+        assertFalse(ArrayIndex.of(JsonValue.EMPTY_JSON_ARRAY, 100)
+                .contains(JsonValue.NULL));
+    }
+
+    @Test
+    public void assertNotContains_WhenRepeated() {
+        JsonArray array = table(new Random(5), 10_000);
+
+        JsonAssert assertion = AssertJson.assertThat(array);
+        for (int i = 0; i < 1_000; i++) {
+            assertion.assertNotContains(
+                    JSON.createObjectBuilder().add("id", -i).build());
+        }
+        assertion.assertContains(array.get(9_999));
+
+        assertThrows(
+                AssertionFailedError.class,
+                () -> assertion.assertNotContains(array.get(42)));
+    }
+
+    private static JsonArray table(Random random, int rows) {
+        JsonArrayBuilder array = JSON.createArrayBuilder();
+        for (int i = 0; i < rows; i++) {
+            array.add(JSON.createObjectBuilder(row(random)).add("id", i));
+        }
+        return array.build();
+    }
+
+    private static JsonObject row(Random random) {
+        JsonObjectBuilder row = JSON.createObjectBuilder()
+                .add("id", random.nextInt(5_000))
+                .add("name", "name" + random.nextInt(50))
+                .add("active", random.nextBoolean())
+                .add("tags", JSON.createArrayBuilder()
+                        .add(random.nextInt(3)));
+
+        if (random.nextBoolean()) {
+            row.add("score", random.nextInt(10));
+        } else {
+            row.add("score", new BigDecimal(random.nextInt(10) + ".0"));
+        }
+        return row.build();
+    }
+
+    private static JsonValue value(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return PROVIDER.createValue(random.nextInt(100));
+            case 1:
+                return PROVIDER.createValue("s" + random.nextInt(100));
+            case 2:
+                return JSON.createArrayBuilder()
+                        .add(random.nextInt(10))
+                        .add(random.nextBoolean())
+                        .build();
+            default:
+                return JSON.createObjectBuilder()
+                        .add("k" + random.nextInt(3), random.nextInt(10))
+                        .build();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.srnjak.testing.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.Json;
+import jakarta.json.JsonValue;
+import java.io.StringReader;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssertJsonNodeTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String JSON = "{"
+            + "\"id\": 12345678901,"
+            + " \"name\": \"n\\u00e4me\","
+            + " \"price\": 9.99,"
+            + " \"count\": 1.0,"
+            + " \"active\": true,"
+            + " \"parent\": null,"
+            + " \"tags\": [\"a\", 1, false, {\"x\": [[]]}],"
+            + " \"big\": 123456789012345678901234567890}";
+
+    @Test
+    public void assertEquals_WhenEqual() throws Exception {
+        JsonNode node = MAPPER.readTree(JSON);
+        JsonValue value = jakarta(JSON);
+
+        AssertJsonNode.assertEquals(node, MAPPER.readTree(JSON));
+        AssertJsonNode.assertEquals(value, node);
+        AssertJsonNode.assertEquals(node, value);
+        AssertJsonNode.assertEquals((JsonNode) null, (JsonNode) null);
+
+        AssertJsonNode.assertEquals(
+                JsonNodeFactory.instance.numberNode(42L),
+                Json.createValue(42));
+    }
+
+    @Test
+    public void assertEquals_WhenFloatingPoint() throws Exception {
+        for (String json : new String[] {"{\"a\":1.10}", "{\"a\":1e2}"}) {
+            JsonNode node = MAPPER.readTree(json);
+
+            AssertJsonNode.assertEquals(jakarta(json), node);
+            AssertJsonNode.assertEquals(node, jakarta(json));
+        }
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJsonNode.assertEquals(
+                        jakarta("{\"a\":1.10,\"b\":1}"),
+                        MAPPER.readTree("{\"a\":1.10,\"b\":2}")));
+        assertEquals(INVALID.message("/b"), e.getMessage());
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJsonNode.assertEquals(
+                        MAPPER.readTree("{\"a\":1e2}"),
+                        jakarta("{\"a\":1e3}")));
+        assertEquals(INVALID.message("/a"), e.getMessage());
+    }
+
+    @Test
+    public void assertEquals_WhenNotEqual() throws Exception {
+        JsonNode node = MAPPER.readTree(JSON);
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJsonNode.assertEquals(
+                        jakarta(JSON.replace("9.99", "9.98")), node));
+        assertEquals(INVALID.message("/price"), e.getMessage());
+
+        // integral numbers keep their scale
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJsonNode.assertEquals(
+                        jakarta(JSON.replace(
+                                "12345678901,", "12345678901.0,")),
+                        node));
+        assertEquals(INVALID.message("/id"), e.getMessage());
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJsonNode.assertEquals(
+                        MAPPER.readTree(JSON.replace("\"x\"", "\"y\"")),
+                        node));
+        assertEquals(MISSING.message("/tags/3/y"), e.getMessage());
+
+        ArrayNode longer = MAPPER.createArrayNode().add(1).add(2);
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJsonNode.assertEquals(
+                        jakarta("[1]"), longer));
+        assertEquals(UNEXPECTED.message("/1"), e.getMessage());
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJsonNode.assertEquals(
+                        JsonNodeFactory.instance.numberNode(1),
+                        Json.createValue(2)));
+        assertEquals(INVALID.message(""), e.getMessage());
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJsonNode.assertEquals(node, (JsonValue) null));
+        assertEquals(NULL.message(), e.getMessage());
+    }
+
+    private static JsonValue jakarta(String json) {
+        return Json.createReader(new StringReader(json)).readValue();
+    }
+}
@@ -5,6 +5,8 @@ import org.opentest4j.AssertionFailedError;
 
 import jakarta.json.*;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -346,6 +348,56 @@ class AssertJsonTest {
         passNotEquals(expectedArray, actualArray);
     }
 
+    @Test
+    public void equality_WhenBytes() {
+
+        AssertJson.assertEquals(
+                "{\"a\": 1, \"b\": [true, null, \"x\"], \"c\": {\"d\": 2}}"
+                        .getBytes(StandardCharsets.UTF_8),
+                "{\"c\":{\"d\":2},\"b\":[true,null,\"\\u0078\"],\"a\":1}"
+                        .getBytes(StandardCharsets.UTF_8));
+        AssertJson.assertEquals(
+                "[1e2, -0, \"\u017e\"]".getBytes(StandardCharsets.UTF_8),
+                "[1E2, 0, \"\\u017e\"]".getBytes(StandardCharsets.UTF_8));
+        AssertJson.assertNotEquals(
+                "[1.0]".getBytes(StandardCharsets.UTF_8),
+                "[1.00]".getBytes(StandardCharsets.UTF_8));
+        AssertJson.assertNotEquals(
+                "{\"a\":1,\"b\":2}".getBytes(StandardCharsets.UTF_8),
+                "{\"b\":2,\"c\":1}".getBytes(StandardCharsets.UTF_8));
+
+        ByteBuffer buffer = ByteBuffer.wrap(
+                "xx{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+        buffer.position(2);
+        AssertJson.assertEquals(
+                ByteBuffer.wrap("{\"a\":1}".getBytes(StandardCharsets.UTF_8)),
+                buffer);
+        assertEquals(2, buffer.position());
+
+        assertThrows(
+                JsonException.class,
+                () -> AssertJson.assertEquals(
+                        "[01]".getBytes(StandardCharsets.UTF_8),
+                        "[01]".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(
+                JsonException.class,
+                () -> AssertJson.assertNotEquals(
+                        "[1".getBytes(StandardCharsets.UTF_8),
+                        "[2".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(
+                JsonException.class,
+                () -> AssertJson.assertNotEquals(
+                        ByteBuffer.wrap(
+                                "[1, 2".getBytes(StandardCharsets.UTF_8)),
+                        ByteBuffer.wrap(
+                                "[2, 2".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertNotEquals(
+                        "{\"a\":1,\"a\":2}".getBytes(StandardCharsets.UTF_8),
+                        "{\"a\":2}".getBytes(StandardCharsets.UTF_8)));
+    }
+
     @Test
     public void containing_WithinArray_Null() {
 
@@ -995,6 +1047,8 @@ class AssertJsonTest {
         AssertJson.assertEquals(stringOf(expected), stringOf(actual));
         AssertJson.assertEquals(stringOf(expected), actual);
         AssertJson.assertEquals(expected, stringOf(actual));
+        AssertJson.assertEquals(bytesOf(expected), bytesOf(actual));
+        AssertJson.assertEquals(bufferOf(expected), bufferOf(actual));
     }
 
     private void passNotEquals(JsonStructure expected, JsonStructure actual) {
@@ -1002,6 +1056,8 @@ class AssertJsonTest {
         AssertJson.assertNotEquals(stringOf(expected), stringOf(actual));
         AssertJson.assertNotEquals(stringOf(expected), actual);
         AssertJson.assertNotEquals(expected, stringOf(actual));
+        AssertJson.assertNotEquals(bytesOf(expected), bytesOf(actual));
+        AssertJson.assertNotEquals(bufferOf(expected), bufferOf(actual));
     }
 
     private void passContains(
@@ -1162,16 +1218,30 @@ class AssertJsonTest {
                 AssertionFailedError.class,
                 () -> AssertJson.assertEquals(expected, stringOf(actual)));
 
+        AssertionFailedError e5 = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        bytesOf(expected), bytesOf(actual)));
+
+        AssertionFailedError e6 = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        bufferOf(expected), bufferOf(actual)));
+
         if (expectedActualDefined) {
             verifyFailure(e1, expectedMessage, expectedValue, actualValue);
             verifyFailure(e2, expectedMessage, expectedValue, actualValue);
             verifyFailure(e3, expectedMessage, expectedValue, actualValue);
             verifyFailure(e4, expectedMessage, expectedValue, actualValue);
+            verifyFailure(e5, expectedMessage, expectedValue, actualValue);
+            verifyFailure(e6, expectedMessage, expectedValue, actualValue);
         } else {
             verifyFailure(e1, expectedMessage);
             verifyFailure(e2, expectedMessage);
             verifyFailure(e3, expectedMessage);
             verifyFailure(e4, expectedMessage);
+            verifyFailure(e5, expectedMessage);
+            verifyFailure(e6, expectedMessage);
         }
     }
 
@@ -1196,12 +1266,24 @@ class AssertJsonTest {
                 AssertionFailedError.class,
                 () -> AssertJson.assertNotEquals(expected, stringOf(actual)));
 
+        AssertionFailedError e5 = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertNotEquals(
+                        bytesOf(expected), bytesOf(actual)));
+
+        AssertionFailedError e6 = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertNotEquals(
+                        bufferOf(expected), bufferOf(actual)));
+
         String expectedMessage = UNEXPECTED_EQUAL.message(actual);
 
         verifyFailure(e1, expectedMessage);
         verifyFailure(e2, expectedMessage);
         verifyFailure(e3, expectedMessage);
         verifyFailure(e4, expectedMessage);
+        verifyFailure(e5, expectedMessage);
+        verifyFailure(e6, expectedMessage);
     }
 
     private void failContains(
@@ -1486,6 +1568,18 @@ class AssertJsonTest {
                 .orElse(null);
     }
 
+    private byte[] bytesOf(JsonValue jsonValue) {
+        return Optional.ofNullable(stringOf(jsonValue))
+                .map(s -> s.getBytes(StandardCharsets.UTF_8))
+                .orElse(null);
+    }
+
+    private ByteBuffer bufferOf(JsonValue jsonValue) {
+        return Optional.ofNullable(bytesOf(jsonValue))
+                .map(ByteBuffer::wrap)
+                .orElse(null);
+    }
+
     private String stringOfValue(Object value) {
         return Optional.ofNullable(value)
                 .filter(v -> v instanceof String)
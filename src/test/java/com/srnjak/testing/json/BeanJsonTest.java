@@ -0,0 +1,96 @@
+package com.srnjak.testing.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonStructure;
+import jakarta.json.spi.JsonProvider;
+import java.util.List;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BeanJsonTest {
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    private static final String EXPECTED = "{"
+            + "\"id\": \"${any-number}\","
+            + " \"name\": \"John Doe\","
+            + " \"tags\": [\"a\", \"b\"]}";
+
+    @Test
+    public void assertEquals_WhenBean() {
+        Person person = new Person(42, "John Doe", List.of("a", "b"));
+
+        AssertJson.assertBeanEquals(EXPECTED, person);
+
+        JsonObject expected = PROVIDER.createObjectBuilder()
+                .add("id", 42)
+                .add("name", "John Doe")
+                .add("tags", PROVIDER.createArrayBuilder().add("a").add("b"))
+                .build();
+        AssertJson.assertBeanEquals(expected, person);
+        AssertJson.assertBeanEquals(expected, expected);
+        AssertJson.assertBeanEquals((JsonStructure) null, null);
+    }
+
+    @Test
+    public void assertEquals_WhenBeanNotEqual() {
+        Person person = new Person(42, "Jane Doe", List.of("a"));
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertBeanEquals(EXPECTED, person));
+        assertEquals(INVALID.message("/name"), e.getMessage());
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertBeanEquals("[1]", 1));
+        assertEquals(
+                INVALID_TYPE.message("", "OBJECT or ARRAY", "NUMBER"),
+                e.getMessage());
+    }
+
+    @Test
+    public void assertBeanEquals_WhenJson() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> AssertJson.assertBeanEquals("[1]", "[1]"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> AssertJson.assertBeanEquals(
+                        "[1]", PROVIDER.createValue(1)));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> AssertJson.assertBeanEquals(
+                        "[1]", new ObjectMapper().createArrayNode().add(1)));
+    }
+
+    public static class Person {
+
+        private final int id;
+        private final String name;
+        private final List<String> tags;
+
+        Person(int id, String name, List<String> tags) {
+            this.id = id;
+            this.name = name;
+            this.tags = tags;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+    }
+}
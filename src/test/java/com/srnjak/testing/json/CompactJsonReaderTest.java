@@ -0,0 +1,141 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.*;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactJsonReaderTest {
+
+    private static final String ARRAY = "["
+            + "{\"id\":1,\"name\":\"a\",\"active\":true,\"tags\":[]},"
+            + "{\"id\":2,\"name\":\"b\",\"active\":false,\"tags\":[\"x\"]},"
+            + "{\"id\":123456789012,\"name\":null,\"active\":true,"
+            + "\"tags\":[1.50,-0,{\"k\":{}}]}"
+            + "]";
+
+    @Test
+    public void read() {
+        JsonArray compact = CompactJsonReader.readArray(ARRAY);
+        JsonArray standard = readArray(ARRAY);
+
+        assertEquals(standard, compact);
+        assertEquals(compact, standard);
+        assertEquals(standard.hashCode(), compact.hashCode());
+        assertEquals(standard, readArray(compact.toString()));
+
+        AssertJson.assertEquals(standard, compact);
+        AssertJson.assertEquals(compact, standard);
+        AssertJson.assertNotEquals(
+                CompactJsonReader.read("[{\"id\":1.0}]"),
+                CompactJsonReader.read("[{\"id\":1}]"));
+
+        JsonObject first = compact.getJsonObject(0);
+        assertEquals(1, first.getInt("id"));
+        assertEquals("a", first.getString("name"));
+        assertTrue(first.getBoolean("active"));
+        assertTrue(compact.getJsonObject(2).isNull("name"));
+        assertEquals("x", compact.getJsonObject(1).getJsonArray("tags")
+                .getString(0));
+        assertNull(first.get("missing"));
+    }
+
+    @Test
+    public void read_SharesKeysAndScalars() {
+        JsonArray compact = CompactJsonReader.readArray(ARRAY);
+
+        List<String> firstKeys = keys(compact.getJsonObject(0));
+        List<String> lastKeys = keys(compact.getJsonObject(2));
+        for (int i = 0; i < firstKeys.size(); i++) {
+            assertSame(firstKeys.get(i), lastKeys.get(i));
+        }
+
+        assertSame(
+                compact.getJsonObject(0).get("id"),
+                CompactJsonReader.read("[1]").asJsonArray().get(0));
+        assertSame(JsonValue.TRUE, compact.getJsonObject(2).get("active"));
+    }
+
+    @Test
+    public void read_DuplicateKey() {
+        JsonObject compact =
+                CompactJsonReader.read("{\"a\":1,\"b\":2,\"a\":3}")
+                        .asJsonObject();
+
+        assertEquals(2, compact.size());
+        assertEquals(3, compact.getInt("a"));
+        assertEquals(List.of("a", "b"), keys(compact));
+    }
+
+    @Test
+    public void read_WideObject() {
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            builder.add("key-" + i, i);
+        }
+        String json = builder.build().toString()
+                .replace("}", ",\"key-7\":\"last\"}");
+
+        JsonObject compact = CompactJsonReader.read(json).asJsonObject();
+        JsonObject standard;
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            standard = reader.readObject();
+        }
+
+        assertEquals(20_000, compact.size());
+        assertEquals(standard, compact);
+        assertEquals("last", compact.getString("key-7"));
+        assertEquals(19_999, compact.getInt("key-19999"));
+        assertEquals("key-7", keys(compact).get(7));
+    }
+
+    @Test
+    public void read_Invalid() {
+        assertThrows(
+                JsonException.class,
+                () -> CompactJsonReader.readArray("{}"));
+        assertThrows(
+                JsonException.class,
+                () -> CompactJsonReader.read("[1] [2]"));
+        assertThrows(
+                JsonException.class,
+                () -> CompactJsonReader.read("\"a\""));
+    }
+
+    @Test
+    public void enabled() {
+        System.setProperty(CompactJsonReader.ENABLED_PROPERTY, "true");
+        try {
+            AssertJson.assertEquals(ARRAY, ARRAY);
+            AssertJson.assertContainsAll(
+                    "[{\"id\":2,\"name\":\"b\",\"active\":false,"
+                            + "\"tags\":[\"x\"]}]",
+                    ARRAY);
+
+            assertThrows(
+                    AssertionFailedError.class,
+                    () -> AssertJson.assertEquals(
+                            "[{\"id\":1}]", "[{\"id\":2}]"));
+        } finally {
+            System.clearProperty(CompactJsonReader.ENABLED_PROPERTY);
+        }
+    }
+
+    private static List<String> keys(Map<String, JsonValue> object) {
+        List<String> keys = new ArrayList<>();
+        object.forEach((k, v) -> keys.add(k));
+        return keys;
+    }
+
+    private static JsonArray readArray(String json) {
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readArray();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonStructure;
+import jakarta.json.spi.JsonProvider;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiffReportTest {
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void assertEquals_WhenReport() throws Exception {
+        JsonArrayBuilder expected = PROVIDER.createArrayBuilder();
+        JsonArrayBuilder actual = PROVIDER.createArrayBuilder();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(PROVIDER.createObjectBuilder()
+                    .add("id", i)
+                    .add("name", "<item " + i + ">"));
+            actual.add(PROVIDER.createObjectBuilder()
+                    .add("id", i % 10 == 0 ? -i : i)
+                    .add("name", "<item " + i + ">"));
+        }
+        JsonArray e = expected.build();
+        JsonArray a = actual.add("<extra>").build();
+
+        JsonComparator comparator = JsonComparator.builder()
+                .report(directory.resolve("reports"))
+                .build();
+
+        AssertionFailedError error = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(e, a, comparator));
+
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory.resolve("reports"))) {
+            files = list.sorted().collect(Collectors.toList());
+        }
+        assertEquals(2, files.size());
+        Path html = files.get(0);
+        Path patch = files.get(1);
+
+        assertEquals(
+                AssertJson.FailureType.REPORTED.message(
+                        100, "/10/id", html, patch),
+                error.getMessage());
+        assertNull(error.getExpected());
+        assertNull(error.getActual());
+
+        JsonArray operations;
+        try (JsonReader reader =
+                PROVIDER.createReader(Files.newBufferedReader(patch))) {
+            operations = reader.readArray();
+        }
+        assertEquals(100, operations.size());
+        assertEquals("add", DiffParser.getOperation(
+                operations.getJsonObject(99)).operationName());
+
+        String report = Files.readString(html);
+        assertTrue(report.contains("&quot;&lt;extra&gt;&quot;"));
+        assertTrue(report.contains("100 differences"));
+    }
+
+    @Test
+    public void assertEquals_WhenReportProperty() {
+        JsonStructure e = PROVIDER.createArrayBuilder().add(1).build();
+        JsonStructure a = PROVIDER.createArrayBuilder().add(2).build();
+
+        System.setProperty(
+                JsonComparator.REPORT_DIRECTORY_PROPERTY,
+                directory.toString());
+        try {
+            AssertionFailedError error = assertThrows(
+                    AssertionFailedError.class,
+                    () -> AssertJson.assertEquals(e, a));
+            assertTrue(error.getMessage().startsWith(
+                    "Found 1 differences, the first on path /0."));
+        } finally {
+            System.clearProperty(JsonComparator.REPORT_DIRECTORY_PROPERTY);
+        }
+
+        AssertionFailedError error = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(e, a));
+        assertEquals(
+                AssertJson.FailureType.INVALID.message("/0"),
+                error.getMessage());
+    }
+
+    @Test
+    public void assertEquals_WhenRemovedAfterShift() throws Exception {
+        JsonStructure e = PROVIDER.createArrayBuilder()
+                .add("a").add("b").add("c").add("d")
+                .build();
+        JsonStructure a = PROVIDER.createArrayBuilder()
+                .add("x").add("y").add("a").add("c").add("d")
+                .build();
+
+        JsonComparator comparator = JsonComparator.builder()
+                .report(directory)
+                .build();
+        assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(e, a, comparator));
+
+        Path html;
+        try (Stream<Path> list = Files.list(directory)) {
+            html = list.filter(p -> p.toString().endsWith(".html"))
+                    .findFirst()
+                    .orElseThrow();
+        }
+        String report = Files.readString(html);
+        assertTrue(report.contains("<td>remove</td><td><pre>/3</pre></td>"
+                + "<td><pre>&quot;b&quot;</pre></td>"), report);
+    }
+}
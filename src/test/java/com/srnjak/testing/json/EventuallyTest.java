@@ -0,0 +1,178 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonStructure;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventuallyTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration INTERVAL = Duration.ofMillis(5);
+
+    @Test
+    public void assertEventually() {
+        AssertJson.assertEventually(
+                status(3), status("done"), TIMEOUT, INTERVAL);
+        AssertJson.assertEventually(
+                status(3), "{\"status\": \"${regex:d.*}\"}", TIMEOUT, INTERVAL);
+    }
+
+    @Test
+    public void assertEventually_WhenTimeout() {
+        AtomicInteger polls = new AtomicInteger();
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEventually(
+                        () -> {
+                            polls.incrementAndGet();
+                            return status("pending");
+                        },
+                        status("done"),
+                        Duration.ofMillis(100),
+                        Duration.ofMillis(10)));
+
+        assertEquals(INVALID.message("/status"), e.getMessage());
+        assertTrue(polls.get() > 1);
+    }
+
+    @Test
+    public void assertEventually_WhenSupplierFails() {
+        IllegalStateException failure = new IllegalStateException("down");
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEventually(
+                        () -> {
+                            throw failure;
+                        },
+                        status("done"),
+                        Duration.ofMillis(50),
+                        Duration.ofMillis(10)));
+
+        assertEquals(
+                NOT_SUPPLIED.message(Duration.ofMillis(50)), e.getMessage());
+        assertSame(failure, e.getCause());
+
+        AssertJson.assertEventually(
+                new Supplier<JsonStructure>() {
+                    private int polls;
+
+                    @Override
+                    public JsonStructure get() {
+                        if (polls++ < 2) {
+                            throw failure;
+                        }
+                        return status("done");
+                    }
+                },
+                status("done"),
+                TIMEOUT,
+                INTERVAL);
+    }
+
+    @Test
+    public void assertEventually_WhenSupplierThrowsError() {
+        AssertionError failure = new AssertionError("broken");
+        AtomicInteger polls = new AtomicInteger();
+
+        AssertionError e = assertThrows(
+                AssertionError.class,
+                () -> AssertJson.assertEventually(
+                        () -> {
+                            polls.incrementAndGet();
+                            throw failure;
+                        },
+                        status("done"),
+                        TIMEOUT,
+                        INTERVAL));
+
+        assertSame(failure, e);
+        assertEquals(1, polls.get());
+
+        CompletableFuture<Void> failing = AssertJson.assertEventuallyAsync(
+                () -> {
+                    throw new OutOfMemoryError("simulated");
+                },
+                status("done"),
+                TIMEOUT,
+                INTERVAL);
+        ExecutionException error = assertThrows(
+                ExecutionException.class,
+                () -> failing.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        assertTrue(error.getCause() instanceof OutOfMemoryError);
+    }
+
+    @Test
+    public void assertEventuallyAsync() throws Exception {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Void>[] futures = new CompletableFuture[200];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = AssertJson.assertEventuallyAsync(
+                    status(i % 5), status("done"), TIMEOUT, INTERVAL);
+        }
+        CompletableFuture.allOf(futures).get();
+
+        CompletableFuture<Void> failing = AssertJson.assertEventuallyAsync(
+                () -> null, status("done"), Duration.ZERO, INTERVAL);
+        ExecutionException e = assertThrows(ExecutionException.class,
+                failing::get);
+        assertEquals(NULL.message(), e.getCause().getMessage());
+
+        AtomicInteger polls = new AtomicInteger();
+        CompletableFuture<Void> cancelled = AssertJson.assertEventuallyAsync(
+                () -> {
+                    polls.incrementAndGet();
+                    return status("pending");
+                },
+                status("done"),
+                TIMEOUT,
+                INTERVAL);
+        cancelled.cancel(false);
+        int afterCancel = polls.get();
+        Thread.sleep(100);
+        assertTrue(polls.get() <= afterCancel + 1);
+    }
+
+    @Test
+    public void assertEventually_WhenInvalid() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> AssertJson.assertEventuallyAsync(
+                        () -> null,
+                        status("done"),
+                        Duration.ofSeconds(-1),
+                        INTERVAL));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> AssertJson.assertEventuallyAsync(
+                        () -> null, status("done"), TIMEOUT, Duration.ZERO));
+        assertThrows(
+                NullPointerException.class,
+                () -> AssertJson.assertEventuallyAsync(
+                        null, status("done"), TIMEOUT, INTERVAL));
+    }
+
+    /**
+     * Supplies a status, which is pending for a number of polls.
+     */
+    private static Supplier<JsonStructure> status(int pending) {
+        AtomicInteger polls = new AtomicInteger();
+        return () -> status(
+                polls.incrementAndGet() > pending ? "done" : "pending");
+    }
+
+    private static JsonObject status(String status) {
+        return Json.createObjectBuilder().add("status", status).build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.spi.JsonProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalJsonDiffTest {
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    private static final long SMALL_BUDGET = 16 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void assertEquals_WhenEqual() throws Exception {
+        Path expected = write("expected.json", document(2000, false));
+        Path actual = write("actual.json", document(2000, true));
+
+        AssertJson.assertEquals(expected, actual);
+        AssertJson.assertEquals(expected, actual, SMALL_BUDGET);
+    }
+
+    @Test
+    public void assertEquals_WhenNotEqual() throws Exception {
+        Path expected = write("expected.json", "{"
+                + "\"a/b\": {\"x\": [1, 2, {\"y\": null}]},"
+                + " \"a\": {\"c\": 1.0, \"d\": [true]},"
+                + " \"s\": \"text\"}");
+
+        assertFailure(expected, "{"
+                + "\"a\": {\"d\": [true], \"c\": 1.0},"
+                + " \"s\": \"text\","
+                + " \"a/b\": {\"x\": [1, 2, {\"y\": null}]}}", null);
+        assertFailure(expected, "{"
+                + "\"a/b\": {\"x\": [1, 2, {\"y\": null}]},"
+                + " \"a\": {\"c\": 1, \"d\": [true]},"
+                + " \"s\": \"text\"}", INVALID.message("/a/c"));
+        assertFailure(expected, "{"
+                + "\"a/b\": {\"x\": [1, 2]},"
+                + " \"a\": {\"c\": 1.0, \"d\": [true]},"
+                + " \"s\": \"text\"}", MISSING.message("/a~1b/x/2"));
+        assertFailure(expected, "{"
+                + "\"a/b\": {\"x\": [1, 2, {\"y\": null}]},"
+                + " \"a\": {\"c\": 1.0, \"d\": [true, false]},"
+                + " \"s\": \"text\"}", UNEXPECTED.message("/a/d/1"));
+        assertFailure(expected, "{"
+                + "\"a/b\": \"x\","
+                + " \"a\": {\"c\": 1.0, \"d\": [true]},"
+                + " \"s\": \"text\"}", INVALID.message("/a~1b"));
+    }
+
+    @Test
+    public void diff_WhenSpilled() throws Exception {
+        Path expected = write("expected.json", document(2000, false));
+        Path actual = write("actual.json", document(2000, true)
+                .replace("\"value-1999\"", "\"changed\"")
+                .replace(",\"id\":7}", "}"));
+
+        List<JsonObject> diff = new ArrayList<>();
+        ExternalJsonDiff.diff(expected, actual, SMALL_BUDGET, diff::add);
+
+        // in the order of the array indexes
+        assertEquals(2, diff.size());
+        assertEquals("/items/7/id", DiffParser.getPath(diff.get(0)));
+        assertEquals("/items/1999/value", DiffParser.getPath(diff.get(1)));
+        assertEquals(
+                PROVIDER.createValue("value-1999"),
+                DiffParser.getExpectedValue(diff.get(1)));
+    }
+
+    @Test
+    public void diff_WhenMergedInPasses() throws Exception {
+        // a run per entry, merged two at a time
+        Path expected = write("expected.json", document(200, false));
+        Path actual = write("actual.json", document(200, true)
+                .replace("\"value-150\"", "\"changed\""));
+
+        List<JsonObject> diff = new ArrayList<>();
+        ExternalJsonDiff.diff(expected, actual, 1, diff::add);
+
+        assertEquals(1, diff.size());
+        assertEquals("/items/150/value", DiffParser.getPath(diff.get(0)));
+
+        AssertJson.assertEquals(expected, write(
+                "equal.json", document(200, true)), 1);
+    }
+
+    @Test
+    public void pointerOrder() {
+        List<String> pointers = new ArrayList<>(List.of(
+                "/b", "/a/10", "/a/9/x", "/a", "/a/x", "/a/09", "/a/0",
+                "/a/9", "", "/a/100", "/a/-1", "/a/1~10"));
+        pointers.sort(ExternalJsonDiff.POINTER_ORDER);
+
+        assertEquals(List.of(
+                "", "/a", "/a/0", "/a/9", "/a/9/x", "/a/10", "/a/100",
+                "/a/-1", "/a/09", "/a/1~10", "/a/x", "/b"), pointers);
+    }
+
+    private void assertFailure(Path expected, String actual, String message)
+            throws IOException {
+        Path file = write("actual.json", actual);
+        if (message == null) {
+            AssertJson.assertEquals(expected, file, 1);
+            return;
+        }
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(expected, file, 1));
+        assertEquals(message, e.getMessage());
+    }
+
+    private Path write(String name, String json) throws IOException {
+        return Files.writeString(directory.resolve(name), json);
+    }
+
+    private static String document(int size, boolean reversed) {
+        JsonArrayBuilder items = PROVIDER.createArrayBuilder();
+        for (int i = 0; i < size; i++) {
+            JsonObjectBuilder item = PROVIDER.createObjectBuilder();
+            if (reversed) {
+                item.add("value", "value-" + i).add("id", i);
+            } else {
+                item.add("id", i).add("value", "value-" + i);
+            }
+            items.add(item);
+        }
+        return PROVIDER.createObjectBuilder()
+                .add("items", items)
+                .build()
+                .toString();
+    }
+}
@@ -0,0 +1,86 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.JsonStructure;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonAssertTest {
+
+    private static final String OBJECT = "{"
+            + "\"name\": \"John Doe\","
+            + " \"age\": 30,"
+            + " \"tags\": [\"a\", \"b\"]}";
+
+    private static final String ARRAY = "[1, \"two\", {\"three\": 3}, null]";
+
+    @Test
+    public void assertThat_WhenObject() {
+        JsonAssert json = AssertJson.assertThat(OBJECT);
+
+        JsonStructure actual = json.getActual();
+        assertSame(actual, json.getActual());
+        assertSame(json.getIndex(), json.getIndex());
+        assertSame(actual, json.getIndex().getDocument());
+
+        json.assertEquals("{\"name\": \"${any-string}\", \"age\": 30,"
+                        + " \"tags\": [\"a\", \"b\"]}")
+                .assertEquals(actual)
+                .assertNotEquals("{}")
+                .assertContainsProperty("\"John Doe\"", "/name")
+                .assertContainsProperty(JsonMatcher.range(18, 99), "/age")
+                .assertNotContainsProperty("\"c\"", "/tags/1")
+                .assertShape("{\"name\": \"\", \"age\": 0, \"tags\": [\"\"]}")
+                .assertDigestEquals(JsonCanonicalizer.digest(actual));
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> json.assertContainsProperty("31", "/age"));
+        assertEquals(INVALID.message("/age"), e.getMessage());
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> json.assertContains("\"a\""));
+        assertEquals(
+                INVALID_TYPE.message("", "ARRAY", "OBJECT"),
+                e.getMessage());
+    }
+
+    @Test
+    public void assertThat_WhenArray() {
+        AssertJson.assertThat(ARRAY)
+                .assertContains("\"two\"")
+                .assertContains("{\"three\": 3}")
+                .assertNotContains("2")
+                .assertContainsAll("[null, 1]")
+                .assertContainsAny("[5, \"two\"]")
+                .assertContainsNone("[2, \"three\"]")
+                .assertContainsProperty("3", "/2/three");
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertThat(ARRAY)
+                        .assertContainsAll("[1, 2, 3]"));
+        assertEquals(
+                NOT_CONTAINING_ALL.message("[2, 3]",
+                        "[1,\"two\",{\"three\":3},null]"),
+                e.getMessage());
+    }
+
+    @Test
+    public void assertThat_WhenNull() {
+        JsonAssert json = AssertJson.assertThat((String) null);
+
+        assertNull(json.getActual());
+        json.assertEquals((JsonStructure) null)
+                .assertNotContainsProperty("1", "/a");
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> json.assertContainsProperty("1", "/a"));
+        assertEquals(MISSING.message("/a"), e.getMessage());
+    }
+}
@@ -0,0 +1,184 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.*;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCanonicalizerTest {
+
+    // the example from RFC 8785, section 3.2.2
+    private static final String INPUT = "{\n"
+            + "  \"numbers\": [333333333.33333329, 1E30, 4.50,\n"
+            + "              2e-3, 0.000000000000000000000000001],\n"
+            + "  \"string\": \"\\u20ac$\\u000F\\u000aA'\\u0042\\u0022"
+            + "\\u005c\\\\\\\"\\/\",\n"
+            + "  \"literals\": [null, true, false]\n"
+            + "}";
+
+    private static final String CANONICAL = "{"
+            + "\"literals\":[null,true,false],"
+            + "\"numbers\":[333333333.3333333,1e+30,4.5,0.002,1e-27],"
+            + "\"string\":\"€$\\u000f\\nA'B\\\"\\\\\\\\\\\"/\""
+            + "}";
+
+    @Test
+    public void canonicalize() {
+
+        JsonObject value;
+        try (JsonReader reader = Json.createReader(new StringReader(INPUT))) {
+            value = reader.readObject();
+        }
+
+        assertEquals(
+                CANONICAL,
+                new String(
+                        JsonCanonicalizer.toByteArray(value),
+                        StandardCharsets.UTF_8));
+        assertEquals(
+                CANONICAL,
+                new String(
+                        JsonCanonicalizer.toByteArray(INPUT),
+                        StandardCharsets.UTF_8));
+
+        assertEquals(
+                JsonCanonicalizer.digest(value),
+                JsonCanonicalizer.digest(INPUT));
+    }
+
+    @Test
+    public void canonicalize_Numbers() {
+        assertEquals("0", number("-0"));
+        assertEquals("1", number("1.000"));
+        assertEquals("-1.5", number("-1.50"));
+        assertEquals("100", number("1e2"));
+        assertEquals("1e+21", number("1e21"));
+        assertEquals("123456789012345680000", number("123456789012345678901"));
+        assertEquals("0.000001", number("0.000001"));
+        assertEquals("1e-7", number("0.0000001"));
+        assertEquals("1.5e-7", number("0.00000015"));
+
+        assertThrows(IllegalArgumentException.class, () -> number("1e400"));
+    }
+
+    @Test
+    public void canonicalize_ShortestNumbers() {
+        assertEquals("2e+23", number("2e23"));
+        assertEquals("1e+23", number("1e23"));
+        assertEquals("5e-324", number("5e-324"));
+
+        // the examples from RFC 8785, appendix B
+        assertEquals("5e-324", bits(0x0000000000000001L));
+        assertEquals("0", bits(0x8000000000000000L));
+        assertEquals("1.7976931348623157e+308", bits(0x7fefffffffffffffL));
+        assertEquals("9007199254740992", bits(0x4340000000000000L));
+        assertEquals("295147905179352830000", bits(0x4430000000000000L));
+        assertEquals("9.999999999999997e+22", bits(0x44b52d02c7e14af5L));
+        assertEquals("1e+23", bits(0x44b52d02c7e14af6L));
+        assertEquals("1.0000000000000001e+23", bits(0x44b52d02c7e14af7L));
+        assertEquals("999999999999999700000", bits(0x444b1ae4d6e2ef4eL));
+        assertEquals("999999999999999900000", bits(0x444b1ae4d6e2ef4fL));
+        assertEquals("1e+21", bits(0x444b1ae4d6e2ef50L));
+        assertEquals("9.999999999999997e-7", bits(0x3eb0c6f7a0b5ed8cL));
+        assertEquals("0.000001", bits(0x3eb0c6f7a0b5ed8dL));
+        assertEquals("333333333.3333332", bits(0x41b3de4355555553L));
+        assertEquals("333333333.33333325", bits(0x41b3de4355555554L));
+        assertEquals("333333333.3333333", bits(0x41b3de4355555555L));
+        assertEquals("333333333.3333334", bits(0x41b3de4355555556L));
+        assertEquals("333333333.33333343", bits(0x41b3de4355555557L));
+        assertEquals("-0.0000033333333333333333", bits(0xbecbf647612f3696L));
+        assertEquals("1424953923781206.2", bits(0x43143ff3c1cb0959L));
+    }
+
+    @Test
+    public void canonicalize_ShortestNumbers_RoundTrip() {
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < 101_000; i++) {
+            // random values and the smallest subnormal values
+            double d = Double.longBitsToDouble(
+                    i < 100_000 ? random.nextLong() : i - 99_999);
+            if (Double.isNaN(d) || Double.isInfinite(d) || d == 0) {
+                continue;
+            }
+
+            String number = JsonCanonicalizer.number(new BigDecimal(d));
+            BigDecimal decimal = new BigDecimal(number);
+            assertEquals(d, decimal.doubleValue(), number);
+
+            // no decimal of one digit less rounds to the same value
+            int digits = decimal.stripTrailingZeros().precision();
+            if (digits > 1) {
+                BigDecimal exact = new BigDecimal(d);
+                assertNotEquals(d, exact.round(new MathContext(
+                        digits - 1, RoundingMode.FLOOR)).doubleValue());
+                assertNotEquals(d, exact.round(new MathContext(
+                        digits - 1, RoundingMode.CEILING)).doubleValue());
+            }
+        }
+    }
+
+    private String bits(long bits) {
+        return JsonCanonicalizer.number(
+                new BigDecimal(Double.longBitsToDouble(bits)));
+    }
+
+    @Test
+    public void canonicalize_WhenDeep() {
+        int depth = 100_000;
+
+        JsonValue value = Json.createValue(1);
+        for (int i = 0; i < depth; i++) {
+            value = i % 2 == 0
+                    ? Json.createArrayBuilder().add(value).build()
+                    : Json.createObjectBuilder().add("a", value).build();
+        }
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = depth - 1; i >= 0; i--) {
+            expected.append(i % 2 == 0 ? "[" : "{\"a\":");
+        }
+        expected.append('1');
+        for (int i = 0; i < depth; i++) {
+            expected.append(i % 2 == 0 ? "]" : "}");
+        }
+
+        assertEquals(
+                expected.toString(),
+                new String(
+                        JsonCanonicalizer.toByteArray(value),
+                        StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void digest() {
+        String digest = JsonCanonicalizer.digest(INPUT);
+
+        AssertJson.assertDigestEquals(digest, CANONICAL);
+        AssertJson.assertDigestEquals(
+                digest, "{\"literals\":[null,true,false],"
+                        + "\"numbers\":[333333333.3333333,1E30,4.5,0.002,"
+                        + "1e-27],\"string\":\"€$\\u000F\\nA'B\\\"\\\\"
+                        + "\\\\\\\"/\"}");
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertDigestEquals(digest, "{}"));
+        assertEquals(
+                INVALID_DIGEST.message(digest, JsonCanonicalizer.digest("{}")),
+                e.getMessage());
+    }
+
+    private String number(String number) {
+        return JsonCanonicalizer.number(new BigDecimal(number));
+    }
+}
@@ -0,0 +1,341 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.*;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonComparatorTest {
+
+    private static final int DEPTH = 10_000;
+
+    @Test
+    public void equals_WhenDeep() {
+        JsonStructure e = deep(DEPTH, "leaf");
+        JsonStructure a = deep(DEPTH, "leaf");
+
+        assertTrue(JsonComparator.DEFAULT.equals(e, a));
+        assertEquals(StructuralHash.of(e), StructuralHash.of(a));
+        AssertJson.assertEquals(e, a);
+    }
+
+    @Test
+    public void diff_WhenDeep() {
+        JsonStructure e = deep(DEPTH, "leaf");
+        JsonStructure a = deep(DEPTH, "other");
+
+        assertFalse(JsonComparator.DEFAULT.equals(e, a));
+
+        List<JsonObject> ops = new ArrayList<>();
+        JsonDiff.diff(e, a, ops::add);
+
+        assertEquals(1, ops.size());
+        assertEquals(
+                JsonPatch.Operation.REPLACE,
+                DiffParser.getOperation(ops.get(0)));
+        assertEquals(
+                Json.createValue("other"),
+                DiffParser.getActualValue(ops.get(0)));
+        assertEquals(
+                DEPTH * 2 + 3,
+                DiffParser.getPath(ops.get(0)).split("/").length);
+    }
+
+    @Test
+    public void maxDepth() {
+        JsonComparator comparator = JsonComparator.builder()
+                .maxDepth(4)
+                .build();
+
+        AssertJson.assertEquals(deep(1, "a"), deep(1, "a"), comparator);
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        deep(2, "a"), deep(2, "a"), comparator));
+        assertEquals(
+                MAX_DEPTH_EXCEEDED.message(4, "/deeper/0/deeper/0"),
+                e.getMessage());
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        deep(2, "a"), deep(2, "b"), comparator));
+        assertEquals(
+                MAX_DEPTH_EXCEEDED.message(4, "/deeper/0/deeper/0"),
+                e.getMessage());
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> JsonComparator.builder().maxDepth(-1));
+    }
+
+    @Test
+    public void maxDepth_Boundary() {
+        JsonComparator zero = JsonComparator.builder().maxDepth(0).build();
+        JsonComparator one = JsonComparator.builder().maxDepth(1).build();
+
+        failMaxDepth("{}", "{}", zero, 0, "");
+        failMaxDepth("[]", "[1]", zero, 0, "");
+
+        AssertJson.assertEquals(parse("{}"), parse("{}"), one);
+        AssertJson.assertEquals(parse("[1,2]"), parse("[1,2]"), one);
+        failMaxDepth("{\"a\":{}}", "{\"a\":{}}", one, 1, "/a");
+        failMaxDepth("{\"a\":[]}", "{\"a\":[1]}", one, 1, "/a");
+        failMaxDepth("[[1]]", "[[1]]", one, 1, "/0");
+    }
+
+    private void failMaxDepth(
+            String expected,
+            String actual,
+            JsonComparator comparator,
+            int maxDepth,
+            String path) {
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        parse(expected), parse(actual), comparator));
+        assertEquals(MAX_DEPTH_EXCEEDED.message(maxDepth, path),
+                e.getMessage());
+    }
+
+    private static JsonStructure parse(String json) {
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.read();
+        }
+    }
+
+    @Test
+    public void equals_WhenNumeric() {
+        JsonArrayBuilder expected = Json.createArrayBuilder();
+        JsonArrayBuilder actual = Json.createArrayBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            expected.add(i * 7L);
+            actual.add(i == 500 ? -1L : i * 7L);
+        }
+        JsonObject e = Json.createObjectBuilder()
+                .add("samples", expected)
+                .build();
+        JsonObject a = Json.createObjectBuilder()
+                .add("samples", actual)
+                .build();
+
+        assertTrue(JsonComparator.DEFAULT.equals(
+                e.getJsonArray("samples"),
+                Json.createArrayBuilder(e.getJsonArray("samples")).build()));
+        assertFalse(JsonComparator.DEFAULT.equals(e, a));
+
+        AssertionFailedError error = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(e, a));
+        assertEquals(INVALID.message("/samples/500"), error.getMessage());
+        assertEquals(
+                "3500", error.getExpected().getStringRepresentation());
+        assertEquals("-1", error.getActual().getStringRepresentation());
+
+        JsonArray scaled = Json.createArrayBuilder(e.getJsonArray("samples"))
+                .set(99_999, new BigDecimal("699993.0"))
+                .build();
+        assertFalse(JsonComparator.DEFAULT.equals(
+                e.getJsonArray("samples"), scaled));
+        assertTrue(JsonComparator.DEFAULT.equals(scaled, scaled));
+    }
+
+    @Test
+    public void tolerance() {
+        JsonComparator global = JsonComparator.builder()
+                .tolerance(0.01, 0)
+                .build();
+
+        AssertJson.assertEquals(
+                "{\"a\": 1.0, \"b\": [2.005]}",
+                "{\"a\": 1.009, \"b\": [2]}",
+                global);
+        assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        "{\"a\": 1.0}", "{\"a\": 1.02}", global));
+
+        JsonComparator relative = JsonComparator.builder()
+                .tolerance(0, 1e-6)
+                .build();
+        AssertJson.assertEquals("[1e9]", "[1000000999]", relative);
+        assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals("[1e9]", "[1000001001]",
+                        relative));
+
+        JsonComparator paths = JsonComparator.builder()
+                .tolerance("/points/*/x", 0.5, 0)
+                .tolerance("/points/1/x", 0, 0)
+                .build();
+
+        AssertJson.assertEquals(
+                "{\"points\": [{\"x\": 1, \"y\": 1}, {\"x\": 2}]}",
+                "{\"points\": [{\"x\": 1.4, \"y\": 1}, {\"x\": 2.0}]}",
+                paths);
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        "{\"points\": [{\"x\": 1, \"y\": 1}]}",
+                        "{\"points\": [{\"x\": 1, \"y\": 1.1}]}",
+                        paths));
+        assertEquals(INVALID.message("/points/0/y"), e.getMessage());
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        "{\"points\": [{\"x\": 1}, {\"x\": 2}]}",
+                        "{\"points\": [{\"x\": 1}, {\"x\": 2.1}]}",
+                        paths));
+        assertEquals(INVALID.message("/points/1/x"), e.getMessage());
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> JsonComparator.builder().tolerance(-1, 0));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> JsonComparator.builder().tolerance(0, Double.NaN));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> JsonComparator.builder().tolerance("samples", 1, 0));
+    }
+
+    @Test
+    public void tolerance_WhenNumeric() {
+        JsonArrayBuilder expected = Json.createArrayBuilder();
+        JsonArrayBuilder actual = Json.createArrayBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            expected.add(i * 0.1);
+            actual.add(i == 700 ? 1.0 : i * 0.1 + 1e-9);
+        }
+        JsonObject e = Json.createObjectBuilder()
+                .add("samples", expected)
+                .add("count", 10_000)
+                .build();
+        JsonObject a = Json.createObjectBuilder()
+                .add("samples", actual)
+                .add("count", 10_000)
+                .build();
+
+        JsonComparator comparator = JsonComparator.builder()
+                .tolerance("/samples/*", 1e-6, 0)
+                .build();
+
+        assertFalse(comparator.equals(e, a));
+
+        AssertionFailedError error = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(e, a, comparator));
+        assertEquals(INVALID.message("/samples/700"), error.getMessage());
+
+        JsonObject fixed = Json.createObjectBuilder(a)
+                .add("samples", Json.createArrayBuilder(a.getJsonArray(
+                        "samples")).set(700, 70.0))
+                .build();
+        assertTrue(comparator.equals(e, fixed));
+        assertFalse(JsonComparator.DEFAULT.equals(e, fixed));
+    }
+
+    @Test
+    public void matcher() {
+        JsonComparator comparator = JsonComparator.builder()
+                .matcher("/id", JsonMatcher.regex("[0-9a-f]{8}"))
+                .matcher("/items/*/created", JsonMatcher.range(
+                        1_600_000_000L, 1_900_000_000L))
+                .matcher("/items/*/tags", JsonMatcher.of(
+                        v -> v.getValueType() == JsonValue.ValueType.ARRAY))
+                .tolerance("/items/*/price", 0.01, 0)
+                .build();
+
+        assertEquals(
+                "a predicate",
+                JsonMatcher.of(v -> true).toString());
+
+        String expected = "{\"id\": \"\", \"items\": ["
+                + "{\"created\": 0, \"tags\": null, \"price\": 1.5}]}";
+
+        AssertJson.assertEquals(
+                expected,
+                "{\"id\": \"0a1b2c3d\", \"items\": ["
+                        + "{\"created\": 1700000000, \"tags\": [\"x\"],"
+                        + " \"price\": 1.499}]}",
+                comparator);
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        expected,
+                        "{\"id\": \"0a1b2c3d\", \"items\": ["
+                                + "{\"created\": 1, \"tags\": [],"
+                                + " \"price\": 1.5}]}",
+                        comparator));
+        assertEquals(INVALID.message("/items/0/created"), e.getMessage());
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        expected,
+                        "{\"id\": \"0A1B2C3D\", \"items\": []}",
+                        comparator));
+        assertEquals(INVALID.message("/id"), e.getMessage());
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        expected,
+                        "{\"items\": []}",
+                        comparator));
+        assertEquals(MISSING.message("/id"), e.getMessage());
+    }
+
+    @Test
+    public void assertContainsProperty_WhenMatcher() {
+        JsonMatcher uuid = JsonMatcher.regex(
+                "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+        String actual = "{\"user\": {"
+                + "\"id\": \"123e4567-e89b-12d3-a456-426614174000\","
+                + " \"age\": 42}}";
+
+        AssertJson.assertContainsProperty(uuid, "/user/id", actual);
+        AssertJson.assertContainsProperty(
+                JsonMatcher.range(18, 120), "/user/age", actual);
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertContainsProperty(
+                        JsonMatcher.range(0, 17), "/user/age", actual));
+        assertEquals(
+                NOT_MATCHING.message("/user/age", "number in [0, 17]"),
+                e.getMessage());
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertContainsProperty(
+                        uuid, "/user/name", actual));
+        assertEquals(MISSING.message("/user/name"), e.getMessage());
+    }
+
+    /**
+     * Builds a document of nested objects and arrays, from the inside out.
+     */
+    private static JsonStructure deep(int depth, String leaf) {
+        JsonStructure value = Json.createArrayBuilder().add(leaf).build();
+        for (int i = 0; i < depth; i++) {
+            JsonObject object = Json.createObjectBuilder()
+                    .add("deeper", value)
+                    .build();
+            value = Json.createArrayBuilder().add(object).build();
+        }
+        return Json.createObjectBuilder().add("deeper", value).build();
+    }
+}
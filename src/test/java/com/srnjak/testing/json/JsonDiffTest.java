@@ -0,0 +1,99 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonDiffTest {
+
+    @Test
+    public void diff_WhenElementInserted() {
+
+        JsonArrayBuilder expectedBuilder = Json.createArrayBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            expectedBuilder.add(Json.createObjectBuilder().add("id", i));
+        }
+        JsonArray expected = expectedBuilder.build();
+
+        JsonArray actual = Json.createArrayBuilder(expected)
+                .add(0, "inserted")
+                .build();
+
+        List<JsonObject> diff = diff(expected, actual);
+
+        assertEquals(1, diff.size());
+        assertEquals(
+                JsonPatch.Operation.ADD,
+                DiffParser.getOperation(diff.get(0)));
+        assertEquals("/0", DiffParser.getPath(diff.get(0)));
+    }
+
+    @Test
+    public void diff_AppliedAsPatch() {
+        Random random = new Random(42);
+
+        for (int run = 0; run < 200; run++) {
+            JsonArray expected = randomArray(random);
+            JsonArray actual = randomArray(random);
+
+            JsonArrayBuilder patch = Json.createArrayBuilder();
+            JsonDiff.diff(expected, actual, d -> patch.add(
+                    Json.createObjectBuilder(d)
+                            .remove(DiffParser.EXPECTED)));
+
+            assertEquals(
+                    actual,
+                    Json.createPatch(patch.build()).apply(expected));
+        }
+    }
+
+    @Test
+    public void diff_WhenSubtreesEqual() {
+        JsonObjectBuilder expectedBuilder = Json.createObjectBuilder();
+        JsonObjectBuilder actualBuilder = Json.createObjectBuilder();
+        for (int i = 0; i < 1000; i++) {
+            JsonObject item = Json.createObjectBuilder()
+                    .add("id", i)
+                    .add("values", Json.createArrayBuilder().add(i).add(-i))
+                    .build();
+            expectedBuilder.add("item" + i, item);
+            actualBuilder.add("item" + i, i == 500
+                    ? Json.createObjectBuilder(item).add("id", "x").build()
+                    : Json.createObjectBuilder(item).build());
+        }
+        JsonObject expected = expectedBuilder.build();
+        JsonObject actual = actualBuilder.build();
+
+        List<JsonObject> diff = diff(expected, actual);
+
+        assertEquals(1, diff.size());
+        assertEquals("/item500/id", DiffParser.getPath(diff.get(0)));
+    }
+
+    private List<JsonObject> diff(JsonValue expected, JsonValue actual) {
+        List<JsonObject> diff = new ArrayList<>();
+        JsonDiff.diff(expected, actual, diff::add);
+        return diff;
+    }
+
+    private JsonArray randomArray(Random random) {
+        JsonArrayBuilder builder = Json.createArrayBuilder();
+        int size = random.nextInt(20);
+        for (int i = 0; i < size; i++) {
+            if (random.nextBoolean()) {
+                builder.add(random.nextInt(5));
+            } else {
+                builder.add(Json.createObjectBuilder()
+                        .add("k", random.nextInt(3))
+                        .add("v", Json.createArrayBuilder()
+                                .add(random.nextInt(3))));
+            }
+        }
+        return builder.build();
+    }
+}
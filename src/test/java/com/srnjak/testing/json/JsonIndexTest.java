@@ -0,0 +1,79 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.JsonException;
+import jakarta.json.JsonValue;
+import jakarta.json.spi.JsonProvider;
+import java.util.List;
+import java.util.Map;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonIndexTest {
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    private static final String JSON = "{"
+            + "\"name\": \"John Doe\","
+            + " \"age\": 30,"
+            + " \"a/b\": {\"~\": null},"
+            + " \"items\": [{\"id\": 1}, {\"id\": 2}, {\"sku\": \"x\"}]}";
+
+    @Test
+    public void index() {
+        JsonIndex index = AssertJson.index(JSON);
+
+        assertEquals(12, index.size());
+        assertSame(index.getDocument(), index.get(""));
+        assertEquals(PROVIDER.createValue(2), index.get("/items/1/id"));
+        assertEquals(JsonValue.NULL, index.get("/a~1b/~0"));
+        assertTrue(index.contains("/items/2"));
+        assertFalse(index.contains("/items/3"));
+        assertFalse(index.contains("/name/0"));
+        assertThrows(JsonException.class, () -> index.get("name"));
+
+        Map<String, JsonValue> ids = index.find("/items/*/id");
+        assertEquals(List.of("/items/0/id", "/items/1/id"),
+                List.copyOf(ids.keySet()));
+        assertEquals(
+                List.of(PROVIDER.createValue(1), PROVIDER.createValue(2)),
+                List.copyOf(ids.values()));
+        assertEquals(4, index.find("/*").size());
+        assertTrue(index.find("/*/*/*/*").isEmpty());
+    }
+
+    @Test
+    public void assertContainsProperty_WhenIndex() {
+        JsonIndex index = AssertJson.index(JSON);
+
+        AssertJson.assertContainsProperty("\"John Doe\"", "/name", index);
+        AssertJson.assertContainsProperty("30", "/age", index);
+        AssertJson.assertContainsProperty((String) null, "/a~1b/~0", index);
+        AssertJson.assertContainsProperty(
+                JsonMatcher.range(1, 2), "/items/1/id", index);
+        AssertJson.assertNotContainsProperty("31", "/age", index);
+        AssertJson.assertNotContainsProperty("1", "/missing", index);
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertContainsProperty("31", "/age", index));
+        assertEquals(INVALID.message("/age"), e.getMessage());
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertContainsProperty(
+                        "1", "/items/3/id", index));
+        assertEquals(MISSING.message("/items/3/id"), e.getMessage());
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertNotContainsProperty(
+                        "{\"id\": 2}", "/items/1", index));
+        assertEquals(
+                UNEXPECTED_PROPERTY.message("{\"id\":2}", "/items/1"),
+                e.getMessage());
+    }
+}
@@ -0,0 +1,119 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+import jakarta.json.spi.JsonProvider;
+import java.util.Arrays;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonSamplingTest {
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    @Test
+    public void indexes() {
+        JsonSampling sampling = JsonSampling.builder()
+                .rate(0.1)
+                .seed(42)
+                .head(3)
+                .tail(2)
+                .build();
+
+        int[] indexes = sampling.indexes(JsonPath.ROOT, 1005);
+
+        assertEquals(3 + 100 + 2, indexes.length);
+        assertArrayEquals(new int[] {0, 1, 2}, Arrays.copyOf(indexes, 3));
+        assertArrayEquals(
+                new int[] {1003, 1004},
+                Arrays.copyOfRange(indexes, 103, 105));
+        for (int s = 0; s < 100; s++) {
+            int index = indexes[3 + s];
+            assertTrue(index >= 3 + s * 10 && index < 3 + (s + 1) * 10);
+        }
+
+        assertArrayEquals(indexes, sampling.indexes(JsonPath.ROOT, 1005));
+        assertArrayEquals(
+                new int[] {0, 1, 2, 3},
+                sampling.indexes(JsonPath.ROOT, 4));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> JsonSampling.builder().rate(0));
+    }
+
+    @Test
+    public void assertEquals_WhenSampled() {
+        JsonSampling sampling = JsonSampling.builder()
+                .rate(0.01)
+                .seed(7)
+                .build();
+
+        JsonObject expected = document(10_000, -1);
+        AssertJson.assertEquals(expected, document(10_000, -1), sampling);
+
+        int[] sampled = sampling.indexes(
+                JsonPath.ROOT.child("items"), 10_000);
+        int notSampled = 0;
+        while (Arrays.binarySearch(sampled, notSampled) >= 0) {
+            notSampled++;
+        }
+        AssertJson.assertEquals(
+                expected, document(10_000, notSampled), sampling);
+
+        int index = sampled[sampled.length / 2];
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        expected, document(10_000, index), sampling));
+        assertEquals(
+                SAMPLED.message(
+                        INVALID.message("/items/" + index), sampling),
+                e.getMessage());
+        assertTrue(e.getMessage().endsWith("seed 7)"));
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        expected, document(9_999, -1), sampling));
+        assertEquals(
+                SAMPLED.message(
+                        INVALID_SIZE.message("/items", 10_000, 9_999),
+                        sampling),
+                e.getMessage());
+    }
+
+    @Test
+    public void assertContainsAll_WhenSampled() {
+        JsonSampling sampling = JsonSampling.builder()
+                .rate(0.05)
+                .seed(3)
+                .build();
+
+        JsonArray expected = document(5_000, -1).getJsonArray("items");
+        AssertJson.assertContainsAll(expected, expected, sampling);
+
+        JsonArray actual = document(5_000, 0).getJsonArray("items");
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertContainsAll(
+                        expected, actual, sampling));
+        assertTrue(e.getMessage().startsWith("Expected elements [0]"));
+        assertTrue(e.getMessage().endsWith("(sampled with " + sampling + ")"));
+    }
+
+    private static JsonObject document(int size, int changed) {
+        JsonArrayBuilder items = PROVIDER.createArrayBuilder();
+        for (int i = 0; i < size; i++) {
+            items.add(i == changed ? -1 : i);
+        }
+        return PROVIDER.createObjectBuilder()
+                .add("name", "soak")
+                .add("items", items)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.*;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonShapeTest {
+
+    @Test
+    public void shape_FromTemplate() {
+
+        JsonShape shape = JsonShape.of(
+                "{\"id\":0,\"name\":\"\",\"active\":true,"
+                        + "\"tags\":[],\"items\":[{\"x\":0}]}");
+
+        JsonObject matching = Json.createObjectBuilder()
+                .add("id", 42)
+                .add("name", "John Doe")
+                .add("active", false)
+                .add("tags", Json.createArrayBuilder().add(1).add("a"))
+                .add("items", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder().add("x", 1))
+                        .add(Json.createObjectBuilder()
+                                .add("x", 2).add("y", 3)))
+                .add("extra", "ignored")
+                .build();
+
+        assertTrue(shape.matches(matching));
+        AssertJson.assertShape(shape, matching);
+        AssertJson.assertShape(shape, matching.toString());
+
+        JsonObject missing = Json.createObjectBuilder(matching)
+                .remove("name")
+                .build();
+        verifyFailure(
+                () -> AssertJson.assertShape(shape, missing),
+                MISSING.message("/name"));
+
+        JsonObject invalidType = Json.createObjectBuilder(matching)
+                .add("items", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder().add("x", 1))
+                        .add(Json.createObjectBuilder().add("x", "2")))
+                .build();
+        verifyFailure(
+                () -> AssertJson.assertShape(shape, invalidType),
+                INVALID_TYPE.message(
+                        "/items/1/x",
+                        "NUMBER",
+                        JsonValue.ValueType.STRING));
+    }
+
+    @Test
+    public void shape_FromSchema() {
+
+        JsonShape shape = JsonShape.ofSchema(
+                "{\"type\":\"object\","
+                        + "\"properties\":{"
+                        + "\"id\":{\"type\":\"integer\"},"
+                        + "\"a/b\":{\"type\":[\"string\",\"null\"]}},"
+                        + "\"required\":[\"id\"]}");
+
+        AssertJson.assertShape(shape, "{\"id\":1}");
+        AssertJson.assertShape(shape, "{\"id\":1,\"a/b\":null}");
+        AssertJson.assertShape(shape, "{\"id\":1,\"a/b\":\"x\"}");
+
+        verifyFailure(
+                () -> AssertJson.assertShape(shape, "{\"id\":1.5}"),
+                INVALID_TYPE.message(
+                        "/id",
+                        "NUMBER (integral)",
+                        "NUMBER (non-integral)"));
+        verifyFailure(
+                () -> AssertJson.assertShape(shape, "{\"id\":1,\"a/b\":1}"),
+                INVALID_TYPE.message(
+                        "/a~1b",
+                        "STRING or NULL",
+                        JsonValue.ValueType.NUMBER));
+        verifyFailure(
+                () -> AssertJson.assertShape(shape, "[]"),
+                INVALID_TYPE.message(
+                        "",
+                        "OBJECT",
+                        JsonValue.ValueType.ARRAY));
+        verifyFailure(
+                () -> AssertJson.assertShape(shape, (String) null),
+                NULL.message());
+    }
+
+    @Test
+    public void shape_FromUnsupportedSchema() {
+
+        verifyUnsupported(
+                "true",
+                "Unsupported schema true on schema path ");
+        verifyUnsupported(
+                "{\"type\":\"array\",\"items\":[{\"type\":\"string\"}]}",
+                "Unsupported tuple schema [{\"type\":\"string\"}]"
+                        + " on schema path /items");
+        verifyUnsupported(
+                "{\"properties\":{\"id\":false}}",
+                "Unsupported schema false on schema path /properties/id");
+        verifyUnsupported(
+                "{\"type\":\"integer\",\"minimum\":0}",
+                "Unsupported keyword minimum on schema path /minimum");
+
+        assertTrue(JsonShape.ofSchema(
+                "{\"$schema\":\"x\",\"title\":\"t\",\"type\":\"string\"}")
+                .matches(Json.createValue("a")));
+    }
+
+    private void verifyUnsupported(String schema, String expectedMessage) {
+        IllegalArgumentException e = assertThrows(
+                IllegalArgumentException.class,
+                () -> JsonShape.ofSchema(schema));
+
+        assertEquals(expectedMessage, e.getMessage());
+    }
+
+    private void verifyFailure(Runnable assertion, String expectedMessage) {
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class, assertion::run);
+
+        System.out.println(e.getMessage());
+
+        assertEquals(expectedMessage, e.getMessage());
+    }
+}
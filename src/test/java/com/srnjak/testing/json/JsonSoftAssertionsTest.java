@@ -0,0 +1,106 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.opentest4j.MultipleFailuresError;
+
+import jakarta.json.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonSoftAssertionsTest {
+
+    @Test
+    public void softly_WhenPassing() {
+        JsonObject object = Generators.generateComplexObject();
+
+        AssertJson.softly(s -> s
+                .assertEquals(
+                        object, Generators.generateComplexObjectShuffled())
+                .assertContainsProperty("2", "/second", object)
+                .assertContains(
+                        Generators.generateSimpleObject(),
+                        Json.createArrayBuilder()
+                                .add(Generators.generateSimpleObject())
+                                .build()));
+    }
+
+    @Test
+    public void softly_WhenFailing() {
+        JsonObject object = Generators.generateComplexObject();
+        JsonArray array = Generators.generateJsonArrayOfScalars();
+
+        MultipleFailuresError e = assertThrows(
+                MultipleFailuresError.class,
+                () -> AssertJson.softly(s -> s
+                        .assertEquals(object, "{}")
+                        .assertContainsProperty("3", "/second", object)
+                        .assertContainsProperty("false", "/third", object)
+                        .assertNotContains(Json.createValue(2), array)));
+
+        assertEquals(3, e.getFailures().size());
+        assertEquals(
+                MISSING.message("/first"),
+                e.getFailures().get(0).getMessage());
+        assertEquals(
+                INVALID.message("/second"),
+                e.getFailures().get(1).getMessage());
+        assertEquals(
+                CONTAINING.message(Json.createValue(2), array),
+                e.getFailures().get(2).getMessage());
+
+        System.out.println(e.getMessage());
+    }
+
+    @Test
+    public void softly_WhenFailing_ValuesRenderedLazily() {
+        AtomicInteger rendered = new AtomicInteger();
+        JsonStructure expected = new JsonStructure() {
+            @Override
+            public ValueType getValueType() {
+                return ValueType.OBJECT;
+            }
+
+            @Override
+            public String toString() {
+                rendered.incrementAndGet();
+                return "{}";
+            }
+        };
+
+        MultipleFailuresError e = assertThrows(
+                MultipleFailuresError.class,
+                () -> AssertJson.softly(s -> s
+                        .assertEquals(expected, (JsonStructure) null)));
+        assertEquals(0, rendered.get());
+
+        AssertionFailedError failure =
+                (AssertionFailedError) e.getFailures().get(0);
+        assertTrue(failure.isExpectedDefined());
+        assertEquals("{}", failure.getExpected().getStringRepresentation());
+        assertNull(failure.getActual().getValue());
+        assertEquals(1, rendered.get());
+    }
+
+    @Test
+    public void check_WhenError() {
+        StackOverflowError error = new StackOverflowError();
+        JsonSoftAssertions softly = new JsonSoftAssertions();
+
+        assertSame(error, assertThrows(
+                StackOverflowError.class,
+                () -> softly.check(() -> {
+                    throw error;
+                })));
+        assertTrue(softly.getFailures().isEmpty());
+
+        Exception exception = new Exception();
+        assertSame(exception, assertThrows(
+                IllegalStateException.class,
+                () -> softly.check(() -> {
+                    throw exception;
+                })).getCause());
+    }
+}
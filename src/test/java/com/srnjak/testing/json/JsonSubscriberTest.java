@@ -0,0 +1,170 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.*;
+import jakarta.json.spi.JsonProvider;
+import java.util.concurrent.Flow;
+import java.util.function.LongFunction;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonSubscriberTest {
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    private static final JsonBuilderFactory JSON =
+            PROVIDER.createBuilderFactory(null);
+
+    @Test
+    public void assertEmits() {
+        AssertJson.assertEmits(range(0, 1_000), new Numbers(1_000));
+
+        Numbers infinite = new Numbers(Long.MAX_VALUE,
+                i -> PROVIDER.createValue(i == 500 ? -1 : i));
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEmits(range(0, 1_000), infinite));
+        assertEquals(INVALID.message("/500"), e.getMessage());
+        assertEquals("500", e.getExpected().getStringRepresentation());
+        assertEquals("-1", e.getActual().getStringRepresentation());
+        assertTrue(infinite.cancelled);
+        assertTrue(infinite.maxOutstanding <= JsonSubscriber.BATCH * 3 / 2);
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEmits(range(0, 10), new Numbers(9)));
+        assertEquals(MISSING.message("/9"), e.getMessage());
+
+        e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEmits(range(0, 10), new Numbers(11)));
+        assertEquals(UNEXPECTED.message("/10"), e.getMessage());
+    }
+
+    @Test
+    public void assertEmitsAll() {
+        Numbers infinite = new Numbers(Long.MAX_VALUE);
+        AssertJson.assertEmitsAll(
+                JSON.createArrayBuilder().add(700).add(3).add(3).build(),
+                infinite);
+        assertTrue(infinite.cancelled);
+        assertEquals(701, infinite.emitted);
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEmitsAll(
+                        JSON.createArrayBuilder().add(3).add(2_000).build(),
+                        new Numbers(1_000)));
+        assertEquals(NOT_EMITTED.message("[2000]"), e.getMessage());
+
+        AssertJson.assertEmitsAll(JsonValue.EMPTY_JSON_ARRAY, new Numbers(0));
+    }
+
+    @Test
+    public void assertEmitsNone() {
+        AssertJson.assertEmitsNone(
+                JSON.createArrayBuilder().add(-1).add("1").build(),
+                new Numbers(1_000));
+
+        Numbers infinite = new Numbers(Long.MAX_VALUE);
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEmitsNone(
+                        JSON.createArrayBuilder().add(-1).add(42).build(),
+                        infinite));
+        assertEquals(EMITTED.message(42, "/42"), e.getMessage());
+        assertTrue(infinite.cancelled);
+    }
+
+    @Test
+    public void assertEmits_WhenPublisherFails() {
+        IllegalStateException failure = new IllegalStateException("closed");
+        Flow.Publisher<JsonValue> failing = subscriber ->
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                        subscriber.onError(failure);
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEmits(range(0, 1), failing));
+        assertEquals(PUBLISHER_FAILED.message(0), e.getMessage());
+        assertSame(failure, e.getCause());
+    }
+
+    private static JsonArray range(int from, int to) {
+        JsonArrayBuilder array = JSON.createArrayBuilder();
+        for (int i = from; i < to; i++) {
+            array.add(i);
+        }
+        return array.build();
+    }
+
+    /**
+     * A synchronous publisher of a sequence of numbers, which records
+     * the demand of its subscriber.
+     */
+    private static final class Numbers implements Flow.Publisher<JsonValue> {
+
+        private final long count;
+        private final LongFunction<JsonValue> element;
+
+        private long emitted;
+        private long requested;
+        private long maxOutstanding;
+        private boolean cancelled;
+        private boolean emitting;
+
+        Numbers(long count) {
+            this(count, PROVIDER::createValue);
+        }
+
+        Numbers(long count, LongFunction<JsonValue> element) {
+            this.count = count;
+            this.element = element;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super JsonValue> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requested += n;
+                    maxOutstanding = Math.max(
+                            maxOutstanding, requested - emitted);
+
+                    // requests from onNext are served by the running loop
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (!cancelled && emitted < requested) {
+                        if (emitted == count) {
+                            subscriber.onComplete();
+                            return;
+                        }
+                        subscriber.onNext(element.apply(emitted++));
+                    }
+                    if (!cancelled && emitted == count) {
+                        subscriber.onComplete();
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+}
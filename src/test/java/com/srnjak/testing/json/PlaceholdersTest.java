@@ -0,0 +1,133 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.srnjak.testing.json.AssertJson.FailureType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaceholdersTest {
+
+    private static final String EXPECTED = "{"
+            + "\"id\": \"${regex:[0-9a-f]{8}}\","
+            + " \"name\": \"${any-string}\","
+            + " \"created\": \"${any-number}\","
+            + " \"metadata\": \"${ignore}\","
+            + " \"template\": \"$${ignore}\","
+            + " \"items\": [{\"sku\": \"${any-string}\", \"count\": 2}]}";
+
+    @Test
+    public void assertEquals_WhenPlaceholders() {
+        String actual = "{"
+                + "\"id\": \"0a1b2c3d\","
+                + " \"name\": \"generated\","
+                + " \"created\": 1700000000123,"
+                + " \"metadata\": {\"trace\": [1, 2, {\"x\": null}]},"
+                + " \"template\": \"${ignore}\","
+                + " \"items\": [{\"sku\": \"A-1\", \"count\": 2}]}";
+
+        AssertJson.assertEquals(EXPECTED, actual);
+        AssertJson.assertEquals(
+                EXPECTED, Json.createReader(new StringReader(actual)).read());
+
+        fail(actual.replace("0a1b2c3d", "0a1b2c3"), "/id");
+        fail(actual.replace("\"generated\"", "7"), "/name");
+        fail(actual.replace("1700000000123", "\"now\""), "/created");
+        fail(actual.replace("\"${ignore}\"", "\"$${ignore}\""), "/template");
+        fail(actual.replace("\"A-1\"", "null"), "/items/0/sku");
+        fail(actual.replace("\"count\": 2", "\"count\": 3"), "/items/0/count");
+    }
+
+    @Test
+    public void assertEquals_WhenMissing() {
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        "{\"a\": \"${ignore}\"}", "{}"));
+        assertEquals(MISSING.message("/a"), e.getMessage());
+    }
+
+    @Test
+    public void assertEquals_WhenEscapedNonToken() {
+        AssertJson.assertEquals("{\"a\": \"$${foo}\"}", "{\"a\": \"$${foo}\"}");
+
+        assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        "{\"a\": \"$${foo}\"}", "{\"a\": \"${foo}\"}"));
+    }
+
+    @Test
+    public void assertEquals_WhenStarKey() {
+        String expected = "{\"*\": \"${any-string}\", \"b\": \"y\"}";
+
+        AssertJson.assertEquals(expected, "{\"*\": \"x\", \"b\": \"y\"}");
+
+        assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(
+                        expected, "{\"*\": \"x\", \"b\": \"z\"}"));
+    }
+
+    @Test
+    public void assertNotEquals_WhenPlaceholders() {
+        String unexpected = "{\"id\": \"${any-number}\"}";
+
+        AssertJson.assertNotEquals(unexpected, "{\"id\": \"x\"}");
+        AssertJson.assertThat("{\"id\": \"x\"}").assertNotEquals(unexpected);
+
+        assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertNotEquals(unexpected, "{\"id\": 7}"));
+        assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertThat("{\"id\": 7}")
+                        .assertNotEquals(unexpected));
+    }
+
+    @Test
+    public void diff_WhenShifted() {
+        JsonArray expected = Json.createReader(new StringReader(
+                "[1, 9, {\"t\": \"${any-string}\", \"v\": 1}]"))
+                .readArray();
+        JsonArray actual = Json.createReader(new StringReader(
+                "[7, 8, 9, {\"t\": \"zz\", \"v\": 2}]"))
+                .readArray();
+
+        // the placeholder applies to /2/t, which is shifted to /3/t
+        List<String> paths = new ArrayList<>();
+        JsonDiff.diff(
+                expected,
+                actual,
+                Placeholders.compile(expected, JsonComparator.DEFAULT),
+                d -> paths.add(DiffParser.getPath(d)));
+
+        assertEquals(List.of("/0", "/1", "/3/v"), paths);
+    }
+
+    @Test
+    public void matcher() {
+        assertNull(Placeholders.matcher("plain"));
+        assertNull(Placeholders.matcher("${unknown}"));
+        assertNull(Placeholders.matcher("$${unknown}"));
+        assertNull(Placeholders.matcher("${any-string"));
+        assertSame(
+                JsonComparator.DEFAULT,
+                Placeholders.compile(
+                        Json.createArrayBuilder().add("x").build(),
+                        JsonComparator.DEFAULT));
+    }
+
+    private static void fail(String actual, String path) {
+        AssertionFailedError e = assertThrows(
+                AssertionFailedError.class,
+                () -> AssertJson.assertEquals(EXPECTED, actual));
+        assertEquals(INVALID.message(path), e.getMessage());
+    }
+}
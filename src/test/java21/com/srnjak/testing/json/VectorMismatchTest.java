@@ -0,0 +1,71 @@
+package com.srnjak.testing.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorMismatchTest {
+
+    @Test
+    public void mismatch() {
+        SplittableRandom random = new SplittableRandom(21);
+
+        // lengths around and between multiples of any vector length
+        for (int length = 0; length <= 130; length++) {
+            long[] a = random.longs(length).toArray();
+
+            for (int at = 0; at <= length; at++) {
+                long[] b = a.clone();
+                if (at < length) {
+                    b[at] ^= 1L << random.nextInt(64);
+                }
+
+                for (int from = 0; from <= Math.min(at, 3); from++) {
+                    int expected = Arrays.mismatch(
+                            a, from, length, b, from, length);
+                    assertEquals(
+                            expected < 0 ? -1 : from + expected,
+                            VectorMismatch.mismatch(a, b, from),
+                            "length " + length + ", at " + at
+                                    + ", from " + from);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void equals() {
+        SplittableRandom random = new SplittableRandom(42);
+        byte[] a = new byte[300];
+        random.nextBytes(a);
+
+        for (int length = 0; length <= 260; length++) {
+            for (int offset = 0; offset <= 3; offset++) {
+                byte[] b = new byte[length + offset];
+                System.arraycopy(a, 7, b, offset, length);
+
+                assertTrue(VectorMismatch.equals(
+                        a, 7, 7 + length, b, offset, offset + length));
+
+                if (length > 0) {
+                    assertFalse(VectorMismatch.equals(
+                            a, 7, 7 + length,
+                            b, offset, offset + length - 1));
+
+                    int at = offset + random.nextInt(length);
+                    b[at]++;
+                    assertEquals(
+                            Arrays.equals(
+                                    a, 7, 7 + length,
+                                    b, offset, offset + length),
+                            VectorMismatch.equals(
+                                    a, 7, 7 + length,
+                                    b, offset, offset + length));
+                }
+            }
+        }
+    }
+}